@@ -1,10 +1,15 @@
 package com.example.coursework1;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.http.client.ClientHttpRequestFactoryBuilder;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.web.client.RestTemplate;
 
+import java.time.Duration;
+
 @SpringBootApplication
 public class Coursework1Application {
 
@@ -13,7 +18,17 @@ public class Coursework1Application {
     }
 
     @Bean
-    public RestTemplate restTemplate() {
-        return new RestTemplate();
+    public RestTemplate restTemplate(RestTemplateBuilder builder,
+                                     @Value("${ilp.http.connect-timeout-ms:2000}") long connectTimeoutMillis,
+                                     @Value("${ilp.http.read-timeout-ms:10000}") long readTimeoutMillis,
+                                     @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            // HttpURLConnection can pin a carrier thread; the JDK client blocks cleanly on virtual threads
+            builder = builder.requestFactoryBuilder(ClientHttpRequestFactoryBuilder.jdk());
+        }
+        return builder
+                .connectTimeout(Duration.ofMillis(connectTimeoutMillis))
+                .readTimeout(Duration.ofMillis(readTimeoutMillis))
+                .build();
     }
-}
\ No newline at end of file
+}
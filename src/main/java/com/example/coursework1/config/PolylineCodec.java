@@ -0,0 +1,251 @@
+package com.example.coursework1.config;
+
+import com.example.coursework1.dto.CalcDeliveryResult;
+import com.example.coursework1.dto.DeliveryResult;
+import com.example.coursework1.dto.DronePathResult;
+import com.example.coursework1.dto.LngLat;
+import com.example.coursework1.dto.PlanningProfile;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compact binary encoding of a delivery plan. Coordinates are fixed point at
+ * 1e-9 degrees and each flight path is written as zigzag varint deltas from the
+ * previous point, so a 0.00015 degree move costs about three bytes per axis.
+ *
+ * <pre>
+ * plan     := version:u8 totalCost:f64 totalMoves:varint droneCount:varint drone* hasProfile:u8 profile?
+ * drone    := droneId:utf deliveryCount:varint delivery*
+ * delivery := deliveryId:zigzag pointCount:varint (dLng:zigzag dLat:zigzag)*
+ * </pre>
+ *
+ * <p>The {@code explain} profile is written field by field in declaration order,
+ * with each list as a count followed by its entries; leg endpoints are plain
+ * doubles. Version 1 plans, which have no profile flag, can still be read.
+ */
+public final class PolylineCodec {
+
+    public static final int VERSION = 2;
+    public static final double SCALE = 1e9;
+
+    private PolylineCodec() {}
+
+    public static void write(CalcDeliveryResult plan, OutputStream target) throws IOException {
+        DataOutputStream out = new DataOutputStream(target);
+        out.writeByte(VERSION);
+        out.writeDouble(plan.getTotalCost());
+        writeVarint(out, plan.getTotalMoves());
+
+        List<DronePathResult> drones = plan.getDronePaths() != null ? plan.getDronePaths() : List.of();
+        writeVarint(out, drones.size());
+        for (DronePathResult drone : drones) {
+            out.writeUTF(drone.getDroneId() != null ? drone.getDroneId() : "");
+            List<DeliveryResult> deliveries = drone.getDeliveries() != null ? drone.getDeliveries() : List.of();
+            writeVarint(out, deliveries.size());
+            for (DeliveryResult delivery : deliveries) {
+                writeVarint(out, zigzag(delivery.getDeliveryId()));
+                writePath(out, delivery.getFlightPath() != null ? delivery.getFlightPath() : List.of());
+            }
+        }
+        out.writeBoolean(plan.getProfile() != null);
+        if (plan.getProfile() != null) {
+            writeProfile(out, plan.getProfile());
+        }
+        out.flush();
+    }
+
+    public static CalcDeliveryResult read(InputStream source) throws IOException {
+        DataInputStream in = new DataInputStream(source);
+        int version = in.readUnsignedByte();
+        if (version < 1 || version > VERSION) {
+            throw new IOException("Unsupported polyline plan version " + version);
+        }
+        double totalCost = in.readDouble();
+        int totalMoves = (int) readVarint(in);
+
+        int droneCount = (int) readVarint(in);
+        List<DronePathResult> drones = new ArrayList<>(droneCount);
+        for (int d = 0; d < droneCount; d++) {
+            String droneId = in.readUTF();
+            int deliveryCount = (int) readVarint(in);
+            List<DeliveryResult> deliveries = new ArrayList<>(deliveryCount);
+            for (int i = 0; i < deliveryCount; i++) {
+                int deliveryId = (int) unzigzag(readVarint(in));
+                deliveries.add(new DeliveryResult(deliveryId, readPath(in)));
+            }
+            drones.add(new DronePathResult(droneId, deliveries));
+        }
+        CalcDeliveryResult plan = new CalcDeliveryResult(totalCost, totalMoves, drones);
+        if (version >= 2 && in.readBoolean()) {
+            plan.setProfile(readProfile(in));
+        }
+        return plan;
+    }
+
+    private static void writeProfile(DataOutputStream out, PlanningProfile profile) throws IOException {
+        out.writeDouble(profile.getSingleDronePhaseMillis());
+        out.writeDouble(profile.getMultiDronePhaseMillis());
+        writeVarint(out, profile.getLegs());
+        writeVarint(out, profile.getRelaxedFallbacks());
+        writeVarint(out, profile.getFailedLegs());
+        writeVarint(out, profile.getIterations());
+        writeVarint(out, profile.getCollisionTests());
+
+        List<PlanningProfile.Leg> legs = profile.getLegDetails() != null ? profile.getLegDetails() : List.of();
+        writeVarint(out, legs.size());
+        for (PlanningProfile.Leg leg : legs) {
+            writePoint(out, leg.from());
+            writePoint(out, leg.to());
+            out.writeUTF(leg.mode() != null ? leg.mode() : "");
+            out.writeBoolean(leg.found());
+            writeVarint(out, leg.iterations());
+            out.writeDouble(leg.millis());
+        }
+
+        List<PlanningProfile.RolledBackFlight> flights =
+                profile.getRolledBackFlights() != null ? profile.getRolledBackFlights() : List.of();
+        writeVarint(out, flights.size());
+        for (PlanningProfile.RolledBackFlight flight : flights) {
+            out.writeUTF(flight.droneId() != null ? flight.droneId() : "");
+            writeVarint(out, flight.flightNumber());
+            List<Integer> ids = flight.dispatchIds() != null ? flight.dispatchIds() : List.of();
+            writeVarint(out, ids.size());
+            for (Integer id : ids) {
+                writeId(out, id);
+            }
+            out.writeUTF(flight.reason() != null ? flight.reason() : "");
+        }
+
+        List<PlanningProfile.SkippedDispatch> skipped =
+                profile.getSkippedDispatches() != null ? profile.getSkippedDispatches() : List.of();
+        writeVarint(out, skipped.size());
+        for (PlanningProfile.SkippedDispatch dispatch : skipped) {
+            writeId(out, dispatch.dispatchId());
+            out.writeUTF(dispatch.reason() != null ? dispatch.reason() : "");
+        }
+    }
+
+    private static PlanningProfile readProfile(DataInputStream in) throws IOException {
+        PlanningProfile profile = new PlanningProfile();
+        profile.setSingleDronePhaseMillis(in.readDouble());
+        profile.setMultiDronePhaseMillis(in.readDouble());
+        profile.setLegs((int) readVarint(in));
+        profile.setRelaxedFallbacks((int) readVarint(in));
+        profile.setFailedLegs((int) readVarint(in));
+        profile.setIterations(readVarint(in));
+        profile.setCollisionTests(readVarint(in));
+
+        int legCount = (int) readVarint(in);
+        List<PlanningProfile.Leg> legs = new ArrayList<>(legCount);
+        for (int i = 0; i < legCount; i++) {
+            legs.add(new PlanningProfile.Leg(readPoint(in), readPoint(in), in.readUTF(),
+                    in.readBoolean(), readVarint(in), in.readDouble()));
+        }
+        profile.setLegDetails(legs);
+
+        int flightCount = (int) readVarint(in);
+        List<PlanningProfile.RolledBackFlight> flights = new ArrayList<>(flightCount);
+        for (int i = 0; i < flightCount; i++) {
+            String droneId = in.readUTF();
+            int flightNumber = (int) readVarint(in);
+            int idCount = (int) readVarint(in);
+            List<Integer> ids = new ArrayList<>(idCount);
+            for (int j = 0; j < idCount; j++) {
+                ids.add(readId(in));
+            }
+            flights.add(new PlanningProfile.RolledBackFlight(droneId, flightNumber, ids, in.readUTF()));
+        }
+        profile.setRolledBackFlights(flights);
+
+        int skippedCount = (int) readVarint(in);
+        List<PlanningProfile.SkippedDispatch> skipped = new ArrayList<>(skippedCount);
+        for (int i = 0; i < skippedCount; i++) {
+            skipped.add(new PlanningProfile.SkippedDispatch(readId(in), in.readUTF()));
+        }
+        profile.setSkippedDispatches(skipped);
+        return profile;
+    }
+
+    private static void writePoint(DataOutputStream out, LngLat point) throws IOException {
+        out.writeBoolean(point != null);
+        if (point != null) {
+            out.writeDouble(point.getLng());
+            out.writeDouble(point.getLat());
+        }
+    }
+
+    private static LngLat readPoint(DataInputStream in) throws IOException {
+        return in.readBoolean() ? new LngLat(in.readDouble(), in.readDouble()) : null;
+    }
+
+    /** A nullable id: 0 for null, otherwise the zigzagged id plus one. */
+    private static void writeId(DataOutputStream out, Integer id) throws IOException {
+        writeVarint(out, id == null ? 0 : zigzag(id) + 1);
+    }
+
+    private static Integer readId(DataInputStream in) throws IOException {
+        long value = readVarint(in);
+        return value == 0 ? null : (int) unzigzag(value - 1);
+    }
+
+    private static void writePath(DataOutputStream out, List<LngLat> path) throws IOException {
+        writeVarint(out, path.size());
+        long prevLng = 0;
+        long prevLat = 0;
+        for (LngLat point : path) {
+            long lng = Math.round(point.getLng() * SCALE);
+            long lat = Math.round(point.getLat() * SCALE);
+            writeVarint(out, zigzag(lng - prevLng));
+            writeVarint(out, zigzag(lat - prevLat));
+            prevLng = lng;
+            prevLat = lat;
+        }
+    }
+
+    private static List<LngLat> readPath(DataInputStream in) throws IOException {
+        int count = (int) readVarint(in);
+        List<LngLat> path = new ArrayList<>(count);
+        long lng = 0;
+        long lat = 0;
+        for (int i = 0; i < count; i++) {
+            lng += unzigzag(readVarint(in));
+            lat += unzigzag(readVarint(in));
+            path.add(new LngLat(lng / SCALE, lat / SCALE));
+        }
+        return path;
+    }
+
+    private static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static void writeVarint(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarint(DataInputStream in) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed varint");
+    }
+}
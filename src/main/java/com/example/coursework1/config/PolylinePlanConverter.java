@@ -0,0 +1,44 @@
+package com.example.coursework1.config;
+
+import com.example.coursework1.dto.CalcDeliveryResult;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+
+import java.io.IOException;
+
+/**
+ * Serves {@link CalcDeliveryResult} as {@value #MEDIA_TYPE_VALUE} when a client
+ * asks for it in {@code Accept}; JSON stays the default.
+ */
+public class PolylinePlanConverter extends AbstractHttpMessageConverter<CalcDeliveryResult> {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.drone-plan.polyline";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    public PolylinePlanConverter() {
+        super(MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return CalcDeliveryResult.class.isAssignableFrom(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected CalcDeliveryResult readInternal(Class<? extends CalcDeliveryResult> clazz, HttpInputMessage inputMessage)
+            throws IOException {
+        return PolylineCodec.read(inputMessage.getBody());
+    }
+
+    @Override
+    protected void writeInternal(CalcDeliveryResult plan, HttpOutputMessage outputMessage) throws IOException {
+        PolylineCodec.write(plan, outputMessage.getBody());
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.coursework1.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * CBOR ({@code application/cbor}) and Smile ({@code application/x-jackson-smile})
+ * are registered by Spring MVC from the Jackson dataformat modules on the
+ * classpath. The polyline converter is appended after them so that clients
+ * accepting anything still get JSON.
+ */
+@Configuration
+public class WireFormatConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new PolylinePlanConverter());
+    }
+}
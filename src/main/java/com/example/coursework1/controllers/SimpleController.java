@@ -4,10 +4,15 @@ import com.example.coursework1.dto.*;
 import com.example.coursework1.model.Position;
 import com.example.coursework1.service.*;
 import jakarta.validation.Valid;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.net.URI;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/v1")
@@ -20,6 +25,11 @@ public class SimpleController {
     private final DeliveryPlannerService deliveryPlannerService;
     private final DroneAvailabilityService droneAvailabilityService;
     private final GeoJsonService geoJsonService;
+    private final PlanningJobService planningJobService;
+    private final PlanningStreamService planningStreamService;
+    private final PlanningExecutor planningExecutor;
+    private final RestrictedAreaService restrictedAreaService;
+    private final PathValidationService pathValidationService;
 
     public SimpleController(DistanceService distanceService,
                             NavigationService navigationService,
@@ -27,7 +37,12 @@ public class SimpleController {
                             DroneService droneService,
                             DeliveryPlannerService deliveryPlannerService,
                             DroneAvailabilityService droneAvailabilityService,
-                            GeoJsonService geoJsonService) {
+                            GeoJsonService geoJsonService,
+                            PlanningJobService planningJobService,
+                            PlanningStreamService planningStreamService,
+                            PlanningExecutor planningExecutor,
+                            RestrictedAreaService restrictedAreaService,
+                            PathValidationService pathValidationService) {
         this.distanceService = distanceService;
         this.navigationService = navigationService;
         this.regionService = regionService;
@@ -35,6 +50,11 @@ public class SimpleController {
         this.deliveryPlannerService = deliveryPlannerService;
         this.droneAvailabilityService = droneAvailabilityService;
         this.geoJsonService = geoJsonService;
+        this.planningJobService = planningJobService;
+        this.planningStreamService = planningStreamService;
+        this.planningExecutor = planningExecutor;
+        this.restrictedAreaService = restrictedAreaService;
+        this.pathValidationService = pathValidationService;
     }
 
     @GetMapping("/uid")
@@ -66,6 +86,53 @@ public class SimpleController {
         return ResponseEntity.ok(inside);
     }
 
+    @PostMapping("/distanceTo/bulk")
+    public ResponseEntity<double[]> distanceToBulk(@Valid @RequestBody BulkDistanceRequest request) {
+        double[] distances = distanceService.calculateDistances(request.getPairs());
+        return ResponseEntity.ok(distances);
+    }
+
+    @PostMapping("/isCloseTo/bulk")
+    public ResponseEntity<boolean[]> isCloseToBulk(@Valid @RequestBody BulkDistanceRequest request) {
+        boolean[] close = distanceService.areClose(request.getPairs());
+        return ResponseEntity.ok(close);
+    }
+
+    @PostMapping("/nextPosition/bulk")
+    public ResponseEntity<List<Position>> nextPositionBulk(@Valid @RequestBody BulkNextPositionRequest request) {
+        List<Position> next = navigationService.calculateNextPositions(request.getMoves());
+        return ResponseEntity.ok(next);
+    }
+
+    @PostMapping("/isInRegion/bulk")
+    public ResponseEntity<boolean[]> isInRegionBulk(@Valid @RequestBody BulkRegionRequest request) {
+        boolean[] inside = regionService.isInRegion(request.getRegion(), request.getPositions());
+        return ResponseEntity.ok(inside);
+    }
+
+    @PostMapping("/restrictedAreas/intersections")
+    public ResponseEntity<List<AreaIntersection>> restrictedAreaIntersections(
+            @Valid @RequestBody AreaIntersectionRequest request) {
+        List<AreaIntersection> intersections = restrictedAreaService.findIntersections(request.getPath());
+        return ResponseEntity.ok(intersections);
+    }
+
+    @PostMapping("/validatePath")
+    public ResponseEntity<PathValidationResult> validatePath(@Valid @RequestBody AreaIntersectionRequest request) {
+        PathValidationResult result = pathValidationService.validate(request.getPath());
+        return ResponseEntity.ok(result);
+    }
+
+    @PostMapping("/validateDeliveryPath")
+    public ResponseEntity<?> validateDeliveryPath(@RequestBody CalcDeliveryResult plan) {
+        try {
+            PathValidationResult result = pathValidationService.validate(plan);
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @GetMapping("/dronesWithCooling/{state}")
     public ResponseEntity<List<String>> dronesWithCooling(@PathVariable boolean state) {
         List<String> ids = droneService.dronesWithCooling(state);
@@ -107,17 +174,71 @@ public class SimpleController {
 
     @PostMapping("/calcDeliveryPath")
     public ResponseEntity<CalcDeliveryResult> calcDeliveryPath(
-            @RequestBody List<MedDispatchRec> recs) {
-
-        CalcDeliveryResult result = deliveryPlannerService.calcDeliveryPath(recs);
+            @RequestBody List<MedDispatchRec> recs,
+            @RequestParam(required = false) String priority,
+            @RequestParam(defaultValue = "false") boolean explain) {
+
+        PlanningPriority resolved = priorityFor(priority, recs);
+        CalcDeliveryResult result = explain
+                ? planningExecutor.callBounded(() -> deliveryPlannerService.calcDeliveryPathExplained(recs), resolved)
+                : planningExecutor.callCoalesced("plan:" + DeliveryPlannerService.requestKey(recs),
+                        () -> deliveryPlannerService.calcDeliveryPath(recs), resolved);
         return ResponseEntity.ok(result);
     }
 
+    @PostMapping(value = "/calcDeliveryPath/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamDeliveryPath(@RequestBody List<MedDispatchRec> recs,
+                                         @RequestParam(required = false) String priority) {
+        return planningStreamService.stream(recs, PlanningPriority.fromName(priority));
+    }
+
+    @PostMapping("/calcDeliveryPath/jobs")
+    public ResponseEntity<PlanningJobStatus> submitDeliveryPathJob(
+            @RequestBody List<MedDispatchRec> recs,
+            @RequestParam(required = false) String priority) {
+
+        PlanningJobStatus status = planningJobService.submit(recs, PlanningPriority.fromName(priority));
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/v1/calcDeliveryPath/jobs/" + status.getJobId()))
+                .body(status);
+    }
+
+    @GetMapping("/calcDeliveryPath/jobs/{jobId}")
+    public CompletableFuture<ResponseEntity<PlanningJobStatus>> deliveryPathJob(
+            @PathVariable String jobId,
+            @RequestParam(defaultValue = "0") long waitMs) {
+
+        CompletableFuture<PlanningJobStatus> status = planningJobService.awaitStatus(jobId, waitMs);
+        if (status == null) {
+            throw new ResourceNotFoundException("Planning job", jobId);
+        }
+        return status.thenApply(ResponseEntity::ok);
+    }
+
+    @DeleteMapping("/calcDeliveryPath/jobs/{jobId}")
+    public ResponseEntity<PlanningJobStatus> cancelDeliveryPathJob(@PathVariable String jobId) {
+        PlanningJobStatus status = planningJobService.cancel(jobId);
+        if (status == null) {
+            throw new ResourceNotFoundException("Planning job", jobId);
+        }
+        return ResponseEntity.ok(status);
+    }
+
     @PostMapping("/calcDeliveryPathAsGeoJson")
     public ResponseEntity<?> calcDeliveryPathAsGeoJson(
-            @RequestBody List<MedDispatchRec> recs) {
-
-        Object geoJson = geoJsonService.calcDeliveryPathAsGeoJson(recs);
+            @RequestBody List<MedDispatchRec> recs,
+            @RequestParam(required = false) String priority,
+            @RequestParam(defaultValue = "false") boolean simplify,
+            @RequestParam(defaultValue = "0") double tolerance) {
+
+        Object geoJson = planningExecutor.callCoalesced(
+                "geojson:" + simplify + ":" + tolerance + ":" + DeliveryPlannerService.requestKey(recs),
+                () -> geoJsonService.calcDeliveryPathAsGeoJson(recs, simplify, tolerance),
+                priorityFor(priority, recs));
         return ResponseEntity.ok(geoJson);
     }
+
+    private PlanningPriority priorityFor(String priority, List<MedDispatchRec> recs) {
+        return planningExecutor.resolvePriority(PlanningPriority.fromName(priority), recs);
+    }
 }
\ No newline at end of file
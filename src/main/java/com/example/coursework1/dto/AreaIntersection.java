@@ -0,0 +1,55 @@
+package com.example.coursework1.dto;
+
+import com.example.coursework1.model.Position;
+
+/**
+ * A restricted area met by one segment of a path. {@code entry} and {@code exit}
+ * are fractions along the segment (0 at its start, 1 at its end) of the first
+ * and last point it shares with the area. {@code clearance} is set when the
+ * segment only comes within {@code planning.clearance} of the area without
+ * entering it; the range is then that of the clearance buffer.
+ */
+public class AreaIntersection {
+
+    private int segment;
+    private String areaName;
+    private double entry;
+    private double exit;
+    private Position entryPoint;
+    private Position exitPoint;
+    private boolean clearance;
+
+    public AreaIntersection() {}
+
+    public AreaIntersection(int segment, String areaName, double entry, double exit,
+                            Position entryPoint, Position exitPoint) {
+        this(segment, areaName, entry, exit, entryPoint, exitPoint, false);
+    }
+
+    public AreaIntersection(int segment, String areaName, double entry, double exit,
+                            Position entryPoint, Position exitPoint, boolean clearance) {
+        this.segment = segment;
+        this.areaName = areaName;
+        this.entry = entry;
+        this.exit = exit;
+        this.entryPoint = entryPoint;
+        this.exitPoint = exitPoint;
+        this.clearance = clearance;
+    }
+
+    public int getSegment() { return segment; }
+    public String getAreaName() { return areaName; }
+    public double getEntry() { return entry; }
+    public double getExit() { return exit; }
+    public Position getEntryPoint() { return entryPoint; }
+    public Position getExitPoint() { return exitPoint; }
+    public boolean isClearance() { return clearance; }
+
+    public void setSegment(int segment) { this.segment = segment; }
+    public void setAreaName(String areaName) { this.areaName = areaName; }
+    public void setEntry(double entry) { this.entry = entry; }
+    public void setExit(double exit) { this.exit = exit; }
+    public void setEntryPoint(Position entryPoint) { this.entryPoint = entryPoint; }
+    public void setExitPoint(Position exitPoint) { this.exitPoint = exitPoint; }
+    public void setClearance(boolean clearance) { this.clearance = clearance; }
+}
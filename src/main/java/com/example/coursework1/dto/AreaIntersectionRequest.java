@@ -0,0 +1,29 @@
+package com.example.coursework1.dto;
+
+import com.example.coursework1.model.Position;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class AreaIntersectionRequest {
+
+    @NotNull(message = "path must not be null")
+    @Size(min = 2, message = "path must have at least 2 positions")
+    private List<@Valid @NotNull Position> path;
+
+    public AreaIntersectionRequest() { }
+
+    public AreaIntersectionRequest(List<Position> path) {
+        this.path = path;
+    }
+
+    public List<Position> getPath() {
+        return path;
+    }
+
+    public void setPath(List<Position> path) {
+        this.path = path;
+    }
+}
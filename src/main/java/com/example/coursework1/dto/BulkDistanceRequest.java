@@ -0,0 +1,26 @@
+package com.example.coursework1.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class BulkDistanceRequest {
+
+    @NotNull(message = "pairs must not be null")
+    private List<@Valid @NotNull DistanceRequest> pairs;
+
+    public BulkDistanceRequest() { }
+
+    public BulkDistanceRequest(List<DistanceRequest> pairs) {
+        this.pairs = pairs;
+    }
+
+    public List<DistanceRequest> getPairs() {
+        return pairs;
+    }
+
+    public void setPairs(List<DistanceRequest> pairs) {
+        this.pairs = pairs;
+    }
+}
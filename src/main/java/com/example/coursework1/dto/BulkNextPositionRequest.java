@@ -0,0 +1,26 @@
+package com.example.coursework1.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class BulkNextPositionRequest {
+
+    @NotNull(message = "moves must not be null")
+    private List<@Valid @NotNull NextPositionRequest> moves;
+
+    public BulkNextPositionRequest() { }
+
+    public BulkNextPositionRequest(List<NextPositionRequest> moves) {
+        this.moves = moves;
+    }
+
+    public List<NextPositionRequest> getMoves() {
+        return moves;
+    }
+
+    public void setMoves(List<NextPositionRequest> moves) {
+        this.moves = moves;
+    }
+}
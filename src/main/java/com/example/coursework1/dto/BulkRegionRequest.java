@@ -0,0 +1,40 @@
+package com.example.coursework1.dto;
+
+import com.example.coursework1.model.Position;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+
+import java.util.List;
+
+public class BulkRegionRequest {
+
+    @NotNull(message = "positions must not be null")
+    private List<@Valid @NotNull Position> positions;
+
+    @Valid
+    @NotNull(message = "region must not be null")
+    private Region region;
+
+    public BulkRegionRequest() { }
+
+    public BulkRegionRequest(List<Position> positions, Region region) {
+        this.positions = positions;
+        this.region = region;
+    }
+
+    public List<Position> getPositions() {
+        return positions;
+    }
+
+    public void setPositions(List<Position> positions) {
+        this.positions = positions;
+    }
+
+    public Region getRegion() {
+        return region;
+    }
+
+    public void setRegion(Region region) {
+        this.region = region;
+    }
+}
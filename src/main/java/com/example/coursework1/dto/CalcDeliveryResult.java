@@ -1,5 +1,7 @@
 package com.example.coursework1.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
+
 import java.util.List;
 
 public class CalcDeliveryResult {
@@ -8,6 +10,9 @@ public class CalcDeliveryResult {
     private int totalMoves;
     private List<DronePathResult> dronePaths;
 
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private PlanningProfile profile;
+
     public CalcDeliveryResult() {}
 
     public CalcDeliveryResult(double totalCost, int totalMoves, List<DronePathResult> dronePaths) {
@@ -19,8 +24,10 @@ public class CalcDeliveryResult {
     public double getTotalCost() { return totalCost; }
     public int getTotalMoves() { return totalMoves; }
     public List<DronePathResult> getDronePaths() { return dronePaths; }
+    public PlanningProfile getProfile() { return profile; }
 
     public void setTotalCost(double totalCost) { this.totalCost = totalCost; }
     public void setTotalMoves(int totalMoves) { this.totalMoves = totalMoves; }
     public void setDronePaths(List<DronePathResult> dronePaths) { this.dronePaths = dronePaths; }
+    public void setProfile(PlanningProfile profile) { this.profile = profile; }
 }
\ No newline at end of file
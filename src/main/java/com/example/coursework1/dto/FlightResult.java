@@ -0,0 +1,35 @@
+package com.example.coursework1.dto;
+
+import java.util.List;
+
+public class FlightResult {
+
+    private String droneId;
+    private int flightNumber;
+    private int moves;
+    private double cost;
+    private List<DeliveryResult> deliveries;
+
+    public FlightResult() {}
+
+    public FlightResult(String droneId, int flightNumber, int moves, double cost,
+                        List<DeliveryResult> deliveries) {
+        this.droneId = droneId;
+        this.flightNumber = flightNumber;
+        this.moves = moves;
+        this.cost = cost;
+        this.deliveries = deliveries;
+    }
+
+    public String getDroneId() { return droneId; }
+    public int getFlightNumber() { return flightNumber; }
+    public int getMoves() { return moves; }
+    public double getCost() { return cost; }
+    public List<DeliveryResult> getDeliveries() { return deliveries; }
+
+    public void setDroneId(String droneId) { this.droneId = droneId; }
+    public void setFlightNumber(int flightNumber) { this.flightNumber = flightNumber; }
+    public void setMoves(int moves) { this.moves = moves; }
+    public void setCost(double cost) { this.cost = cost; }
+    public void setDeliveries(List<DeliveryResult> deliveries) { this.deliveries = deliveries; }
+}
@@ -0,0 +1,26 @@
+package com.example.coursework1.dto;
+
+import java.util.List;
+
+public class PathValidationResult {
+
+    private boolean valid;
+    private int segmentsChecked;
+    private List<PathViolation> violations;
+
+    public PathValidationResult() {}
+
+    public PathValidationResult(int segmentsChecked, List<PathViolation> violations) {
+        this.valid = violations.isEmpty();
+        this.segmentsChecked = segmentsChecked;
+        this.violations = violations;
+    }
+
+    public boolean isValid() { return valid; }
+    public int getSegmentsChecked() { return segmentsChecked; }
+    public List<PathViolation> getViolations() { return violations; }
+
+    public void setValid(boolean valid) { this.valid = valid; }
+    public void setSegmentsChecked(int segmentsChecked) { this.segmentsChecked = segmentsChecked; }
+    public void setViolations(List<PathViolation> violations) { this.violations = violations; }
+}
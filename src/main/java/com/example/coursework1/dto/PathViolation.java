@@ -0,0 +1,34 @@
+package com.example.coursework1.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * An area intersection found while validating a path, tagged with the drone and
+ * delivery whose flight path it belongs to when a whole plan is validated.
+ */
+public class PathViolation {
+
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String droneId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer deliveryId;
+    @JsonUnwrapped
+    private AreaIntersection intersection;
+
+    public PathViolation() {}
+
+    public PathViolation(String droneId, Integer deliveryId, AreaIntersection intersection) {
+        this.droneId = droneId;
+        this.deliveryId = deliveryId;
+        this.intersection = intersection;
+    }
+
+    public String getDroneId() { return droneId; }
+    public Integer getDeliveryId() { return deliveryId; }
+    public AreaIntersection getIntersection() { return intersection; }
+
+    public void setDroneId(String droneId) { this.droneId = droneId; }
+    public void setDeliveryId(Integer deliveryId) { this.deliveryId = deliveryId; }
+    public void setIntersection(AreaIntersection intersection) { this.intersection = intersection; }
+}
@@ -0,0 +1,33 @@
+package com.example.coursework1.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class PlanningJobStatus {
+
+    public enum State { QUEUED, RUNNING, SUCCEEDED, FAILED, CANCELLED }
+
+    private String jobId;
+    private State state;
+    private CalcDeliveryResult result;
+    private String error;
+
+    public PlanningJobStatus() {}
+
+    public PlanningJobStatus(String jobId, State state, CalcDeliveryResult result, String error) {
+        this.jobId = jobId;
+        this.state = state;
+        this.result = result;
+        this.error = error;
+    }
+
+    public String getJobId() { return jobId; }
+    public State getState() { return state; }
+    public CalcDeliveryResult getResult() { return result; }
+    public String getError() { return error; }
+
+    public void setJobId(String jobId) { this.jobId = jobId; }
+    public void setState(State state) { this.state = state; }
+    public void setResult(CalcDeliveryResult result) { this.result = result; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,47 @@
+package com.example.coursework1.dto;
+
+import java.util.List;
+
+public class PlanningProfile {
+
+    private double singleDronePhaseMillis;
+    private double multiDronePhaseMillis;
+    private int legs;
+    private int relaxedFallbacks;
+    private int failedLegs;
+    private long iterations;
+    private long collisionTests;
+    private List<Leg> legDetails;
+    private List<RolledBackFlight> rolledBackFlights;
+    private List<SkippedDispatch> skippedDispatches;
+
+    public PlanningProfile() {}
+
+    public double getSingleDronePhaseMillis() { return singleDronePhaseMillis; }
+    public double getMultiDronePhaseMillis() { return multiDronePhaseMillis; }
+    public int getLegs() { return legs; }
+    public int getRelaxedFallbacks() { return relaxedFallbacks; }
+    public int getFailedLegs() { return failedLegs; }
+    public long getIterations() { return iterations; }
+    public long getCollisionTests() { return collisionTests; }
+    public List<Leg> getLegDetails() { return legDetails; }
+    public List<RolledBackFlight> getRolledBackFlights() { return rolledBackFlights; }
+    public List<SkippedDispatch> getSkippedDispatches() { return skippedDispatches; }
+
+    public void setSingleDronePhaseMillis(double singleDronePhaseMillis) { this.singleDronePhaseMillis = singleDronePhaseMillis; }
+    public void setMultiDronePhaseMillis(double multiDronePhaseMillis) { this.multiDronePhaseMillis = multiDronePhaseMillis; }
+    public void setLegs(int legs) { this.legs = legs; }
+    public void setRelaxedFallbacks(int relaxedFallbacks) { this.relaxedFallbacks = relaxedFallbacks; }
+    public void setFailedLegs(int failedLegs) { this.failedLegs = failedLegs; }
+    public void setIterations(long iterations) { this.iterations = iterations; }
+    public void setCollisionTests(long collisionTests) { this.collisionTests = collisionTests; }
+    public void setLegDetails(List<Leg> legDetails) { this.legDetails = legDetails; }
+    public void setRolledBackFlights(List<RolledBackFlight> rolledBackFlights) { this.rolledBackFlights = rolledBackFlights; }
+    public void setSkippedDispatches(List<SkippedDispatch> skippedDispatches) { this.skippedDispatches = skippedDispatches; }
+
+    public record Leg(LngLat from, LngLat to, String mode, boolean found, long iterations, double millis) {}
+
+    public record RolledBackFlight(String droneId, int flightNumber, List<Integer> dispatchIds, String reason) {}
+
+    public record SkippedDispatch(Integer dispatchId, String reason) {}
+}
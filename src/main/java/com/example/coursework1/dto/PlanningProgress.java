@@ -0,0 +1,24 @@
+package com.example.coursework1.dto;
+
+public class PlanningProgress {
+
+    private int dispatchesAssigned;
+    private int dispatchesTotal;
+    private int dronesUsed;
+
+    public PlanningProgress() {}
+
+    public PlanningProgress(int dispatchesAssigned, int dispatchesTotal, int dronesUsed) {
+        this.dispatchesAssigned = dispatchesAssigned;
+        this.dispatchesTotal = dispatchesTotal;
+        this.dronesUsed = dronesUsed;
+    }
+
+    public int getDispatchesAssigned() { return dispatchesAssigned; }
+    public int getDispatchesTotal() { return dispatchesTotal; }
+    public int getDronesUsed() { return dronesUsed; }
+
+    public void setDispatchesAssigned(int dispatchesAssigned) { this.dispatchesAssigned = dispatchesAssigned; }
+    public void setDispatchesTotal(int dispatchesTotal) { this.dispatchesTotal = dispatchesTotal; }
+    public void setDronesUsed(int dronesUsed) { this.dronesUsed = dronesUsed; }
+}
@@ -0,0 +1,167 @@
+package com.example.coursework1.geometry;
+
+import com.example.coursework1.model.Position;
+
+import java.util.List;
+
+/**
+ * Polygon vertices copied into primitive arrays once, so repeated
+ * point-in-polygon tests do not walk boxed {@link Position} lists. The ring is
+ * kept exactly as supplied (closing vertex included) and the tests mirror the
+ * boundary-inclusive ray casting of {@code RegionService}.
+ */
+public final class CompiledPolygon {
+
+    private static final double TOLERANCE = 1e-12;
+    private static final double BOUNDS_MARGIN = 1e-5;
+
+    private final double[] xs;
+    private final double[] ys;
+    private final double minX, minY, maxX, maxY;
+
+    private CompiledPolygon(double[] xs, double[] ys) {
+        this.xs = xs;
+        this.ys = ys;
+
+        double loX = Double.POSITIVE_INFINITY, loY = Double.POSITIVE_INFINITY;
+        double hiX = Double.NEGATIVE_INFINITY, hiY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < xs.length; i++) {
+            loX = Math.min(loX, xs[i]);
+            hiX = Math.max(hiX, xs[i]);
+            loY = Math.min(loY, ys[i]);
+            hiY = Math.max(hiY, ys[i]);
+        }
+        this.minX = loX;
+        this.minY = loY;
+        this.maxX = hiX;
+        this.maxY = hiY;
+    }
+
+    public static CompiledPolygon of(List<Position> vertices) {
+        double[] xs = new double[vertices.size()];
+        double[] ys = new double[vertices.size()];
+        for (int i = 0; i < xs.length; i++) {
+            xs[i] = vertices.get(i).getLng();
+            ys[i] = vertices.get(i).getLat();
+        }
+        return new CompiledPolygon(xs, ys);
+    }
+
+    /** Compiles a ring already held in primitive arrays; the arrays are not copied and must not change. */
+    public static CompiledPolygon of(double[] xs, double[] ys) {
+        return new CompiledPolygon(xs, ys);
+    }
+
+    public int vertexCount() { return xs.length; }
+    public double x(int i) { return xs[i]; }
+    public double y(int i) { return ys[i]; }
+    public double getMinX() { return minX; }
+    public double getMinY() { return minY; }
+    public double getMaxX() { return maxX; }
+    public double getMaxY() { return maxY; }
+
+    public boolean contains(Position point) {
+        return contains(point.getLng(), point.getLat());
+    }
+
+    public boolean contains(double px, double py) {
+        if (px < minX - BOUNDS_MARGIN || px > maxX + BOUNDS_MARGIN
+                || py < minY - BOUNDS_MARGIN || py > maxY + BOUNDS_MARGIN) {
+            return false;
+        }
+
+        PolygonKernel kernel = PolygonKernels.get();
+        if (kernel.onBoundary(xs, ys, px, py, TOLERANCE)) {
+            return true;
+        }
+
+        return (kernel.rayCrossings(xs, ys, px, py, TOLERANCE) & 1) == 1;
+    }
+
+    /**
+     * Exact segment test: true when segment a-b crosses or touches the ring
+     * (collinear overlaps included) or lies inside it, which one containment test
+     * of an endpoint settles once no edge is hit.
+     */
+    public boolean intersectsSegment(double ax, double ay, double bx, double by) {
+        return touchesEdges(ax, ay, bx, by) || (boxMeets(ax, ay, bx, by) && contains(ax, ay));
+    }
+
+    /**
+     * Whether segment a-b crosses or touches an edge, without the containment
+     * test. Rings that are not valid regions have no inside, so this is the whole
+     * test for them.
+     */
+    public boolean touchesEdges(double ax, double ay, double bx, double by) {
+        return boxMeets(ax, ay, bx, by) && PolygonKernels.get().segmentTouchesEdge(xs, ys, ax, ay, bx, by);
+    }
+
+    private boolean boxMeets(double ax, double ay, double bx, double by) {
+        return Math.max(ax, bx) >= minX - BOUNDS_MARGIN && Math.min(ax, bx) <= maxX + BOUNDS_MARGIN
+                && Math.max(ay, by) >= minY - BOUNDS_MARGIN && Math.min(ay, by) <= maxY + BOUNDS_MARGIN;
+    }
+
+    /**
+     * Parameters {@code {entry, exit}} along a-b (0 at a, 1 at b) of the first
+     * and last point the segment shares with the polygon, or null when
+     * {@link #intersectsSegment} is false. Collinear overlaps contribute both
+     * ends of the overlap.
+     */
+    public double[] segmentRange(double ax, double ay, double bx, double by) {
+        if (!intersectsSegment(ax, ay, bx, by)) {
+            return null;
+        }
+
+        double[] range = edgeRange(ax, ay, bx, by,
+                contains(ax, ay) ? 0 : Double.POSITIVE_INFINITY,
+                contains(bx, by) ? 1 : Double.NEGATIVE_INFINITY);
+        return range[0] > range[1] ? new double[]{0, 0} : range;
+    }
+
+    /**
+     * Parameter {@code {t, t}} along a-b of the first point where the segment
+     * meets an edge, or null when {@link #touchesEdges} is false. This is the
+     * range for rings with no inside, which are only blocked at their edges.
+     */
+    public double[] edgeCrossing(double ax, double ay, double bx, double by) {
+        if (!touchesEdges(ax, ay, bx, by)) {
+            return null;
+        }
+        double[] range = edgeRange(ax, ay, bx, by, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY);
+        double t = range[0] > range[1] ? 0 : range[0];
+        return new double[]{t, t};
+    }
+
+    /** {@code {entry, exit}} widened by every edge a-b meets. */
+    private double[] edgeRange(double ax, double ay, double bx, double by, double entry, double exit) {
+        double abx = bx - ax, aby = by - ay;
+        double length2 = abx * abx + aby * aby;
+
+        for (int i = 0; i < xs.length - 1; i++) {
+            double cx = xs[i], cy = ys[i], dx = xs[i + 1], dy = ys[i + 1];
+            if (!ScalarPolygonKernel.segmentsTouch(ax, ay, bx, by, cx, cy, dx, dy)) {
+                continue;
+            }
+
+            double den = abx * (dy - cy) - aby * (dx - cx);
+            if (length2 == 0) {
+                entry = exit = 0;
+            } else if (den != 0) {
+                double t = clamp(((cx - ax) * (dy - cy) - (cy - ay) * (dx - cx)) / den);
+                entry = Math.min(entry, t);
+                exit = Math.max(exit, t);
+            } else {
+                double tc = clamp(((cx - ax) * abx + (cy - ay) * aby) / length2);
+                double td = clamp(((dx - ax) * abx + (dy - ay) * aby) / length2);
+                entry = Math.min(entry, Math.min(tc, td));
+                exit = Math.max(exit, Math.max(tc, td));
+            }
+        }
+
+        return new double[]{entry, exit};
+    }
+
+    private static double clamp(double t) {
+        return Math.max(0, Math.min(1, t));
+    }
+}
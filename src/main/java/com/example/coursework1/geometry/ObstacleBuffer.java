@@ -0,0 +1,76 @@
+package com.example.coursework1.geometry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Inflates a polygon by a clearance distance. The Minkowski sum of a ring with a
+ * disc is the ring itself plus a capsule around every edge, so instead of
+ * tracing an offset outline (which breaks on concave and self-touching rings)
+ * the buffer is returned as those convex capsules. The disc is approximated by
+ * a circumscribed polygon, so the buffer is never thinner than the clearance.
+ */
+public final class ObstacleBuffer {
+
+    static final int DISC_SIDES = 8;
+
+    private ObstacleBuffer() {}
+
+    /** Closed convex capsules covering every point within {@code clearance} of an edge (i, i + 1). */
+    public static List<CompiledPolygon> capsules(CompiledPolygon polygon, double clearance) {
+        List<CompiledPolygon> capsules = new ArrayList<>();
+        if (clearance <= 0) {
+            return capsules;
+        }
+
+        double radius = clearance / Math.cos(Math.PI / DISC_SIDES);
+        int n = polygon.vertexCount();
+        if (n == 1) {
+            capsules.add(capsule(polygon.x(0), polygon.y(0), polygon.x(0), polygon.y(0), radius));
+        }
+        for (int i = 0; i + 1 < n; i++) {
+            capsules.add(capsule(polygon.x(i), polygon.y(i), polygon.x(i + 1), polygon.y(i + 1), radius));
+        }
+        return capsules;
+    }
+
+    private static CompiledPolygon capsule(double ax, double ay, double bx, double by, double radius) {
+        double[][] points = new double[2 * DISC_SIDES][];
+        for (int k = 0; k < DISC_SIDES; k++) {
+            double angle = 2 * Math.PI * k / DISC_SIDES;
+            double dx = radius * Math.cos(angle), dy = radius * Math.sin(angle);
+            points[2 * k] = new double[]{ax + dx, ay + dy};
+            points[2 * k + 1] = new double[]{bx + dx, by + dy};
+        }
+        return hull(points);
+    }
+
+    /** Andrew's monotone chain, returned as a closed counter-clockwise ring. */
+    private static CompiledPolygon hull(double[][] points) {
+        Arrays.sort(points, (p, q) -> p[0] != q[0] ? Double.compare(p[0], q[0]) : Double.compare(p[1], q[1]));
+
+        double[][] ring = new double[2 * points.length + 1][];
+        int size = 0;
+        for (double[] point : points) {
+            while (size >= 2 && cross(ring[size - 2], ring[size - 1], point) <= 0) size--;
+            ring[size++] = point;
+        }
+        for (int i = points.length - 2, lower = size + 1; i >= 0; i--) {
+            while (size >= lower && cross(ring[size - 2], ring[size - 1], points[i]) <= 0) size--;
+            ring[size++] = points[i];
+        }
+
+        double[] xs = new double[size];
+        double[] ys = new double[size];
+        for (int i = 0; i < size; i++) {
+            xs[i] = ring[i][0];
+            ys[i] = ring[i][1];
+        }
+        return CompiledPolygon.of(xs, ys);
+    }
+
+    private static double cross(double[] o, double[] a, double[] b) {
+        return ScalarPolygonKernel.orientation(o[0], o[1], a[0], a[1], b[0], b[1]);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.coursework1.geometry;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Restricted polygons rasterised onto a uniform grid so most point and short
+ * segment checks resolve to a few bit lookups. Each cell is {@link #FREE},
+ * {@link #BLOCKED} or {@link #BOUNDARY}; only boundary cells need exact geometry.
+ *
+ * <p>Cells crossed by an edge are marked boundary together with their eight
+ * neighbours, so a blocked or free cell is never adjacent to one containing
+ * boundary. Rounding a coordinate into the wrong neighbour therefore cannot
+ * change an answer. Polygons that are not solid (for example unclosed rings
+ * that {@code RegionService} rejects) have their whole bounding box marked
+ * boundary and are always decided exactly.
+ */
+public final class OccupancyRaster {
+
+    public static final int FREE = 0;
+    public static final int BLOCKED = 1;
+    public static final int BOUNDARY = 2;
+
+    static final int MAX_CELLS = 1 << 22;
+
+    private final double originX, originY, cell;
+    private final int cols, rows;
+    private final BitSet blocked;
+    private final BitSet boundary;
+
+    private OccupancyRaster(double originX, double originY, double cell, int cols, int rows) {
+        this.originX = originX;
+        this.originY = originY;
+        this.cell = cell;
+        this.cols = cols;
+        this.rows = rows;
+        this.blocked = new BitSet();
+        this.boundary = new BitSet();
+    }
+
+    /**
+     * Rasterises {@code polygons} (null entries are skipped) at {@code cellSize},
+     * coarsened if the covering grid would exceed {@link #MAX_CELLS}. Only
+     * polygons whose index is set in {@code solid} may produce blocked cells.
+     */
+    public static OccupancyRaster build(List<CompiledPolygon> polygons, BitSet solid, double cellSize) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (CompiledPolygon polygon : polygons) {
+            if (polygon == null || polygon.vertexCount() == 0) continue;
+            minX = Math.min(minX, polygon.getMinX());
+            minY = Math.min(minY, polygon.getMinY());
+            maxX = Math.max(maxX, polygon.getMaxX());
+            maxY = Math.max(maxY, polygon.getMaxY());
+        }
+        if (minX > maxX) {
+            return new OccupancyRaster(0, 0, cellSize, 0, 0);
+        }
+
+        double width = maxX - minX, height = maxY - minY;
+        double cell = cellSize;
+        if ((width / cell + 5) * (height / cell + 5) > MAX_CELLS) {
+            cell = Math.sqrt((width + 5 * cell) * (height + 5 * cell) / MAX_CELLS) * 1.01;
+        }
+
+        OccupancyRaster raster = new OccupancyRaster(minX - 2 * cell, minY - 2 * cell, cell,
+                (int) Math.ceil(width / cell) + 5, (int) Math.ceil(height / cell) + 5);
+
+        for (int p = 0; p < polygons.size(); p++) {
+            CompiledPolygon polygon = polygons.get(p);
+            if (polygon == null || polygon.vertexCount() == 0) continue;
+
+            if (solid.get(p)) {
+                raster.fill(polygon);
+                raster.markEdges(polygon);
+            } else {
+                raster.markBox(raster.col(polygon.getMinX()) - 1, raster.row(polygon.getMinY()) - 1,
+                        raster.col(polygon.getMaxX()) + 1, raster.row(polygon.getMaxY()) + 1);
+            }
+        }
+        raster.blocked.andNot(raster.boundary);
+        return raster;
+    }
+
+    public double cellSize() {
+        return cell;
+    }
+
+    public int state(double x, double y) {
+        int c = col(x), r = row(y);
+        if (c < 0 || c >= cols || r < 0 || r >= rows) {
+            return FREE;
+        }
+        return stateAt(r * cols + c);
+    }
+
+    /**
+     * Combined state of every cell segment a-b passes through: blocked if any is,
+     * free if all are, otherwise boundary.
+     */
+    public int state(double ax, double ay, double bx, double by) {
+        if (cols == 0) {
+            return FREE;
+        }
+
+        double loX = Math.min(ax, bx), hiX = Math.max(ax, bx);
+        int c0 = Math.max(col(loX), 0), c1 = Math.min(col(hiX), cols - 1);
+        boolean sawBoundary = false;
+
+        for (int c = c0; c <= c1; c++) {
+            double[] span = rowSpan(ax, ay, bx, by, loX, hiX, c);
+            int r0 = Math.max(row(span[0]), 0), r1 = Math.min(row(span[1]), rows - 1);
+            for (int r = r0; r <= r1; r++) {
+                int state = stateAt(r * cols + c);
+                if (state == BLOCKED) {
+                    return BLOCKED;
+                }
+                sawBoundary |= state == BOUNDARY;
+            }
+        }
+        return sawBoundary ? BOUNDARY : FREE;
+    }
+
+    private int stateAt(int index) {
+        if (boundary.get(index)) return BOUNDARY;
+        return blocked.get(index) ? BLOCKED : FREE;
+    }
+
+    private int col(double x) {
+        return (int) Math.floor((x - originX) / cell);
+    }
+
+    private int row(double y) {
+        return (int) Math.floor((y - originY) / cell);
+    }
+
+    /** Lowest and highest y of segment a-b within column {@code c}. */
+    private double[] rowSpan(double ax, double ay, double bx, double by, double loX, double hiX, int c) {
+        double dx = bx - ax;
+        if (dx == 0) {
+            return new double[]{Math.min(ay, by), Math.max(ay, by)};
+        }
+        double left = Math.max(loX, originX + c * cell);
+        double right = Math.min(hiX, originX + (c + 1) * cell);
+        double yl = ay + (left - ax) / dx * (by - ay);
+        double yr = ay + (right - ax) / dx * (by - ay);
+        return new double[]{Math.min(yl, yr), Math.max(yl, yr)};
+    }
+
+    private void markEdges(CompiledPolygon polygon) {
+        int n = polygon.vertexCount();
+        for (int i = 0, j = n - 1; i < n; j = i++) {
+            double ax = polygon.x(j), ay = polygon.y(j), bx = polygon.x(i), by = polygon.y(i);
+            double loX = Math.min(ax, bx), hiX = Math.max(ax, bx);
+            for (int c = col(loX); c <= col(hiX); c++) {
+                double[] span = rowSpan(ax, ay, bx, by, loX, hiX, c);
+                markBox(c - 1, row(span[0]) - 1, c + 1, row(span[1]) + 1);
+            }
+        }
+    }
+
+    private void markBox(int c0, int r0, int c1, int r1) {
+        c0 = Math.max(c0, 0);
+        c1 = Math.min(c1, cols - 1);
+        for (int r = Math.max(r0, 0); r <= Math.min(r1, rows - 1); r++) {
+            boundary.set(r * cols + c0, r * cols + c1 + 1);
+        }
+    }
+
+    /** Even-odd scanline fill through cell centres, matching the ray casting of {@link CompiledPolygon}. */
+    private void fill(CompiledPolygon polygon) {
+        int n = polygon.vertexCount();
+        double[] crossings = new double[n];
+
+        for (int r = Math.max(row(polygon.getMinY()), 0); r <= Math.min(row(polygon.getMaxY()), rows - 1); r++) {
+            double y = originY + (r + 0.5) * cell;
+            int count = 0;
+            for (int i = 0, j = n - 1; i < n; j = i++) {
+                double yi = polygon.y(i), yj = polygon.y(j);
+                if ((yi > y) != (yj > y)) {
+                    crossings[count++] = polygon.x(i) + (y - yi) * (polygon.x(j) - polygon.x(i)) / (yj - yi);
+                }
+            }
+            Arrays.sort(crossings, 0, count);
+
+            for (int k = 0; k + 1 < count; k += 2) {
+                int from = Math.max((int) Math.ceil((crossings[k] - originX) / cell - 0.5), 0);
+                int to = Math.min((int) Math.floor((crossings[k + 1] - originX) / cell - 0.5), cols - 1);
+                if (from <= to) {
+                    blocked.set(r * cols + from, r * cols + to + 1);
+                }
+            }
+        }
+    }
+}
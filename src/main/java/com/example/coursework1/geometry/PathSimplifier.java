@@ -0,0 +1,127 @@
+package com.example.coursework1.geometry;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Reduces a flight path to the vertices a map needs to draw it. Repeated points
+ * (hovers) collapse to one vertex whose index is reported, and hover vertices
+ * and endpoints are always kept.
+ *
+ * <p>With a tolerance of zero only interior points of straight runs are dropped.
+ * Every lattice move has the same length, so the original path is recovered by
+ * splitting each segment into {@code round(length / step)} equal moves and
+ * repeating each hover vertex. A positive tolerance applies Douglas-Peucker
+ * between kept vertices and is lossy.
+ */
+public final class PathSimplifier {
+
+    private static final double COLLINEAR_EPS = 1e-9;
+
+    public record Result(List<double[]> coordinates, List<Integer> hoverIndices) {}
+
+    private PathSimplifier() {}
+
+    public static Result simplify(List<double[]> path, double tolerance) {
+        int n = path.size();
+        List<double[]> points = new ArrayList<>(n);
+        List<Boolean> hover = new ArrayList<>(n);
+        for (double[] point : path) {
+            int last = points.size() - 1;
+            if (last >= 0 && samePoint(points.get(last), point)) {
+                hover.set(last, true);
+            } else {
+                points.add(point);
+                hover.add(false);
+            }
+        }
+
+        int m = points.size();
+        boolean[] keep = new boolean[m];
+        if (m > 0) {
+            keep[0] = true;
+            keep[m - 1] = true;
+        }
+        for (int i = 0; i < m; i++) {
+            if (hover.get(i)) keep[i] = true;
+        }
+
+        if (tolerance > 0) {
+            int anchor = 0;
+            for (int i = 1; i < m; i++) {
+                if (keep[i]) {
+                    douglasPeucker(points, anchor, i, tolerance, keep);
+                    anchor = i;
+                }
+            }
+        } else {
+            for (int i = 1; i < m - 1; i++) {
+                if (!collinear(points.get(i - 1), points.get(i), points.get(i + 1))) {
+                    keep[i] = true;
+                }
+            }
+        }
+
+        List<double[]> coordinates = new ArrayList<>();
+        List<Integer> hoverIndices = new ArrayList<>();
+        for (int i = 0; i < m; i++) {
+            if (!keep[i]) continue;
+            if (hover.get(i)) hoverIndices.add(coordinates.size());
+            coordinates.add(points.get(i));
+        }
+        return new Result(coordinates, hoverIndices);
+    }
+
+    private static void douglasPeucker(List<double[]> points, int first, int last,
+                                       double tolerance, boolean[] keep) {
+        Deque<int[]> ranges = new ArrayDeque<>();
+        ranges.push(new int[]{first, last});
+        while (!ranges.isEmpty()) {
+            int[] range = ranges.pop();
+            int from = range[0];
+            int to = range[1];
+            if (to - from < 2) continue;
+
+            double[] a = points.get(from);
+            double[] b = points.get(to);
+            int farthest = -1;
+            double maxDistance = tolerance;
+            for (int i = from + 1; i < to; i++) {
+                double d = distanceToSegment(points.get(i), a, b);
+                if (d > maxDistance) {
+                    maxDistance = d;
+                    farthest = i;
+                }
+            }
+
+            if (farthest >= 0) {
+                keep[farthest] = true;
+                ranges.push(new int[]{from, farthest});
+                ranges.push(new int[]{farthest, to});
+            }
+        }
+    }
+
+    private static boolean collinear(double[] a, double[] b, double[] c) {
+        double abx = b[0] - a[0], aby = b[1] - a[1];
+        double bcx = c[0] - b[0], bcy = c[1] - b[1];
+        double cross = abx * bcy - aby * bcx;
+        double dot = abx * bcx + aby * bcy;
+        double scale = Math.hypot(abx, aby) * Math.hypot(bcx, bcy);
+        return dot > 0 && Math.abs(cross) <= COLLINEAR_EPS * scale;
+    }
+
+    private static double distanceToSegment(double[] p, double[] a, double[] b) {
+        double dx = b[0] - a[0], dy = b[1] - a[1];
+        double lengthSq = dx * dx + dy * dy;
+        double t = lengthSq == 0 ? 0 : ((p[0] - a[0]) * dx + (p[1] - a[1]) * dy) / lengthSq;
+        t = Math.max(0, Math.min(1, t));
+        return Math.hypot(p[0] - (a[0] + t * dx), p[1] - (a[1] + t * dy));
+    }
+
+    private static boolean samePoint(double[] a, double[] b) {
+        return a[0] == b[0] && a[1] == b[1];
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.coursework1.geometry;
+
+/**
+ * Edge loops over a ring stored as primitive arrays (closing vertex included).
+ * Implementations must give bit-identical answers to the scalar loops in
+ * {@link ScalarPolygonKernel}.
+ */
+interface PolygonKernel {
+
+    /** Whether (px, py) lies on an edge (i, i + 1), within {@code tolerance}. */
+    boolean onBoundary(double[] xs, double[] ys, double px, double py, double tolerance);
+
+    /** Number of edges (i, i - 1), wrapping at 0, that a ray from (px, py) towards +x crosses. */
+    int rayCrossings(double[] xs, double[] ys, double px, double py, double tolerance);
+
+    /**
+     * Whether closed segment a-b shares at least one point with any edge (i, i + 1):
+     * proper crossings, touching endpoints and collinear overlaps all count.
+     */
+    boolean segmentTouchesEdge(double[] xs, double[] ys, double ax, double ay, double bx, double by);
+}
@@ -0,0 +1,35 @@
+package com.example.coursework1.geometry;
+
+/**
+ * Picks the polygon kernel once per JVM: the Vector API version when the JVM was
+ * started with {@code --add-modules jdk.incubator.vector}, otherwise the scalar
+ * loops. {@code -Dgeometry.simd=false} forces the scalar kernel.
+ */
+public final class PolygonKernels {
+
+    private static final PolygonKernel KERNEL = load();
+
+    private PolygonKernels() {}
+
+    static PolygonKernel get() {
+        return KERNEL;
+    }
+
+    public static boolean isVectorized() {
+        return !(KERNEL instanceof ScalarPolygonKernel);
+    }
+
+    private static PolygonKernel load() {
+        if (!Boolean.parseBoolean(System.getProperty("geometry.simd", "true"))
+                || ModuleLayer.boot().findModule("jdk.incubator.vector").isEmpty()) {
+            return new ScalarPolygonKernel();
+        }
+        try {
+            return (PolygonKernel) Class.forName(PolygonKernels.class.getPackageName() + ".VectorPolygonKernel")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return new ScalarPolygonKernel();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.coursework1.geometry;
+
+final class ScalarPolygonKernel implements PolygonKernel {
+
+    @Override
+    public boolean onBoundary(double[] xs, double[] ys, double px, double py, double tolerance) {
+        for (int i = 0; i < xs.length - 1; i++) {
+            if (onEdge(xs[i], ys[i], xs[i + 1], ys[i + 1], px, py, tolerance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int rayCrossings(double[] xs, double[] ys, double px, double py, double tolerance) {
+        int crossings = 0;
+        for (int i = 0, j = xs.length - 1; i < xs.length; j = i++) {
+            if (rayCrosses(xs[i], ys[i], xs[j], ys[j], px, py, tolerance)) {
+                crossings++;
+            }
+        }
+        return crossings;
+    }
+
+    @Override
+    public boolean segmentTouchesEdge(double[] xs, double[] ys, double ax, double ay, double bx, double by) {
+        for (int i = 0; i < xs.length - 1; i++) {
+            if (segmentsTouch(ax, ay, bx, by, xs[i], ys[i], xs[i + 1], ys[i + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    static boolean onEdge(double x1, double y1, double x2, double y2, double px, double py, double tolerance) {
+        double dx = x2 - x1;
+        double dy = y2 - y1;
+
+        double cross = (px - x1) * dy - (py - y1) * dx;
+        if (Math.abs(cross) > tolerance) return false;
+
+        double dot = (px - x1) * (px - x2) + (py - y1) * (py - y2);
+        return dot <= tolerance;
+    }
+
+    static boolean rayCrosses(double xi, double yi, double xj, double yj, double px, double py, double tolerance) {
+        if (Math.abs(yj - yi) < tolerance) return false;
+
+        return ((yi > py) != (yj > py)) &&
+                (px < (xj - xi) * (py - yi) / (yj - yi) + xi);
+    }
+
+    static boolean segmentsTouch(double ax, double ay, double bx, double by,
+                                 double cx, double cy, double dx, double dy) {
+        double d1 = orientation(cx, cy, dx, dy, ax, ay);
+        double d2 = orientation(cx, cy, dx, dy, bx, by);
+        double d3 = orientation(ax, ay, bx, by, cx, cy);
+        double d4 = orientation(ax, ay, bx, by, dx, dy);
+
+        if (((d1 > 0 && d2 < 0) || (d1 < 0 && d2 > 0)) && ((d3 > 0 && d4 < 0) || (d3 < 0 && d4 > 0))) {
+            return true;
+        }
+
+        return (d1 == 0 && withinBox(cx, cy, dx, dy, ax, ay))
+                || (d2 == 0 && withinBox(cx, cy, dx, dy, bx, by))
+                || (d3 == 0 && withinBox(ax, ay, bx, by, cx, cy))
+                || (d4 == 0 && withinBox(ax, ay, bx, by, dx, dy));
+    }
+
+    /** Twice the signed area of p, q, r: positive when r is left of p-q. */
+    static double orientation(double px, double py, double qx, double qy, double rx, double ry) {
+        return (qx - px) * (ry - py) - (qy - py) * (rx - px);
+    }
+
+    private static boolean withinBox(double px, double py, double qx, double qy, double rx, double ry) {
+        return Math.min(px, qx) <= rx && rx <= Math.max(px, qx)
+                && Math.min(py, qy) <= ry && ry <= Math.max(py, qy);
+    }
+}
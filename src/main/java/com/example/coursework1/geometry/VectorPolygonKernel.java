@@ -0,0 +1,162 @@
+package com.example.coursework1.geometry;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * {@link PolygonKernel} on the incubating Vector API: each lane tests one edge
+ * with the same operation order as the scalar loop, and the remainder that does
+ * not fill a vector falls back to {@link ScalarPolygonKernel}. Only loaded when
+ * {@code jdk.incubator.vector} is in the boot layer.
+ */
+final class VectorPolygonKernel implements PolygonKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public boolean onBoundary(double[] xs, double[] ys, double px, double py, double tolerance) {
+        int edges = xs.length - 1;
+        int bound = edges > 0 ? SPECIES.loopBound(edges) : 0;
+        DoubleVector vpx = DoubleVector.broadcast(SPECIES, px);
+        DoubleVector vpy = DoubleVector.broadcast(SPECIES, py);
+
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector x1 = DoubleVector.fromArray(SPECIES, xs, i);
+            DoubleVector y1 = DoubleVector.fromArray(SPECIES, ys, i);
+            DoubleVector x2 = DoubleVector.fromArray(SPECIES, xs, i + 1);
+            DoubleVector y2 = DoubleVector.fromArray(SPECIES, ys, i + 1);
+
+            DoubleVector ux = vpx.sub(x1);
+            DoubleVector uy = vpy.sub(y1);
+            DoubleVector cross = ux.mul(y2.sub(y1)).sub(uy.mul(x2.sub(x1)));
+            DoubleVector dot = ux.mul(vpx.sub(x2)).add(uy.mul(vpy.sub(y2)));
+
+            VectorMask<Double> hit = cross.abs().compare(VectorOperators.GT, tolerance).not()
+                    .and(dot.compare(VectorOperators.LE, tolerance));
+            if (hit.anyTrue()) {
+                return true;
+            }
+        }
+
+        for (; i < edges; i++) {
+            if (ScalarPolygonKernel.onEdge(xs[i], ys[i], xs[i + 1], ys[i + 1], px, py, tolerance)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int rayCrossings(double[] xs, double[] ys, double px, double py, double tolerance) {
+        int n = xs.length;
+        if (n == 0) return 0;
+
+        // edge (i, i - 1) for i >= 1 reads i from offset k + 1 and j from offset k
+        int edges = n - 1;
+        int bound = edges > 0 ? SPECIES.loopBound(edges) : 0;
+        DoubleVector vpx = DoubleVector.broadcast(SPECIES, px);
+        DoubleVector vpy = DoubleVector.broadcast(SPECIES, py);
+
+        int crossings = 0;
+        int k = 0;
+        for (; k < bound; k += SPECIES.length()) {
+            DoubleVector xi = DoubleVector.fromArray(SPECIES, xs, k + 1);
+            DoubleVector yi = DoubleVector.fromArray(SPECIES, ys, k + 1);
+            DoubleVector xj = DoubleVector.fromArray(SPECIES, xs, k);
+            DoubleVector yj = DoubleVector.fromArray(SPECIES, ys, k);
+
+            DoubleVector dy = yj.sub(yi);
+            VectorMask<Double> sloped = dy.abs().compare(VectorOperators.LT, tolerance).not();
+            VectorMask<Double> straddles = yi.compare(VectorOperators.GT, vpy)
+                    .eq(yj.compare(VectorOperators.GT, vpy)).not();
+            DoubleVector xIntersect = xj.sub(xi).mul(vpy.sub(yi)).div(dy).add(xi);
+
+            crossings += sloped.and(straddles)
+                    .and(vpx.compare(VectorOperators.LT, xIntersect))
+                    .trueCount();
+        }
+
+        for (; k < edges; k++) {
+            if (ScalarPolygonKernel.rayCrosses(xs[k + 1], ys[k + 1], xs[k], ys[k], px, py, tolerance)) {
+                crossings++;
+            }
+        }
+        if (ScalarPolygonKernel.rayCrosses(xs[0], ys[0], xs[n - 1], ys[n - 1], px, py, tolerance)) {
+            crossings++;
+        }
+        return crossings;
+    }
+
+    @Override
+    public boolean segmentTouchesEdge(double[] xs, double[] ys, double ax, double ay, double bx, double by) {
+        int edges = xs.length - 1;
+        int bound = edges > 0 ? SPECIES.loopBound(edges) : 0;
+        DoubleVector vax = DoubleVector.broadcast(SPECIES, ax);
+        DoubleVector vay = DoubleVector.broadcast(SPECIES, ay);
+        DoubleVector vbx = DoubleVector.broadcast(SPECIES, bx);
+        DoubleVector vby = DoubleVector.broadcast(SPECIES, by);
+        DoubleVector abx = DoubleVector.broadcast(SPECIES, bx - ax);
+        DoubleVector aby = DoubleVector.broadcast(SPECIES, by - ay);
+        double abMinX = Math.min(ax, bx), abMaxX = Math.max(ax, bx);
+        double abMinY = Math.min(ay, by), abMaxY = Math.max(ay, by);
+
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector cx = DoubleVector.fromArray(SPECIES, xs, i);
+            DoubleVector cy = DoubleVector.fromArray(SPECIES, ys, i);
+            DoubleVector dx = DoubleVector.fromArray(SPECIES, xs, i + 1);
+            DoubleVector dy = DoubleVector.fromArray(SPECIES, ys, i + 1);
+            DoubleVector cdx = dx.sub(cx);
+            DoubleVector cdy = dy.sub(cy);
+
+            DoubleVector d1 = cdx.mul(vay.sub(cy)).sub(cdy.mul(vax.sub(cx)));
+            DoubleVector d2 = cdx.mul(vby.sub(cy)).sub(cdy.mul(vbx.sub(cx)));
+            DoubleVector d3 = abx.mul(cy.sub(vay)).sub(aby.mul(cx.sub(vax)));
+            DoubleVector d4 = abx.mul(dy.sub(vay)).sub(aby.mul(dx.sub(vax)));
+
+            VectorMask<Double> crosses = opposite(d1, d2).and(opposite(d3, d4));
+
+            DoubleVector cdMinX = cx.min(dx), cdMaxX = cx.max(dx);
+            DoubleVector cdMinY = cy.min(dy), cdMaxY = cy.max(dy);
+            VectorMask<Double> touches = d1.compare(VectorOperators.EQ, 0)
+                    .and(within(cdMinX, cdMaxX, cdMinY, cdMaxY, vax, vay))
+                    .or(d2.compare(VectorOperators.EQ, 0)
+                            .and(within(cdMinX, cdMaxX, cdMinY, cdMaxY, vbx, vby)))
+                    .or(d3.compare(VectorOperators.EQ, 0)
+                            .and(within(abMinX, abMaxX, abMinY, abMaxY, cx, cy)))
+                    .or(d4.compare(VectorOperators.EQ, 0)
+                            .and(within(abMinX, abMaxX, abMinY, abMaxY, dx, dy)));
+
+            if (crosses.or(touches).anyTrue()) {
+                return true;
+            }
+        }
+
+        for (; i < edges; i++) {
+            if (ScalarPolygonKernel.segmentsTouch(ax, ay, bx, by, xs[i], ys[i], xs[i + 1], ys[i + 1])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static VectorMask<Double> opposite(DoubleVector p, DoubleVector q) {
+        return p.compare(VectorOperators.GT, 0).and(q.compare(VectorOperators.LT, 0))
+                .or(p.compare(VectorOperators.LT, 0).and(q.compare(VectorOperators.GT, 0)));
+    }
+
+    private static VectorMask<Double> within(DoubleVector minX, DoubleVector maxX, DoubleVector minY,
+                                             DoubleVector maxY, DoubleVector px, DoubleVector py) {
+        return minX.compare(VectorOperators.LE, px).and(px.compare(VectorOperators.LE, maxX))
+                .and(minY.compare(VectorOperators.LE, py)).and(py.compare(VectorOperators.LE, maxY));
+    }
+
+    private static VectorMask<Double> within(double minX, double maxX, double minY, double maxY,
+                                             DoubleVector px, DoubleVector py) {
+        return px.compare(VectorOperators.GE, minX).and(px.compare(VectorOperators.LE, maxX))
+                .and(py.compare(VectorOperators.GE, minY)).and(py.compare(VectorOperators.LE, maxY));
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.coursework1.index;
+
+import com.example.coursework1.dto.DroneWithAvailability;
+import com.example.coursework1.dto.ServicePointDrones;
+import com.example.coursework1.dto.TimeWindow;
+
+import java.time.DayOfWeek;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Availability windows compiled into sorted, merged second-of-week intervals per
+ * drone ordinal of a {@link DroneCatalogue}. Drones without any windows are
+ * treated as always available, matching the ILP semantics used by the planner.
+ */
+public final class AvailabilityIndex {
+
+    public static final int SECONDS_PER_DAY = 24 * 60 * 60;
+
+    private final int size;
+    private final int[][] starts;
+    private final int[][] ends;
+    private final BitSet unrestricted;
+
+    private AvailabilityIndex(int size, int[][] starts, int[][] ends, BitSet unrestricted) {
+        this.size = size;
+        this.starts = starts;
+        this.ends = ends;
+        this.unrestricted = unrestricted;
+    }
+
+    public static AvailabilityIndex build(DroneCatalogue catalogue, List<ServicePointDrones> servicePoints) {
+        Map<String, List<TimeWindow>> windowsById = new HashMap<>();
+        if (servicePoints != null) {
+            for (ServicePointDrones servicePoint : servicePoints) {
+                if (servicePoint == null || servicePoint.getDrones() == null) continue;
+
+                for (DroneWithAvailability drone : servicePoint.getDrones()) {
+                    if (drone == null) continue;
+                    List<TimeWindow> windows = drone.getAvailability();
+                    if (windows != null && !windows.isEmpty()) {
+                        windowsById.put(drone.getId(), windows);
+                    }
+                }
+            }
+        }
+
+        int size = catalogue.size();
+        int[][] starts = new int[size][];
+        int[][] ends = new int[size][];
+        BitSet unrestricted = new BitSet(size);
+
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            String id = catalogue.get(ordinal) == null ? null : catalogue.get(ordinal).getId();
+            List<TimeWindow> windows = windowsById.get(id);
+            if (windows == null) {
+                unrestricted.set(ordinal);
+                continue;
+            }
+            compile(windows, ordinal, starts, ends);
+        }
+
+        return new AvailabilityIndex(size, starts, ends, unrestricted);
+    }
+
+    public boolean isAvailable(int ordinal, int secondOfWeek) {
+        if (unrestricted.get(ordinal)) {
+            return true;
+        }
+
+        int[] from = starts[ordinal];
+        int lo = 0, hi = from.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (from[mid] <= secondOfWeek) lo = mid + 1; else hi = mid;
+        }
+        return lo > 0 && ends[ordinal][lo - 1] >= secondOfWeek;
+    }
+
+    public BitSet availableAt(int secondOfWeek) {
+        BitSet result = (BitSet) unrestricted.clone();
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (!result.get(ordinal) && isAvailable(ordinal, secondOfWeek)) {
+                result.set(ordinal);
+            }
+        }
+        return result;
+    }
+
+    public static int secondOfWeek(DayOfWeek day, int secondOfDay) {
+        return (day.getValue() - 1) * SECONDS_PER_DAY + secondOfDay;
+    }
+
+    /**
+     * Parses {@code H:mm} or {@code H:mm:ss} (one or two hour digits) into a
+     * second of day, returning -1 for anything else.
+     */
+    public static int parseSecondOfDay(String text) {
+        if (text == null) return -1;
+
+        int length = text.length();
+        int colon = text.indexOf(':');
+        if (colon < 1 || colon > 2) return -1;
+
+        int hour = digits(text, 0, colon);
+        int minute = length >= colon + 3 ? digits(text, colon + 1, colon + 3) : -1;
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59) return -1;
+
+        int second = 0;
+        if (length == colon + 6 && text.charAt(colon + 3) == ':') {
+            second = digits(text, colon + 4, colon + 6);
+            if (second < 0 || second > 59) return -1;
+        } else if (length != colon + 3) {
+            return -1;
+        }
+
+        return hour * 3600 + minute * 60 + second;
+    }
+
+    private static int digits(String text, int from, int to) {
+        int value = 0;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void compile(List<TimeWindow> windows, int ordinal, int[][] starts, int[][] ends) {
+        int[][] intervals = new int[windows.size()][];
+        int count = 0;
+
+        for (TimeWindow window : windows) {
+            if (window == null || window.getDayOfWeek() == null) continue;
+
+            DayOfWeek day;
+            try {
+                day = DayOfWeek.valueOf(window.getDayOfWeek().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                continue;
+            }
+
+            int from = parseSecondOfDay(window.getFrom());
+            int until = parseSecondOfDay(window.getUntil());
+            if (from < 0 || until < 0 || until < from) continue;
+
+            intervals[count++] = new int[]{secondOfWeek(day, from), secondOfWeek(day, until)};
+        }
+
+        Arrays.sort(intervals, 0, count, (a, b) -> Integer.compare(a[0], b[0]));
+
+        int[] mergedStarts = new int[count];
+        int[] mergedEnds = new int[count];
+        int merged = 0;
+        for (int i = 0; i < count; i++) {
+            int[] interval = intervals[i];
+            if (merged > 0 && interval[0] <= mergedEnds[merged - 1] + 1) {
+                mergedEnds[merged - 1] = Math.max(mergedEnds[merged - 1], interval[1]);
+            } else {
+                mergedStarts[merged] = interval[0];
+                mergedEnds[merged] = interval[1];
+                merged++;
+            }
+        }
+
+        starts[ordinal] = Arrays.copyOf(mergedStarts, merged);
+        ends[ordinal] = Arrays.copyOf(mergedEnds, merged);
+    }
+}
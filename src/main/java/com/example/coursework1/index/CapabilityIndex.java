@@ -0,0 +1,130 @@
+package com.example.coursework1.index;
+
+import com.example.coursework1.dto.Capability;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Drones grouped by their (cooling, heating) class, each bucket sorted by
+ * capacity and by fixed flight cost, so requirement matching is a bucket pick
+ * plus a binary search instead of a scan over the fleet.
+ */
+public final class CapabilityIndex {
+
+    private static final int COOLING = 2;
+    private static final int HEATING = 1;
+
+    private final int size;
+    private final Bucket[] buckets = new Bucket[4];
+
+    private CapabilityIndex(DroneCatalogue catalogue) {
+        this.size = catalogue.size();
+
+        List<List<Integer>> members = new ArrayList<>();
+        for (int i = 0; i < buckets.length; i++) {
+            members.add(new ArrayList<>());
+        }
+        for (int ordinal = 0; ordinal < size; ordinal++) {
+            if (!catalogue.hasCapability(ordinal)) continue;
+            int key = (catalogue.isCooling(ordinal) ? COOLING : 0) | (catalogue.isHeating(ordinal) ? HEATING : 0);
+            members.get(key).add(ordinal);
+        }
+        for (int key = 0; key < buckets.length; key++) {
+            buckets[key] = new Bucket(catalogue, members.get(key));
+        }
+    }
+
+    public static CapabilityIndex build(DroneCatalogue catalogue) {
+        return new CapabilityIndex(catalogue);
+    }
+
+    /**
+     * Drones with {@code capacity + eps >= capacityNeeded}, the requested
+     * temperature control and, if {@code maxCost} is given, a fixed cost
+     * ({@code costInitial + costFinal}) of at most {@code maxCost}.
+     */
+    public BitSet matching(double capacityNeeded, double eps, boolean cooling, boolean heating, Double maxCost) {
+        int required = (cooling ? COOLING : 0) | (heating ? HEATING : 0);
+        BitSet result = new BitSet(size);
+
+        for (int key = 0; key < buckets.length; key++) {
+            if ((key & required) != required) continue;
+
+            Bucket bucket = buckets[key];
+            int capacityFrom = bucket.firstWithCapacity(capacityNeeded, eps);
+            if (maxCost == null) {
+                for (int i = capacityFrom; i < bucket.byCapacity.length; i++) {
+                    result.set(bucket.byCapacity[i]);
+                }
+                continue;
+            }
+
+            int costTo = bucket.endOfCostAtMost(maxCost);
+            if (bucket.byCapacity.length - capacityFrom <= costTo) {
+                for (int i = capacityFrom; i < bucket.byCapacity.length; i++) {
+                    int ordinal = bucket.byCapacity[i];
+                    if (bucket.fixedCostOf(ordinal) <= maxCost) result.set(ordinal);
+                }
+            } else {
+                for (int i = 0; i < costTo; i++) {
+                    int ordinal = bucket.byCost[i];
+                    if (bucket.capacityOf(ordinal) + eps >= capacityNeeded) result.set(ordinal);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static final class Bucket {
+
+        private final DroneCatalogue catalogue;
+        private final int[] byCapacity;
+        private final double[] capacities;
+        private final int[] byCost;
+        private final double[] costs;
+
+        Bucket(DroneCatalogue catalogue, List<Integer> ordinals) {
+            this.catalogue = catalogue;
+
+            List<Integer> capacityOrder = new ArrayList<>(ordinals);
+            capacityOrder.sort(Comparator.comparingDouble(this::capacityOf));
+            this.byCapacity = capacityOrder.stream().mapToInt(Integer::intValue).toArray();
+            this.capacities = capacityOrder.stream().mapToDouble(this::capacityOf).toArray();
+
+            List<Integer> costOrder = new ArrayList<>(ordinals);
+            costOrder.sort(Comparator.comparingDouble(this::fixedCostOf));
+            this.byCost = costOrder.stream().mapToInt(Integer::intValue).toArray();
+            this.costs = costOrder.stream().mapToDouble(this::fixedCostOf).toArray();
+        }
+
+        double capacityOf(int ordinal) {
+            return catalogue.value(DroneAttribute.CAPACITY, ordinal);
+        }
+
+        double fixedCostOf(int ordinal) {
+            Capability capability = catalogue.get(ordinal).getCapability();
+            return capability.getCostInitial() + capability.getCostFinal();
+        }
+
+        int firstWithCapacity(double capacityNeeded, double eps) {
+            int lo = 0, hi = capacities.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (capacities[mid] + eps < capacityNeeded) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        int endOfCostAtMost(double maxCost) {
+            int lo = 0, hi = costs.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (costs[mid] <= maxCost) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.coursework1.index;
+
+public enum Comparison {
+
+    EQ("="), NE("!="), LT("<"), GT(">"), LE("<="), GE(">=");
+
+    private final String symbol;
+
+    Comparison(String symbol) {
+        this.symbol = symbol;
+    }
+
+    public String getSymbol() { return symbol; }
+
+    public static Comparison fromSymbol(String symbol) {
+        if (symbol == null) return null;
+        for (Comparison comparison : values()) {
+            if (comparison.symbol.equals(symbol)) {
+                return comparison;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.coursework1.index;
+
+import com.example.coursework1.dto.Capability;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+
+public enum DroneAttribute {
+
+    ID("id", Kind.TEXT, null),
+    NAME("name", Kind.TEXT, null),
+    COOLING("cooling", Kind.BOOLEAN, null),
+    HEATING("heating", Kind.BOOLEAN, null),
+    CAPACITY("capacity", Kind.NUMERIC, Capability::getCapacity),
+    MAX_MOVES("maxmoves", Kind.NUMERIC, Capability::getMaxMoves),
+    COST_PER_MOVE("costpermove", Kind.NUMERIC, Capability::getCostPerMove),
+    COST_INITIAL("costinitial", Kind.NUMERIC, Capability::getCostInitial),
+    COST_FINAL("costfinal", Kind.NUMERIC, Capability::getCostFinal);
+
+    public enum Kind { TEXT, BOOLEAN, NUMERIC }
+
+    private static final Map<String, DroneAttribute> BY_NAME = new HashMap<>();
+
+    static {
+        for (DroneAttribute attribute : values()) {
+            BY_NAME.put(attribute.key, attribute);
+        }
+    }
+
+    private final String key;
+    private final Kind kind;
+    private final ToDoubleFunction<Capability> extractor;
+
+    DroneAttribute(String key, Kind kind, ToDoubleFunction<Capability> extractor) {
+        this.key = key;
+        this.kind = kind;
+        this.extractor = extractor;
+    }
+
+    public Kind getKind() { return kind; }
+
+    public boolean isNumeric() {
+        return kind == Kind.NUMERIC;
+    }
+
+    double extract(Capability capability) {
+        return extractor.applyAsDouble(capability);
+    }
+
+    public static DroneAttribute fromName(String name) {
+        return name == null ? null : BY_NAME.get(name.toLowerCase(Locale.ROOT));
+    }
+}
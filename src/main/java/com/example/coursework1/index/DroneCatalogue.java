@@ -0,0 +1,259 @@
+package com.example.coursework1.index;
+
+import com.example.coursework1.dto.Capability;
+import com.example.coursework1.dto.Drone;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of one drone snapshot. Drones are addressed by their ordinal in
+ * the ILP response so bitsets preserve the original response order.
+ */
+public final class DroneCatalogue {
+
+    private final long version;
+    private final List<Drone> drones;
+    private final Map<String, Integer> ordinalById;
+    private final BitSet withCapability;
+    private final BitSet cooling;
+    private final BitSet heating;
+    private final int capableCount, coolingCount, heatingCount;
+    private final Map<DroneAttribute, NumericColumn> columns;
+
+    private DroneCatalogue(long version, List<Drone> drones) {
+        this.version = version;
+        this.drones = drones;
+        this.ordinalById = new HashMap<>(drones.size() * 2);
+        this.withCapability = new BitSet(drones.size());
+        this.cooling = new BitSet(drones.size());
+        this.heating = new BitSet(drones.size());
+        this.columns = new EnumMap<>(DroneAttribute.class);
+
+        for (int i = 0; i < drones.size(); i++) {
+            Drone drone = drones.get(i);
+            if (drone == null) continue;
+
+            if (drone.getId() != null) {
+                ordinalById.putIfAbsent(drone.getId(), i);
+            }
+            if (drone.getCapability() != null) {
+                withCapability.set(i);
+                if (drone.isCooling()) cooling.set(i);
+                if (drone.isHeating()) heating.set(i);
+            }
+        }
+
+        this.capableCount = withCapability.cardinality();
+        this.coolingCount = cooling.cardinality();
+        this.heatingCount = heating.cardinality();
+
+        for (DroneAttribute attribute : DroneAttribute.values()) {
+            if (attribute.isNumeric()) {
+                columns.put(attribute, new NumericColumn(attribute, drones, withCapability));
+            }
+        }
+    }
+
+    public static DroneCatalogue build(List<Drone> drones, long version) {
+        List<Drone> copy = drones == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(drones));
+        return new DroneCatalogue(version, copy);
+    }
+
+    public long getVersion() { return version; }
+    public List<Drone> getDrones() { return drones; }
+
+    public int size() {
+        return drones.size();
+    }
+
+    public Drone get(int ordinal) {
+        return drones.get(ordinal);
+    }
+
+    public Drone findById(String id) {
+        int ordinal = ordinalOf(id);
+        return ordinal < 0 ? null : drones.get(ordinal);
+    }
+
+    public int ordinalOf(String id) {
+        if (id == null) return -1;
+        Integer ordinal = ordinalById.get(id);
+        return ordinal == null ? -1 : ordinal;
+    }
+
+    public BitSet withCapability() {
+        return (BitSet) withCapability.clone();
+    }
+
+    public BitSet cooling(boolean state) {
+        return flag(cooling, state);
+    }
+
+    public BitSet heating(boolean state) {
+        return flag(heating, state);
+    }
+
+    /** Drones with a capability whose cooling flag is {@code state}, without building the bitset. */
+    public int coolingCount(boolean state) {
+        return state ? coolingCount : capableCount - coolingCount;
+    }
+
+    public int heatingCount(boolean state) {
+        return state ? heatingCount : capableCount - heatingCount;
+    }
+
+    public boolean hasCapability(int ordinal) {
+        return withCapability.get(ordinal);
+    }
+
+    public boolean isCooling(int ordinal) {
+        return cooling.get(ordinal);
+    }
+
+    public boolean isHeating(int ordinal) {
+        return heating.get(ordinal);
+    }
+
+    public double value(DroneAttribute attribute, int ordinal) {
+        return column(attribute).values[ordinal];
+    }
+
+    public BitSet select(DroneAttribute attribute, Comparison comparison, double operand) {
+        return column(attribute).select(comparison, operand, withCapability);
+    }
+
+    public int count(DroneAttribute attribute, Comparison comparison, double operand) {
+        return column(attribute).count(comparison, operand, withCapability);
+    }
+
+    public List<String> ids(BitSet ordinals) {
+        List<String> ids = new ArrayList<>(ordinals.cardinality());
+        for (int i = ordinals.nextSetBit(0); i >= 0; i = ordinals.nextSetBit(i + 1)) {
+            Drone drone = drones.get(i);
+            if (drone != null) {
+                ids.add(drone.getId());
+            }
+        }
+        return ids;
+    }
+
+    private BitSet flag(BitSet set, boolean state) {
+        BitSet result = (BitSet) set.clone();
+        if (!state) {
+            result.flip(0, drones.size());
+        }
+        return result;
+    }
+
+    private NumericColumn column(DroneAttribute attribute) {
+        NumericColumn column = columns.get(attribute);
+        if (column == null) {
+            throw new IllegalArgumentException("Attribute " + attribute + " is not numeric");
+        }
+        return column;
+    }
+
+    private static final class NumericColumn {
+
+        private final double[] values;
+        private final double[] sorted;
+        private final int[] sortedOrdinals;
+        private final int comparableCount;
+
+        NumericColumn(DroneAttribute attribute, List<Drone> drones, BitSet withCapability) {
+            int n = withCapability.cardinality();
+            this.values = new double[drones.size()];
+            Arrays.fill(values, Double.NaN);
+
+            Integer[] order = new Integer[n];
+            int k = 0;
+            for (int i = withCapability.nextSetBit(0); i >= 0; i = withCapability.nextSetBit(i + 1)) {
+                Capability capability = drones.get(i).getCapability();
+                values[i] = attribute.extract(capability);
+                order[k++] = i;
+            }
+            Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+            this.sorted = new double[n];
+            this.sortedOrdinals = new int[n];
+            int comparable = n;
+            for (int i = 0; i < n; i++) {
+                sortedOrdinals[i] = order[i];
+                sorted[i] = values[order[i]];
+                if (Double.isNaN(sorted[i]) && comparable == n) {
+                    comparable = i;
+                }
+            }
+            this.comparableCount = comparable;
+        }
+
+        BitSet select(Comparison comparison, double operand, BitSet withCapability) {
+            BitSet result = new BitSet(values.length);
+            if (comparison == Comparison.NE) {
+                result.or(withCapability);
+                if (!Double.isNaN(operand)) {
+                    int from = lowerBound(operand);
+                    int to = upperBound(operand);
+                    for (int i = from; i < to; i++) {
+                        result.clear(sortedOrdinals[i]);
+                    }
+                }
+                return result;
+            }
+
+            int[] range = range(comparison, operand);
+            for (int i = range[0]; i < range[1]; i++) {
+                result.set(sortedOrdinals[i]);
+            }
+            return result;
+        }
+
+        int count(Comparison comparison, double operand, BitSet withCapability) {
+            if (comparison == Comparison.NE) {
+                int equal = Double.isNaN(operand) ? 0 : upperBound(operand) - lowerBound(operand);
+                return withCapability.cardinality() - equal;
+            }
+            int[] range = range(comparison, operand);
+            return range[1] - range[0];
+        }
+
+        private int[] range(Comparison comparison, double operand) {
+            if (Double.isNaN(operand)) {
+                return new int[]{0, 0};
+            }
+            return switch (comparison) {
+                case EQ -> new int[]{lowerBound(operand), upperBound(operand)};
+                case LT -> new int[]{0, lowerBound(operand)};
+                case LE -> new int[]{0, upperBound(operand)};
+                case GT -> new int[]{upperBound(operand), comparableCount};
+                case GE -> new int[]{lowerBound(operand), comparableCount};
+                case NE -> throw new IllegalArgumentException("NE is not a contiguous range");
+            };
+        }
+
+        private int lowerBound(double operand) {
+            int lo = 0, hi = comparableCount;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sorted[mid] < operand) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+
+        private int upperBound(double operand) {
+            int lo = 0, hi = comparableCount;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (sorted[mid] <= operand) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.coursework1.index;
+
+import com.example.coursework1.dto.Drone;
+import com.example.coursework1.dto.QueryAttribute;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * A list of {@link QueryAttribute} filters compiled into typed predicates. Each
+ * evaluation orders the predicates by their selectivity on the given catalogue,
+ * materialises the most selective one from the index and narrows it down with
+ * the rest. Each later predicate is either intersected as an indexed bitset or
+ * tested drone by drone, whichever touches fewer entries.
+ */
+public final class DroneQuery {
+
+    private final List<Filter> filters;
+
+    private DroneQuery(List<Filter> filters) {
+        this.filters = filters;
+    }
+
+    public static DroneQuery compile(List<QueryAttribute> attributes) {
+        List<Filter> filters = new ArrayList<>();
+        if (attributes != null) {
+            for (QueryAttribute attribute : attributes) {
+                filters.add(attribute == null ? Filter.NONE
+                        : compileFilter(attribute.getAttribute(), attribute.getOperator(), attribute.getValue()));
+            }
+        }
+        return new DroneQuery(List.copyOf(filters));
+    }
+
+    public BitSet evaluate(DroneCatalogue catalogue) {
+        if (filters.isEmpty()) {
+            BitSet all = new BitSet(catalogue.size());
+            all.set(0, catalogue.size());
+            return all;
+        }
+
+        List<Filter> ordered = new ArrayList<>(filters);
+        int[] estimates = new int[ordered.size()];
+        for (int i = 0; i < ordered.size(); i++) {
+            estimates[i] = ordered.get(i).estimate(catalogue);
+            if (estimates[i] == 0) {
+                return new BitSet();
+            }
+        }
+        Integer[] order = new Integer[ordered.size()];
+        for (int i = 0; i < order.length; i++) order[i] = i;
+        Arrays.sort(order, Comparator.comparingInt(i -> estimates[i]));
+
+        BitSet result = ordered.get(order[0]).select(catalogue);
+        for (int k = 1; k < order.length && !result.isEmpty(); k++) {
+            Filter filter = ordered.get(order[k]);
+            if (filter.selectCost(catalogue) < result.cardinality()) {
+                result.and(filter.select(catalogue));
+            } else {
+                for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+                    if (!filter.test(catalogue, i)) {
+                        result.clear(i);
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private static Filter compileFilter(String attributeName, String operator, String rawValue) {
+        DroneAttribute attribute = DroneAttribute.fromName(attributeName);
+        if (attribute == null || operator == null || rawValue == null) {
+            return Filter.NONE;
+        }
+
+        if (attribute.isNumeric()) {
+            Comparison comparison = Comparison.fromSymbol(operator);
+            if (comparison == null) {
+                return Filter.NONE;
+            }
+            try {
+                return new NumericFilter(attribute, comparison, Double.parseDouble(rawValue));
+            } catch (NumberFormatException e) {
+                return Filter.NONE;
+            }
+        }
+
+        if (!operator.equals("=")) {
+            return Filter.NONE;
+        }
+
+        if (attribute.getKind() == DroneAttribute.Kind.BOOLEAN) {
+            if (rawValue.equalsIgnoreCase("true")) {
+                return new FlagFilter(attribute, true);
+            }
+            if (rawValue.equalsIgnoreCase("false")) {
+                return new FlagFilter(attribute, false);
+            }
+            return Filter.NONE;
+        }
+
+        return new TextFilter(attribute, rawValue);
+    }
+
+    private interface Filter {
+
+        Filter NONE = new Filter() {
+            public int estimate(DroneCatalogue catalogue) { return 0; }
+            public int selectCost(DroneCatalogue catalogue) { return 0; }
+            public BitSet select(DroneCatalogue catalogue) { return new BitSet(); }
+            public boolean test(DroneCatalogue catalogue, int ordinal) { return false; }
+        };
+
+        int estimate(DroneCatalogue catalogue);
+
+        /** Roughly how many entries {@link #select} touches: set bits plus bitset words. */
+        int selectCost(DroneCatalogue catalogue);
+
+        BitSet select(DroneCatalogue catalogue);
+
+        boolean test(DroneCatalogue catalogue, int ordinal);
+    }
+
+    private record NumericFilter(DroneAttribute attribute, Comparison comparison, double operand) implements Filter {
+
+        public int estimate(DroneCatalogue catalogue) {
+            return catalogue.count(attribute, comparison, operand);
+        }
+
+        public int selectCost(DroneCatalogue catalogue) {
+            int bits = comparison == Comparison.NE ? catalogue.size() : estimate(catalogue);
+            return bits + words(catalogue);
+        }
+
+        public BitSet select(DroneCatalogue catalogue) {
+            return catalogue.select(attribute, comparison, operand);
+        }
+
+        public boolean test(DroneCatalogue catalogue, int ordinal) {
+            if (!catalogue.hasCapability(ordinal)) return false;
+            double value = catalogue.value(attribute, ordinal);
+            return switch (comparison) {
+                case EQ -> value == operand;
+                case NE -> value != operand;
+                case LT -> value < operand;
+                case GT -> value > operand;
+                case LE -> value <= operand;
+                case GE -> value >= operand;
+            };
+        }
+    }
+
+    private record FlagFilter(DroneAttribute attribute, boolean state) implements Filter {
+
+        public int estimate(DroneCatalogue catalogue) {
+            return attribute == DroneAttribute.COOLING
+                    ? catalogue.coolingCount(state) : catalogue.heatingCount(state);
+        }
+
+        public int selectCost(DroneCatalogue catalogue) {
+            return 3 * words(catalogue);
+        }
+
+        public BitSet select(DroneCatalogue catalogue) {
+            BitSet result = catalogue.withCapability();
+            result.and(attribute == DroneAttribute.COOLING
+                    ? catalogue.cooling(state) : catalogue.heating(state));
+            return result;
+        }
+
+        public boolean test(DroneCatalogue catalogue, int ordinal) {
+            if (!catalogue.hasCapability(ordinal)) return false;
+            boolean flag = attribute == DroneAttribute.COOLING
+                    ? catalogue.isCooling(ordinal) : catalogue.isHeating(ordinal);
+            return flag == state;
+        }
+    }
+
+    private record TextFilter(DroneAttribute attribute, String text) implements Filter {
+
+        public int estimate(DroneCatalogue catalogue) {
+            return attribute == DroneAttribute.ID ? (catalogue.findById(text) != null ? 1 : catalogue.size())
+                    : catalogue.size();
+        }
+
+        public int selectCost(DroneCatalogue catalogue) {
+            return catalogue.size() + words(catalogue);
+        }
+
+        public BitSet select(DroneCatalogue catalogue) {
+            BitSet result = catalogue.withCapability();
+            for (int i = result.nextSetBit(0); i >= 0; i = result.nextSetBit(i + 1)) {
+                if (!test(catalogue, i)) {
+                    result.clear(i);
+                }
+            }
+            return result;
+        }
+
+        public boolean test(DroneCatalogue catalogue, int ordinal) {
+            if (!catalogue.hasCapability(ordinal)) return false;
+            Drone drone = catalogue.get(ordinal);
+            String value = attribute == DroneAttribute.ID ? drone.getId() : drone.getName();
+            return value != null && value.equalsIgnoreCase(text);
+        }
+    }
+
+    private static int words(DroneCatalogue catalogue) {
+        return (catalogue.size() + 63) >>> 6;
+    }
+}
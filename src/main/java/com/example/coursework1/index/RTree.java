@@ -0,0 +1,156 @@
+package com.example.coursework1.index;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Static R-tree over item ordinals and their bounding boxes, bulk-loaded with
+ * Sort-Tile-Recursive packing. It is immutable once built, so a new tree is
+ * packed per snapshot instead of supporting inserts.
+ */
+public final class RTree {
+
+    static final int NODE_CAPACITY = 16;
+
+    private static final class Node {
+        final double minX, minY, maxX, maxY;
+        final Node[] children;
+        final int item;
+
+        Node(double minX, double minY, double maxX, double maxY, int item) {
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+            this.children = null;
+            this.item = item;
+        }
+
+        Node(Node[] children) {
+            double loX = Double.POSITIVE_INFINITY, loY = Double.POSITIVE_INFINITY;
+            double hiX = Double.NEGATIVE_INFINITY, hiY = Double.NEGATIVE_INFINITY;
+            for (Node child : children) {
+                loX = Math.min(loX, child.minX);
+                loY = Math.min(loY, child.minY);
+                hiX = Math.max(hiX, child.maxX);
+                hiY = Math.max(hiY, child.maxY);
+            }
+            this.minX = loX;
+            this.minY = loY;
+            this.maxX = hiX;
+            this.maxY = hiY;
+            this.children = children;
+            this.item = -1;
+        }
+
+        double centreX() { return (minX + maxX) / 2; }
+        double centreY() { return (minY + maxY) / 2; }
+
+        boolean overlaps(double qMinX, double qMinY, double qMaxX, double qMaxY) {
+            return minX <= qMaxX && qMinX <= maxX && minY <= qMaxY && qMinY <= maxY;
+        }
+    }
+
+    private final Node root;
+    private final int size;
+
+    private RTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * Packs the boxes {@code [minX[i], maxX[i]] x [minY[i], maxY[i]]}; ordinals
+     * whose box is NaN are left out so callers can skip unusable items.
+     */
+    public static RTree build(double[] minX, double[] minY, double[] maxX, double[] maxY) {
+        List<Node> level = new ArrayList<>(minX.length);
+        for (int i = 0; i < minX.length; i++) {
+            if (Double.isNaN(minX[i]) || Double.isNaN(minY[i]) || Double.isNaN(maxX[i]) || Double.isNaN(maxY[i])) {
+                continue;
+            }
+            level.add(new Node(minX[i], minY[i], maxX[i], maxY[i], i));
+        }
+
+        int size = level.size();
+        if (level.isEmpty()) {
+            return new RTree(null, 0);
+        }
+        while (level.size() > 1) {
+            level = pack(level);
+        }
+        return new RTree(level.get(0), size);
+    }
+
+    private static List<Node> pack(List<Node> entries) {
+        int count = entries.size();
+        int parents = (count + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        int slices = (int) Math.ceil(Math.sqrt(parents));
+        int perSlice = slices * NODE_CAPACITY;
+
+        Node[] sorted = entries.toArray(new Node[0]);
+        Arrays.sort(sorted, Comparator.comparingDouble(Node::centreX));
+
+        List<Node> packed = new ArrayList<>(parents);
+        for (int s = 0; s < count; s += perSlice) {
+            int sliceEnd = Math.min(s + perSlice, count);
+            Arrays.sort(sorted, s, sliceEnd, Comparator.comparingDouble(Node::centreY));
+            for (int n = s; n < sliceEnd; n += NODE_CAPACITY) {
+                packed.add(new Node(Arrays.copyOfRange(sorted, n, Math.min(n + NODE_CAPACITY, sliceEnd))));
+            }
+        }
+        return packed;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /** Visits every ordinal whose box overlaps the query box (boundaries inclusive). */
+    public void forEach(double minX, double minY, double maxX, double maxY, IntConsumer visitor) {
+        anyMatch(minX, minY, maxX, maxY, item -> {
+            visitor.accept(item);
+            return false;
+        });
+    }
+
+    /** Like {@link #forEach} but stops at, and reports, the first ordinal the predicate accepts. */
+    public boolean anyMatch(double minX, double minY, double maxX, double maxY, IntPredicate predicate) {
+        return root != null && anyMatch(root, minX, minY, maxX, maxY, predicate);
+    }
+
+    private static boolean anyMatch(Node node, double minX, double minY, double maxX, double maxY,
+                                    IntPredicate predicate) {
+        if (!node.overlaps(minX, minY, maxX, maxY)) {
+            return false;
+        }
+        if (node.children == null) {
+            return predicate.test(node.item);
+        }
+        for (Node child : node.children) {
+            if (anyMatch(child, minX, minY, maxX, maxY, predicate)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Ordinals whose box overlaps the query box, in ascending order. */
+    public int[] search(double minX, double minY, double maxX, double maxY) {
+        int[][] found = {new int[8]};
+        int[] count = {0};
+        forEach(minX, minY, maxX, maxY, item -> {
+            if (count[0] == found[0].length) {
+                found[0] = Arrays.copyOf(found[0], count[0] * 2);
+            }
+            found[0][count[0]++] = item;
+        });
+        int[] result = Arrays.copyOf(found[0], count[0]);
+        Arrays.sort(result);
+        return result;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.coursework1.index;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the value derived from the most recent snapshot key, so indexes are
+ * rebuilt once per snapshot rather than once per request. Builds are guarded by a
+ * {@link ReentrantLock} rather than a monitor so waiting virtual threads unmount.
+ */
+public class SnapshotMemo<V> {
+
+    private record Entry<V>(Object key, V value) {}
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private volatile Entry<V> entry;
+
+    public V get(Object key, Supplier<V> builder) {
+        Entry<V> current = entry;
+        if (current != null && Objects.equals(current.key(), key)) {
+            hits.increment();
+            return current.value();
+        }
+
+        lock.lock();
+        try {
+            current = entry;
+            if (current != null && Objects.equals(current.key(), key)) {
+                hits.increment();
+                return current.value();
+            }
+            misses.increment();
+            V value = builder.get();
+            entry = new Entry<>(key, value);
+            return value;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+}
@@ -0,0 +1,212 @@
+package com.example.coursework1.pathfinding;
+
+import com.example.coursework1.dto.LngLat;
+import com.example.coursework1.model.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Best-first search run from both ends of a leg at once: forwards from the drone
+ * and backwards from the delivery point, each aiming at the other's root. On long
+ * legs each frontier only has to cover about half the distance, and an obstacle
+ * wrapped around one end is escaped from the inside.
+ *
+ * <p>Moves are evaluated lazily, as in {@link JumpPointSearch}: a (node, heading)
+ * pair is queued untested and the collision test runs only when it is popped.
+ * The side with the smaller queue goes next.
+ *
+ * <p>The halves meet when a new node lies within {@link Lattice#CLOSE_THRESHOLD}
+ * of one the other side has reached. Backward positions are never on the forward
+ * lattice, so they are not spliced in. Instead the backward half's headings are
+ * replayed, reversed, from the forward meeting node. The replayed route is offset
+ * from the backward one by less than the close threshold, so every replayed move
+ * is tested again and the end must still be close to the target. A join that
+ * fails either check is dropped and the search carries on.
+ *
+ * <p>Selected as {@code planning.engine=bidirectional}, it only runs on long
+ * legs; see {@link PathfindingEngines}.
+ */
+public final class BidirectionalSearch implements PathfindingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(BidirectionalSearch.class);
+
+    static final int DEFAULT_MAX_STEPS = 120_000;
+    private static final double CELL = Lattice.STEP;
+
+    private final int maxSteps;
+
+    public BidirectionalSearch() {
+        this(DEFAULT_MAX_STEPS);
+    }
+
+    public BidirectionalSearch(int maxSteps) {
+        this.maxSteps = maxSteps;
+    }
+
+    private static final class Node {
+        final double x, y;
+        final int g;
+        final Node parent;
+        final int heading;
+
+        Node(double x, double y, int g, Node parent, int heading) {
+            this.x = x;
+            this.y = y;
+            this.g = g;
+            this.parent = parent;
+            this.heading = heading;
+        }
+    }
+
+    /** A move from {@code node} along {@code heading} that has not been tested yet. */
+    private record Entry(Node node, int heading, double f, double h) {}
+
+    /** One direction of the search, aiming at the other direction's root. */
+    private static final class Frontier {
+        final boolean backward;
+        final double goalX, goalY;
+        final PriorityQueue<Entry> open = new PriorityQueue<>(
+                Comparator.comparingDouble(Entry::f).thenComparingDouble(Entry::h));
+        final Map<Long, Node> reached = new HashMap<>();
+
+        Frontier(Position root, Position goal, boolean backward) {
+            this.backward = backward;
+            this.goalX = goal.getLng();
+            this.goalY = goal.getLat();
+            Node start = new Node(root.getLng(), root.getLat(), 0, null, -1);
+            reached.put(cell(start.x, start.y), start);
+            queueMoves(start);
+        }
+
+        void queueMoves(Node node) {
+            for (int heading = 0; heading < Lattice.HEADINGS; heading++) {
+                double h = Lattice.movesBound(goalX - node.x - Lattice.dx(heading),
+                        goalY - node.y - Lattice.dy(heading));
+                open.add(new Entry(node, heading, node.g + 1 + h, h));
+            }
+        }
+
+        /** Tests the move, or null if it is blocked or lands in a cell already reached. */
+        Node advance(Entry entry, SearchContext context) {
+            Node from = entry.node();
+            double nx = from.x + Lattice.dx(entry.heading()), ny = from.y + Lattice.dy(entry.heading());
+            if (reached.containsKey(cell(nx, ny))) {
+                return null;
+            }
+            boolean blocked = backward
+                    ? context.isBlocked(nx, ny, from.x, from.y)
+                    : context.isBlocked(from.x, from.y, nx, ny);
+            if (blocked) {
+                return null;
+            }
+            Node node = new Node(nx, ny, from.g + 1, from, entry.heading());
+            reached.put(cell(nx, ny), node);
+            return node;
+        }
+
+        /** A reached node within the close threshold of (x, y), or null. */
+        Node near(double x, double y) {
+            long cx = (long) Math.floor(x / CELL), cy = (long) Math.floor(y / CELL);
+            for (long i = cx - 1; i <= cx + 1; i++) {
+                for (long j = cy - 1; j <= cy + 1; j++) {
+                    Node node = reached.get(key(i, j));
+                    if (node != null && Lattice.isClose(x, y, node.x, node.y)) {
+                        return node;
+                    }
+                }
+            }
+            return null;
+        }
+    }
+
+    @Override
+    public List<LngLat> findPath(Position from, Position to, SearchContext context) {
+        if (from == null || to == null) {
+            logger.error("Null position in bidirectional search: from={}, to={}", from, to);
+            return null;
+        }
+        if (Lattice.isClose(from.getLng(), from.getLat(), to.getLng(), to.getLat())) {
+            return new ArrayList<>(List.of(new LngLat(from.getLng(), from.getLat())));
+        }
+
+        Frontier forward = new Frontier(from, to, false);
+        Frontier backward = new Frontier(to, from, true);
+        int budget = maxSteps;
+
+        while (!forward.open.isEmpty() && !backward.open.isEmpty()) {
+            if (--budget < 0) {
+                logger.warn("Bidirectional search exhausted its budget from {} to {}", from, to);
+                return null;
+            }
+            context.iteration();
+
+            Frontier side = forward.open.size() <= backward.open.size() ? forward : backward;
+            Frontier other = side == forward ? backward : forward;
+            Node node = side.advance(side.open.poll(), context);
+            if (node == null) {
+                continue;
+            }
+
+            Node meeting = other.near(node.x, node.y);
+            if (meeting != null) {
+                List<LngLat> path = side == forward
+                        ? join(node, meeting, to, context)
+                        : join(meeting, node, to, context);
+                if (path != null) {
+                    return path;
+                }
+            }
+            side.queueMoves(node);
+        }
+
+        logger.debug("Bidirectional search found no path from {} to {}", from, to);
+        return null;
+    }
+
+    /**
+     * The forward chain to {@code ahead}, then the backward chain from {@code behind}
+     * replayed with reversed headings; null if a replayed move is blocked or the
+     * replay does not end close to the target.
+     */
+    private static List<LngLat> join(Node ahead, Node behind, Position to, SearchContext context) {
+        Deque<Node> chain = new ArrayDeque<>();
+        for (Node node = ahead; node != null; node = node.parent) {
+            chain.push(node);
+        }
+
+        List<LngLat> path = new ArrayList<>(ahead.g + behind.g + 1);
+        for (Node node : chain) {
+            path.add(new LngLat(node.x, node.y));
+        }
+
+        double x = ahead.x, y = ahead.y;
+        for (Node node = behind; node.parent != null; node = node.parent) {
+            int heading = node.heading + Lattice.HEADINGS / 2;
+            double nx = x + Lattice.dx(heading), ny = y + Lattice.dy(heading);
+            if (context.isBlocked(x, y, nx, ny)) {
+                return null;
+            }
+            x = nx;
+            y = ny;
+            path.add(new LngLat(x, y));
+        }
+        return Lattice.isClose(x, y, to.getLng(), to.getLat()) ? path : null;
+    }
+
+    private static long cell(double x, double y) {
+        return key((long) Math.floor(x / CELL), (long) Math.floor(y / CELL));
+    }
+
+    private static long key(long ix, long iy) {
+        return (ix << 32) ^ (iy & 0xffffffffL);
+    }
+}
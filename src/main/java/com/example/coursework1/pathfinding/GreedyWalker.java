@@ -0,0 +1,164 @@
+package com.example.coursework1.pathfinding;
+
+import com.example.coursework1.dto.LngLat;
+import com.example.coursework1.model.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.example.coursework1.pathfinding.Lattice.ANGLE_INCREMENT;
+import static com.example.coursework1.pathfinding.Lattice.CLOSE_THRESHOLD;
+import static com.example.coursework1.pathfinding.Lattice.STEP;
+
+/**
+ * The planner's original walker: step straight at the target and, when that move
+ * is blocked, take the nearest heading that does not stray too far. Cheap in open
+ * airspace but it never backtracks, so it can fail in concave obstacles.
+ */
+public final class GreedyWalker implements PathfindingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(GreedyWalker.class);
+
+    static final int MAX_PATH_ITERATIONS = 30000;
+
+    private final int maxIterations;
+
+    public GreedyWalker() {
+        this(MAX_PATH_ITERATIONS);
+    }
+
+    public GreedyWalker(int maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+
+    @Override
+    public List<LngLat> findPath(Position from, Position to, SearchContext context) {
+        if (from == null || to == null) {
+            logger.error("Null position in buildPath: from={}, to={}", from, to);
+            return null;
+        }
+
+        double totalDistance = Lattice.distance(from, to);
+        logger.debug("Building path from {} to {}, distance={}", from, to, totalDistance);
+
+        List<LngLat> path = new ArrayList<>();
+        path.add(new LngLat(from.getLng(), from.getLat()));
+
+        Position current = new Position(from.getLng(), from.getLat());
+        int iterations = 0;
+        int consecutiveBlocked = 0;
+
+        while (!isCloseEnough(current, to) && iterations < maxIterations) {
+            iterations++;
+            context.iteration();
+
+            double targetAngle = Lattice.angle(current, to);
+            Position nextDirect = Lattice.move(current, targetAngle);
+
+            double distanceToTarget = Lattice.distance(current, to);
+            if (distanceToTarget < STEP * 5 && iterations % 50 == 0) {
+                logger.debug("Getting close to target: distance={}, iteration={}",
+                        distanceToTarget, iterations);
+            }
+
+            if (!blocked(context, current, nextDirect)) {
+                current = nextDirect;
+                path.add(new LngLat(current.getLng(), current.getLat()));
+                consecutiveBlocked = 0;
+            } else {
+                logger.trace("Direct path blocked at iteration {}, trying alternatives", iterations);
+
+                Position nextPos = findAlternativeMove(context, current, to, targetAngle);
+
+                if (nextPos == null) {
+                    logger.warn("No alternative move found at iteration {} (distance to target: {})",
+                            iterations, distanceToTarget);
+
+                    if (distanceToTarget < CLOSE_THRESHOLD * 1.5) {
+                        logger.debug("Close enough to target, accepting current position");
+                        break;
+                    }
+
+                    return null;
+                }
+
+                current = nextPos;
+                path.add(new LngLat(current.getLng(), current.getLat()));
+                consecutiveBlocked++;
+
+                if (consecutiveBlocked > 30) {
+                    logger.warn("Blocked {} consecutive times, may be stuck", consecutiveBlocked);
+                }
+            }
+
+            if (iterations % 2000 == 0) {
+                logger.debug("Pathfinding iteration {}, distance remaining: {}, consecutive blocked: {}",
+                        iterations, Lattice.distance(current, to), consecutiveBlocked);
+            }
+        }
+
+        if (iterations >= maxIterations) {
+            logger.warn("Exceeded max iterations building path from {} to {}", from, to);
+            return null;
+        }
+
+        double finalDistance = Lattice.distance(current, to);
+        logger.debug("Path built with {} steps, final position {}, distance to target: {}",
+                path.size(), current, finalDistance);
+
+        return path;
+    }
+
+    private Position findAlternativeMove(SearchContext context, Position current, Position target,
+                                         double targetAngle) {
+        double[] offsets = {
+                -ANGLE_INCREMENT, ANGLE_INCREMENT,
+                -2*ANGLE_INCREMENT, 2*ANGLE_INCREMENT,
+                -3*ANGLE_INCREMENT, 3*ANGLE_INCREMENT,
+                -4*ANGLE_INCREMENT, 4*ANGLE_INCREMENT,
+                -5*ANGLE_INCREMENT, 5*ANGLE_INCREMENT
+        };
+
+        for (double offset : offsets) {
+            double testAngle = Lattice.snap(targetAngle + offset);
+            Position testPos = Lattice.move(current, testAngle);
+
+            if (!blocked(context, current, testPos)) {
+                double distBefore = Lattice.distance(current, target);
+                double distAfter = Lattice.distance(testPos, target);
+
+                if (distAfter <= distBefore * 1.8) {
+                    return testPos;
+                }
+            }
+        }
+
+        Position bestPos = null;
+        double bestDist = Double.POSITIVE_INFINITY;
+
+        for (int i = 0; i < Lattice.HEADINGS; i++) {
+            double testAngle = i * ANGLE_INCREMENT;
+            Position testPos = Lattice.move(current, testAngle);
+
+            if (!blocked(context, current, testPos)) {
+                double distToTarget = Lattice.distance(testPos, target);
+                if (distToTarget < bestDist) {
+                    bestDist = distToTarget;
+                    bestPos = testPos;
+                }
+            }
+        }
+
+        return bestPos;
+    }
+
+    private static boolean blocked(SearchContext context, Position from, Position to) {
+        return context.isBlocked(from.getLng(), from.getLat(), to.getLng(), to.getLat());
+    }
+
+    private static boolean isCloseEnough(Position p1, Position p2) {
+        return Lattice.distance(p1, p2) < CLOSE_THRESHOLD;
+    }
+}
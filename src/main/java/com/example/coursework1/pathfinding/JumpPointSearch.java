@@ -0,0 +1,260 @@
+package com.example.coursework1.pathfinding;
+
+import com.example.coursework1.dto.LngLat;
+import com.example.coursework1.model.Position;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Jump Point Search adapted to the 16-heading move model. Open airspace is
+ * uniform, so a straight run is not queued position by position. It continues
+ * until one of these happens:
+ * <ul>
+ *   <li>it reaches the target;</li>
+ *   <li>it is blocked;</li>
+ *   <li>the target comes onto the ray of a neighbouring heading, the point
+ *       where an optimal two-heading route turns;</li>
+ *   <li>an obstacle beside it ends (a forced neighbour).</li>
+ * </ul>
+ * Only those jump points enter the open set. As in grid JPS, a jump point then
+ * expands only the headings its reason calls for, not all sixteen.
+ *
+ * <p>Positions along different headings never coincide exactly, so the closed
+ * set is keyed by a grid one step wide. Jumps are evaluated lazily: a (node,
+ * heading) pair is queued with the optimistic cost of its first move and walked
+ * only when popped. The heuristic is the fewest moves that cover the remaining
+ * displacement with the two headings either side of it. That is exact in open
+ * airspace, so the search goes straight for the target instead of fanning out
+ * across a band of near-equal straight-line estimates.
+ */
+public final class JumpPointSearch implements PathfindingEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(JumpPointSearch.class);
+
+    static final int MAX_JUMP = 64;
+    static final int DEFAULT_MAX_STEPS = 120_000;
+    private static final double CELL = Lattice.STEP;
+
+    private static final int START = 0;
+    private static final int TURN = 1;
+    private static final int BLOCKED = 2;
+    private static final int FORCED_LEFT = 4;
+    private static final int FORCED_RIGHT = 8;
+    private static final int RUN_END = 16;
+
+    private final int maxSteps;
+
+    public JumpPointSearch() {
+        this(DEFAULT_MAX_STEPS);
+    }
+
+    public JumpPointSearch(int maxSteps) {
+        this.maxSteps = maxSteps;
+    }
+
+    private static final class Node {
+        final double x, y;
+        final int g;
+        final Node parent;
+        final int heading;
+        final int steps;
+        final int reason;
+
+        Node(double x, double y, int g, Node parent, int heading, int steps, int reason) {
+            this.x = x;
+            this.y = y;
+            this.g = g;
+            this.parent = parent;
+            this.heading = heading;
+            this.steps = steps;
+            this.reason = reason;
+        }
+
+        Node jumped(double x, double y, int heading, int steps, int reason) {
+            return new Node(x, y, g + steps, this, heading, steps, reason);
+        }
+    }
+
+    /** A queued node (heading &lt; 0) or a jump from it not yet walked. */
+    private record Entry(Node node, int heading, double f, double h) {}
+
+    @Override
+    public List<LngLat> findPath(Position from, Position to, SearchContext context) {
+        if (from == null || to == null) {
+            logger.error("Null position in jump point search: from={}, to={}", from, to);
+            return null;
+        }
+
+        double tx = to.getLng(), ty = to.getLat();
+        PriorityQueue<Entry> open = new PriorityQueue<>(
+                Comparator.comparingDouble(Entry::f).thenComparingDouble(Entry::h));
+        Set<Long> closed = new HashSet<>();
+        int[] budget = {maxSteps};
+
+        Node start = new Node(from.getLng(), from.getLat(), 0, null, -1, 0, START);
+        open.add(entry(start, -1, tx, ty));
+
+        while (!open.isEmpty()) {
+            Entry entry = open.poll();
+            Node node = entry.node();
+
+            if (entry.heading() >= 0) {
+                Node jumpPoint = jump(node, entry.heading(), tx, ty, context, budget);
+                if (budget[0] < 0) {
+                    logger.warn("Jump point search exhausted its budget from {} to {}", from, to);
+                    return null;
+                }
+                if (jumpPoint != null && !closed.contains(cell(jumpPoint.x, jumpPoint.y))) {
+                    open.add(entry(jumpPoint, -1, tx, ty));
+                }
+                continue;
+            }
+
+            if (Lattice.isClose(node.x, node.y, tx, ty)) {
+                return replay(node);
+            }
+            if (!closed.add(cell(node.x, node.y))) {
+                continue;
+            }
+
+            for (int heading = 0; heading < Lattice.HEADINGS; heading++) {
+                if (expands(node, heading)) {
+                    open.add(entry(node, heading, tx, ty));
+                }
+            }
+        }
+
+        logger.debug("Jump point search found no path from {} to {}", from, to);
+        return null;
+    }
+
+    private static Entry entry(Node node, int heading, double tx, double ty) {
+        double x = node.x, y = node.y;
+        int g = node.g;
+        if (heading >= 0) {
+            x += Lattice.dx(heading);
+            y += Lattice.dy(heading);
+            g++;
+        }
+        double h = Lattice.movesBound(tx - x, ty - y);
+        return new Entry(node, heading, g + h, h);
+    }
+
+    /** Whether a jump point continues along {@code heading}, given why its run stopped. */
+    private static boolean expands(Node node, int heading) {
+        if (node.reason == START) {
+            return true;
+        }
+
+        int turn = Math.floorMod(heading - node.heading + Lattice.HEADINGS / 2, Lattice.HEADINGS)
+                - Lattice.HEADINGS / 2;
+        if (Math.abs(turn) > 5) {
+            return false;
+        }
+        return ((node.reason & TURN) != 0 && Math.abs(turn) <= 2)
+                || ((node.reason & BLOCKED) != 0 && turn != 0)
+                || ((node.reason & FORCED_LEFT) != 0 && turn >= 0 && turn <= 4)
+                || ((node.reason & FORCED_RIGHT) != 0 && turn <= 0 && turn >= -4)
+                || ((node.reason & RUN_END) != 0 && turn == 0);
+    }
+
+    private static Node jump(Node node, int heading, double tx, double ty, SearchContext context, int[] budget) {
+        double dx = Lattice.dx(heading), dy = Lattice.dy(heading);
+        double ldx = Lattice.dx(heading + 2), ldy = Lattice.dy(heading + 2);
+        double rdx = Lattice.dx(heading - 2), rdy = Lattice.dy(heading - 2);
+        double l1x = Lattice.dx(heading + 1), l1y = Lattice.dy(heading + 1);
+        double r1x = Lattice.dx(heading - 1), r1y = Lattice.dy(heading - 1);
+
+        double x = node.x, y = node.y;
+        double distance = Lattice.distance(x, y, tx, ty);
+        boolean approaching = false;
+        boolean leftBlocked = false, rightBlocked = false;
+
+        for (int step = 1; step <= MAX_JUMP; step++) {
+            if (--budget[0] < 0) {
+                return null;
+            }
+            context.iteration();
+
+            double nx = x + dx, ny = y + dy;
+            if (context.isBlocked(x, y, nx, ny)) {
+                return step > 1 ? node.jumped(x, y, heading, step - 1, BLOCKED) : null;
+            }
+
+            double next = Lattice.distance(nx, ny, tx, ty);
+            if (next < Lattice.CLOSE_THRESHOLD) {
+                return node.jumped(nx, ny, heading, step, TURN);
+            }
+            if (step == 1) {
+                approaching = next < distance;
+            } else if (approaching && next > distance) {
+                return node.jumped(x, y, heading, step - 1, TURN);
+            }
+            if (crossesRay(l1x, l1y, x, y, nx, ny, tx, ty) || crossesRay(r1x, r1y, x, y, nx, ny, tx, ty)) {
+                return node.jumped(nx, ny, heading, step, TURN);
+            }
+
+            boolean left = context.isBlocked(nx, ny, nx + ldx, ny + ldy);
+            boolean right = context.isBlocked(nx, ny, nx + rdx, ny + rdy);
+            int forced = (leftBlocked && !left ? FORCED_LEFT : 0) | (rightBlocked && !right ? FORCED_RIGHT : 0);
+            if (step > 1 && forced != 0) {
+                return node.jumped(nx, ny, heading, step, forced);
+            }
+
+            leftBlocked = left;
+            rightBlocked = right;
+            x = nx;
+            y = ny;
+            distance = next;
+        }
+        return node.jumped(x, y, heading, MAX_JUMP, RUN_END);
+    }
+
+    /**
+     * Whether moving from p to n carried the target across the ray along direction
+     * (rx, ry), with the target ahead on that ray.
+     */
+    private static boolean crossesRay(double rx, double ry, double px, double py, double nx, double ny,
+                                      double tx, double ty) {
+        double before = rx * (ty - py) - ry * (tx - px);
+        double after = rx * (ty - ny) - ry * (tx - nx);
+        return (before > 0) != (after > 0) && rx * (tx - nx) + ry * (ty - ny) > 0;
+    }
+
+    /** Expands the chain of jump points back into single moves, recomputed exactly as they were searched. */
+    private static List<LngLat> replay(Node goal) {
+        Deque<Node> chain = new ArrayDeque<>();
+        for (Node node = goal; node != null; node = node.parent) {
+            chain.push(node);
+        }
+
+        List<LngLat> path = new ArrayList<>(goal.g + 1);
+        Node start = chain.pop();
+        double x = start.x, y = start.y;
+        path.add(new LngLat(x, y));
+        for (Node node : chain) {
+            double dx = Lattice.dx(node.heading), dy = Lattice.dy(node.heading);
+            for (int step = 0; step < node.steps; step++) {
+                x += dx;
+                y += dy;
+                path.add(new LngLat(x, y));
+            }
+        }
+        return path;
+    }
+
+    private static long cell(double x, double y) {
+        long ix = (long) Math.floor(x / CELL);
+        long iy = (long) Math.floor(y / CELL);
+        return (ix << 32) ^ (iy & 0xffffffffL);
+    }
+}
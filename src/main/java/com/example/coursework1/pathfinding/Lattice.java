@@ -0,0 +1,85 @@
+package com.example.coursework1.pathfinding;
+
+import com.example.coursework1.model.Position;
+
+/**
+ * The drone move model shared by the planner and {@code NavigationService}: every
+ * move is {@link #STEP} degrees along one of 16 headings, 22.5 degrees apart,
+ * with heading 0 pointing east. Offsets are computed exactly as a single move is,
+ * so positions replayed from headings match the ones checked during search.
+ */
+public final class Lattice {
+
+    public static final double STEP = 0.00015;
+    public static final double ANGLE_INCREMENT = 22.5;
+    public static final int HEADINGS = 16;
+    public static final double CLOSE_THRESHOLD = 0.00015;
+
+    private static final double[] DX = new double[HEADINGS];
+    private static final double[] DY = new double[HEADINGS];
+
+    static {
+        for (int h = 0; h < HEADINGS; h++) {
+            double angleRad = Math.toRadians(h * ANGLE_INCREMENT);
+            DX[h] = STEP * Math.cos(angleRad);
+            DY[h] = STEP * Math.sin(angleRad);
+        }
+    }
+
+    private Lattice() {}
+
+    public static double dx(int heading) {
+        return DX[Math.floorMod(heading, HEADINGS)];
+    }
+
+    public static double dy(int heading) {
+        return DY[Math.floorMod(heading, HEADINGS)];
+    }
+
+    public static Position move(Position from, double angleDegrees) {
+        double angleRad = Math.toRadians(angleDegrees);
+        return new Position(from.getLng() + STEP * Math.cos(angleRad), from.getLat() + STEP * Math.sin(angleRad));
+    }
+
+    /** Heading from one position towards another, snapped to the nearest multiple of 22.5 degrees. */
+    public static double angle(Position from, Position to) {
+        double dx = to.getLng() - from.getLng();
+        double dy = to.getLat() - from.getLat();
+        return snap(Math.toDegrees(Math.atan2(dy, dx)));
+    }
+
+    public static double snap(double angle) {
+        while (angle < 0) angle += 360;
+        while (angle >= 360) angle -= 360;
+        return Math.round(angle / ANGLE_INCREMENT) * ANGLE_INCREMENT;
+    }
+
+    public static double distance(double ax, double ay, double bx, double by) {
+        double dx = ax - bx;
+        double dy = ay - by;
+        return Math.sqrt(dx * dx + dy * dy);
+    }
+
+    public static double distance(Position a, Position b) {
+        return distance(a.getLng(), a.getLat(), b.getLng(), b.getLat());
+    }
+
+    public static boolean isClose(double ax, double ay, double bx, double by) {
+        return distance(ax, ay, bx, by) < CLOSE_THRESHOLD;
+    }
+
+    /**
+     * Fewest moves, as a real number, that cover the displacement (dx, dy) using the
+     * two headings either side of its bearing. No route can use fewer, and in open
+     * airspace a route meets the bound to within one move.
+     */
+    public static double movesBound(double dx, double dy) {
+        double distance = Math.sqrt(dx * dx + dy * dy);
+        if (distance == 0) {
+            return 0;
+        }
+        double sector = Math.toRadians(ANGLE_INCREMENT);
+        double offset = (Math.atan2(dy, dx) + 2 * Math.PI) % sector;
+        return distance * (Math.sin(sector - offset) + Math.sin(offset)) / Math.sin(sector) / STEP;
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.coursework1.pathfinding;
+
+import com.example.coursework1.dto.LngLat;
+import com.example.coursework1.model.Position;
+
+import java.util.List;
+
+/**
+ * Sends legs of at least {@code minMoves} moves to one engine and shorter legs to
+ * another. A search that pays a fixed overhead per leg, such as the second
+ * frontier of {@link BidirectionalSearch}, only earns it back on long legs.
+ */
+final class LegLengthSwitch implements PathfindingEngine {
+
+    private final int minMoves;
+    private final PathfindingEngine shortLegs;
+    private final PathfindingEngine longLegs;
+
+    LegLengthSwitch(int minMoves, PathfindingEngine shortLegs, PathfindingEngine longLegs) {
+        this.minMoves = minMoves;
+        this.shortLegs = shortLegs;
+        this.longLegs = longLegs;
+    }
+
+    @Override
+    public List<LngLat> findPath(Position from, Position to, SearchContext context) {
+        boolean longLeg = from != null && to != null
+                && Lattice.movesBound(to.getLng() - from.getLng(), to.getLat() - from.getLat()) >= minMoves;
+        return (longLeg ? longLegs : shortLegs).findPath(from, to, context);
+    }
+}
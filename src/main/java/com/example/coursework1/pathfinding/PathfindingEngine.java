@@ -0,0 +1,17 @@
+package com.example.coursework1.pathfinding;
+
+import com.example.coursework1.dto.LngLat;
+import com.example.coursework1.model.Position;
+
+import java.util.List;
+
+/** Finds a leg of lattice moves that avoids the obstacles seen through a {@link SearchContext}. */
+public interface PathfindingEngine {
+
+    /**
+     * Positions from {@code from} (included) to within {@link Lattice#CLOSE_THRESHOLD}
+     * of {@code to}, each one {@link Lattice#STEP} from the previous, or null when
+     * no path was found within the engine's budget.
+     */
+    List<LngLat> findPath(Position from, Position to, SearchContext context);
+}
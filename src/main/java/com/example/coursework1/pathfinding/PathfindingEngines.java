@@ -0,0 +1,26 @@
+package com.example.coursework1.pathfinding;
+
+import java.util.Locale;
+
+/**
+ * Engines selectable through {@code planning.engine}. The bidirectional engine
+ * searches legs of {@value #BIDIRECTIONAL_MIN_MOVES} moves or more and leaves
+ * shorter ones to the greedy walker.
+ */
+public final class PathfindingEngines {
+
+    static final int BIDIRECTIONAL_MIN_MOVES = 50;
+
+    private PathfindingEngines() {}
+
+    public static PathfindingEngine named(String name) {
+        String key = name == null || name.isBlank() ? "greedy" : name.trim().toLowerCase(Locale.ROOT);
+        return switch (key) {
+            case "greedy" -> new GreedyWalker();
+            case "jps" -> new JumpPointSearch();
+            case "bidirectional" -> new LegLengthSwitch(BIDIRECTIONAL_MIN_MOVES,
+                    new GreedyWalker(), new BidirectionalSearch());
+            default -> throw new IllegalArgumentException("Unknown pathfinding engine: " + name);
+        };
+    }
+}
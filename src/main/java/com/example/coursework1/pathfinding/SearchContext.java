@@ -0,0 +1,13 @@
+package com.example.coursework1.pathfinding;
+
+/**
+ * What a {@link PathfindingEngine} needs from the planner: collision tests for
+ * single moves and a hook called once per search iteration, which may throw
+ * {@link java.util.concurrent.CancellationException} to abandon the search.
+ */
+public interface SearchContext {
+
+    boolean isBlocked(double fromX, double fromY, double toX, double toY);
+
+    default void iteration() {}
+}
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -20,60 +21,71 @@ public class DroneRepository {
     private final RestTemplate restTemplate;
     private final String ilpEndpoint;
 
-    public DroneRepository(RestTemplate restTemplate, String ilpEndpoint) {
+    private final SnapshotCache<List<Drone>> dronesCache;
+    private final SnapshotCache<List<ServicePointDrones>> servicePointDronesCache;
+
+    public DroneRepository(RestTemplate restTemplate, String ilpEndpoint,
+                           SnapshotCacheFactory snapshotCacheFactory) {
         this.restTemplate = restTemplate;
         this.ilpEndpoint = ilpEndpoint.endsWith("/") ? ilpEndpoint : ilpEndpoint + "/";
+        this.dronesCache = snapshotCacheFactory.create("drones", this::loadDrones, List.of());
+        this.servicePointDronesCache = snapshotCacheFactory.create(
+                "drones-for-service-points", this::loadDronesForServicePoints, List.of());
     }
 
     public List<Drone> fetchAllDrones() {
-        try {
-            String url = ilpEndpoint + "drones";
-            logger.debug("Fetching drones from: {}", url);
-
-            Drone[] drones = restTemplate.getForObject(url, Drone[].class);
-
-            if (drones == null) {
-                logger.warn("Received null drones array from ILP service");
-                return List.of();
-            }
-
-            logger.info("Successfully fetched {} drones", drones.length);
-            return Arrays.asList(drones);
-        } catch (Exception e) {
-            logger.error("Failed to fetch drones from ILP service", e);
-            return List.of();
-        }
+        return dronesCache.get().getValue();
+    }
+
+    public Snapshot<List<Drone>> droneSnapshot() {
+        return dronesCache.get();
     }
 
     public List<ServicePointDrones> fetchDronesForServicePoints() {
-        try {
-            String url = ilpEndpoint + "drones-for-service-points";
-            logger.debug("Fetching drones-for-service-points from: {}", url);
-
-            ResponseEntity<List<ServicePointDrones>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<ServicePointDrones>>() {}
-            );
-
-            List<ServicePointDrones> data = response.getBody();
-
-            if (data == null) {
-                logger.warn("Received null drones-for-service-points from ILP service");
-                return List.of();
-            }
-
-            int totalDrones = data.stream()
-                    .mapToInt(sp -> sp.getDrones() != null ? sp.getDrones().size() : 0)
-                    .sum();
-
-            logger.info("Successfully fetched {} service points with {} total drones",
-                    data.size(), totalDrones);
-            return data;
-        } catch (Exception e) {
-            logger.error("Failed to fetch drones-for-service-points from ILP service", e);
-            return List.of();
+        return servicePointDronesCache.get().getValue();
+    }
+
+    public Snapshot<List<ServicePointDrones>> servicePointDronesSnapshot() {
+        return servicePointDronesCache.get();
+    }
+
+    private List<Drone> loadDrones() {
+        String url = ilpEndpoint + "drones";
+        logger.debug("Fetching drones from: {}", url);
+
+        Drone[] drones = restTemplate.getForObject(url, Drone[].class);
+
+        if (drones == null) {
+            throw new IllegalStateException("Received null drones array from ILP service");
         }
+
+        logger.info("Successfully fetched {} drones", drones.length);
+        return Collections.unmodifiableList(Arrays.asList(drones));
+    }
+
+    private List<ServicePointDrones> loadDronesForServicePoints() {
+        String url = ilpEndpoint + "drones-for-service-points";
+        logger.debug("Fetching drones-for-service-points from: {}", url);
+
+        ResponseEntity<List<ServicePointDrones>> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<ServicePointDrones>>() {}
+        );
+
+        List<ServicePointDrones> data = response.getBody();
+
+        if (data == null) {
+            throw new IllegalStateException("Received null drones-for-service-points from ILP service");
+        }
+
+        int totalDrones = data.stream()
+                .mapToInt(sp -> sp.getDrones() != null ? sp.getDrones().size() : 0)
+                .sum();
+
+        logger.info("Successfully fetched {} service points with {} total drones",
+                data.size(), totalDrones);
+        return Collections.unmodifiableList(data);
     }
-}
\ No newline at end of file
+}
@@ -9,7 +9,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Repository;
 import org.springframework.web.client.RestTemplate;
 
-import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -19,47 +19,47 @@ public class RestrictedAreaRepository {
     private final RestTemplate restTemplate;
     private final String ilpEndpoint;
 
-    private List<RestrictedArea> cachedRestrictedAreas = null;
+    private final SnapshotCache<List<RestrictedArea>> restrictedAreasCache;
 
-    public RestrictedAreaRepository(RestTemplate restTemplate, String ilpEndpoint) {
+    public RestrictedAreaRepository(RestTemplate restTemplate, String ilpEndpoint,
+                                    SnapshotCacheFactory snapshotCacheFactory) {
         this.restTemplate = restTemplate;
         this.ilpEndpoint = ilpEndpoint.endsWith("/") ? ilpEndpoint : ilpEndpoint + "/";
+        this.restrictedAreasCache = snapshotCacheFactory.create(
+                "restricted-areas", this::loadRestrictedAreas, List.of());
     }
 
     public List<RestrictedArea> fetchRestrictedAreas() {
-        if (cachedRestrictedAreas != null) {
-            logger.debug("Returning cached restricted areas");
-            return cachedRestrictedAreas;
-        }
+        return restrictedAreasCache.get().getValue();
+    }
 
-        try {
-            String url = ilpEndpoint + "restricted-areas";
-            logger.debug("Fetching restricted areas from: {}", url);
+    public Snapshot<List<RestrictedArea>> restrictedAreaSnapshot() {
+        return restrictedAreasCache.get();
+    }
 
-            ResponseEntity<List<RestrictedArea>> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.GET,
-                    null,
-                    new ParameterizedTypeReference<List<RestrictedArea>>() {}
-            );
+    private List<RestrictedArea> loadRestrictedAreas() {
+        String url = ilpEndpoint + "restricted-areas";
+        logger.debug("Fetching restricted areas from: {}", url);
 
-            cachedRestrictedAreas = response.getBody();
+        ResponseEntity<List<RestrictedArea>> response = restTemplate.exchange(
+                url,
+                HttpMethod.GET,
+                null,
+                new ParameterizedTypeReference<List<RestrictedArea>>() {}
+        );
 
-            if (cachedRestrictedAreas == null) {
-                logger.warn("Received null restricted areas from ILP service");
-                cachedRestrictedAreas = new ArrayList<>();
-            }
+        List<RestrictedArea> areas = response.getBody();
 
-            logger.info("Successfully fetched {} restricted areas", cachedRestrictedAreas.size());
-            return cachedRestrictedAreas;
-        } catch (Exception e) {
-            logger.error("Failed to fetch restricted areas from ILP service", e);
-            return new ArrayList<>();
+        if (areas == null) {
+            throw new IllegalStateException("Received null restricted areas from ILP service");
         }
+
+        logger.info("Successfully fetched {} restricted areas", areas.size());
+        return Collections.unmodifiableList(areas);
     }
 
     public void clearCache() {
-        logger.info("Clearing restricted areas cache");
-        cachedRestrictedAreas = null;
+        logger.info("Invalidating restricted areas snapshot");
+        restrictedAreasCache.invalidate();
     }
-}
\ No newline at end of file
+}
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Repository;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 @Repository
@@ -16,28 +17,31 @@ public class ServicePointRepository {
     private final RestTemplate restTemplate;
     private final String ilpEndpoint;
 
-    public ServicePointRepository(RestTemplate restTemplate, String ilpEndpoint) {
+    private final SnapshotCache<List<ServicePoint>> servicePointsCache;
+
+    public ServicePointRepository(RestTemplate restTemplate, String ilpEndpoint,
+                                  SnapshotCacheFactory snapshotCacheFactory) {
         this.restTemplate = restTemplate;
         this.ilpEndpoint = ilpEndpoint.endsWith("/") ? ilpEndpoint : ilpEndpoint + "/";
+        this.servicePointsCache = snapshotCacheFactory.create(
+                "service-points", this::loadServicePoints, List.of());
     }
 
     public List<ServicePoint> fetchAllServicePoints() {
-        try {
-            String url = ilpEndpoint + "service-points";
-            logger.debug("Fetching service points from: {}", url);
-
-            ServicePoint[] points = restTemplate.getForObject(url, ServicePoint[].class);
-
-            if (points == null) {
-                logger.warn("Received null service points array from ILP service");
-                return List.of();
-            }
-
-            logger.info("Successfully fetched {} service points", points.length);
-            return Arrays.asList(points);
-        } catch (Exception e) {
-            logger.error("Failed to fetch service points from ILP service", e);
-            return List.of();
+        return servicePointsCache.get().getValue();
+    }
+
+    private List<ServicePoint> loadServicePoints() {
+        String url = ilpEndpoint + "service-points";
+        logger.debug("Fetching service points from: {}", url);
+
+        ServicePoint[] points = restTemplate.getForObject(url, ServicePoint[].class);
+
+        if (points == null) {
+            throw new IllegalStateException("Received null service points array from ILP service");
         }
+
+        logger.info("Successfully fetched {} service points", points.length);
+        return Collections.unmodifiableList(Arrays.asList(points));
     }
-}
\ No newline at end of file
+}
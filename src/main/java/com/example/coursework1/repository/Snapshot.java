@@ -0,0 +1,30 @@
+package com.example.coursework1.repository;
+
+public final class Snapshot<T> {
+
+    private final T value;
+    private final long version;
+    private final long fetchedAtMillis;
+
+    public Snapshot(T value, long version, long fetchedAtMillis) {
+        this.value = value;
+        this.version = version;
+        this.fetchedAtMillis = fetchedAtMillis;
+    }
+
+    public static <T> Snapshot<T> empty(T emptyValue) {
+        return new Snapshot<>(emptyValue, 0L, 0L);
+    }
+
+    public T getValue() { return value; }
+    public long getVersion() { return version; }
+    public long getFetchedAtMillis() { return fetchedAtMillis; }
+
+    public boolean isEmpty() {
+        return version == 0L;
+    }
+
+    public long ageMillis(long nowMillis) {
+        return nowMillis - fetchedAtMillis;
+    }
+}
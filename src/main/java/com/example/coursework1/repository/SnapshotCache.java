@@ -0,0 +1,153 @@
+package com.example.coursework1.repository;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+
+/**
+ * Holds the last good snapshot of an ILP endpoint and serves it while a single
+ * background task revalidates it. Only the very first load blocks, and only up
+ * to {@code initialLoadTimeoutMillis}.
+ */
+public class SnapshotCache<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotCache.class);
+
+    private final String name;
+    private final Callable<T> loader;
+    private final T emptyValue;
+    private final CircuitBreaker circuitBreaker;
+    private final Executor executor;
+    private final long refreshAfterMillis;
+    private final long initialLoadTimeoutMillis;
+    private final LongSupplier clock;
+
+    private final AtomicReference<Snapshot<T>> current = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<Snapshot<T>>> inFlight = new AtomicReference<>();
+    private final AtomicLong versions = new AtomicLong();
+    private volatile boolean invalidated;
+
+    public SnapshotCache(String name, Callable<T> loader, T emptyValue, CircuitBreaker circuitBreaker,
+                         Executor executor, long refreshAfterMillis, long initialLoadTimeoutMillis) {
+        this(name, loader, emptyValue, circuitBreaker, executor,
+                refreshAfterMillis, initialLoadTimeoutMillis, System::currentTimeMillis);
+    }
+
+    SnapshotCache(String name, Callable<T> loader, T emptyValue, CircuitBreaker circuitBreaker,
+                  Executor executor, long refreshAfterMillis, long initialLoadTimeoutMillis,
+                  LongSupplier clock) {
+        this.name = name;
+        this.loader = loader;
+        this.emptyValue = emptyValue;
+        this.circuitBreaker = circuitBreaker;
+        this.executor = executor;
+        this.refreshAfterMillis = refreshAfterMillis;
+        this.initialLoadTimeoutMillis = initialLoadTimeoutMillis;
+        this.clock = clock;
+    }
+
+    public Snapshot<T> get() {
+        Snapshot<T> snapshot = current.get();
+        if (snapshot == null) {
+            return awaitFirstSnapshot();
+        }
+
+        if (invalidated || snapshot.ageMillis(clock.getAsLong()) >= refreshAfterMillis) {
+            refreshAsync();
+        }
+        return snapshot;
+    }
+
+    public void invalidate() {
+        invalidated = true;
+    }
+
+    public double stalenessSeconds() {
+        Snapshot<T> snapshot = current.get();
+        if (snapshot == null) {
+            return Double.NaN;
+        }
+        return snapshot.ageMillis(clock.getAsLong()) / 1000.0;
+    }
+
+    public CircuitBreaker getCircuitBreaker() {
+        return circuitBreaker;
+    }
+
+    private Snapshot<T> awaitFirstSnapshot() {
+        CompletableFuture<Snapshot<T>> refresh = refreshAsync();
+        if (refresh == null) {
+            Snapshot<T> snapshot = current.get();
+            if (snapshot != null) {
+                return snapshot;
+            }
+            logger.warn("No {} snapshot available and circuit is {}, serving empty result",
+                    name, circuitBreaker.getState());
+            return Snapshot.empty(emptyValue);
+        }
+
+        try {
+            return refresh.get(initialLoadTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.warn("Timed out after {} ms waiting for first {} snapshot", initialLoadTimeoutMillis, name);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.warn("First {} snapshot could not be loaded: {}", name, e.getCause().getMessage());
+        }
+        return Snapshot.empty(emptyValue);
+    }
+
+    CompletableFuture<Snapshot<T>> refreshAsync() {
+        CompletableFuture<Snapshot<T>> refresh = new CompletableFuture<>();
+        if (!inFlight.compareAndSet(null, refresh)) {
+            return inFlight.get();
+        }
+
+        if (!circuitBreaker.allowRequest()) {
+            inFlight.set(null);
+            return null;
+        }
+
+        try {
+            executor.execute(() -> load(refresh));
+        } catch (RejectedExecutionException e) {
+            inFlight.set(null);
+            refresh.completeExceptionally(e);
+        }
+        return refresh;
+    }
+
+    private void load(CompletableFuture<Snapshot<T>> refresh) {
+        try {
+            T value = loader.call();
+            Snapshot<T> snapshot = new Snapshot<>(value, versions.incrementAndGet(), clock.getAsLong());
+            current.set(snapshot);
+            invalidated = false;
+            circuitBreaker.recordSuccess();
+            inFlight.set(null);
+            refresh.complete(snapshot);
+        } catch (Exception e) {
+            circuitBreaker.recordFailure();
+            Snapshot<T> stale = current.get();
+            if (stale != null) {
+                logger.error("Failed to refresh {} from ILP service, serving snapshot v{} ({} s old)",
+                        name, stale.getVersion(), stale.ageMillis(clock.getAsLong()) / 1000, e);
+            } else {
+                logger.error("Failed to fetch {} from ILP service", name, e);
+            }
+            inFlight.set(null);
+            refresh.completeExceptionally(e);
+        }
+    }
+}
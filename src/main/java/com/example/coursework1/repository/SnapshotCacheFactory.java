@@ -0,0 +1,88 @@
+package com.example.coursework1.repository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+@Component
+public class SnapshotCacheFactory implements DisposableBean {
+
+    private final MeterRegistry meterRegistry;
+    private final ExecutorService refreshExecutor;
+    private final long refreshAfterMillis;
+    private final long initialLoadTimeoutMillis;
+    private final int failureThreshold;
+    private final long openMillis;
+
+    public SnapshotCacheFactory(MeterRegistry meterRegistry,
+                                @Value("${ilp.snapshot.refresh-after-ms:60000}") long refreshAfterMillis,
+                                @Value("${ilp.snapshot.initial-load-timeout-ms:10000}") long initialLoadTimeoutMillis,
+                                @Value("${ilp.circuit.failure-threshold:3}") int failureThreshold,
+                                @Value("${ilp.circuit.open-ms:30000}") long openMillis,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        this.meterRegistry = meterRegistry;
+        this.refreshAfterMillis = refreshAfterMillis;
+        this.initialLoadTimeoutMillis = initialLoadTimeoutMillis;
+        this.failureThreshold = failureThreshold;
+        this.openMillis = openMillis;
+        this.refreshExecutor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ilp-refresh-", 0).factory())
+                : Executors.newCachedThreadPool(Thread.ofPlatform().name("ilp-refresh-", 0).daemon(true).factory());
+    }
+
+    public <T> SnapshotCache<T> create(String endpoint, Callable<T> loader, T emptyValue) {
+        CircuitBreaker circuitBreaker = new CircuitBreaker(endpoint, failureThreshold, openMillis);
+        SnapshotCache<T> cache = new SnapshotCache<>(endpoint, timed(endpoint, loader), emptyValue, circuitBreaker,
+                refreshExecutor, refreshAfterMillis, initialLoadTimeoutMillis);
+
+        Gauge.builder("ilp.snapshot.staleness", cache, SnapshotCache::stalenessSeconds)
+                .description("Age of the last good snapshot served for an ILP endpoint")
+                .baseUnit("seconds")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+        Gauge.builder("ilp.circuit.open", circuitBreaker,
+                        cb -> cb.getState() == CircuitBreaker.State.OPEN ? 1 : 0)
+                .description("Whether the circuit breaker for an ILP endpoint is open")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+
+        return cache;
+    }
+
+    private <T> Callable<T> timed(String endpoint, Callable<T> loader) {
+        Timer success = fetchTimer(endpoint, "success");
+        Timer failure = fetchTimer(endpoint, "failure");
+        return () -> {
+            long start = System.nanoTime();
+            try {
+                T value = loader.call();
+                success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                return value;
+            } catch (Exception e) {
+                failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                throw e;
+            }
+        };
+    }
+
+    private Timer fetchTimer(String endpoint, String outcome) {
+        return Timer.builder("ilp.fetch")
+                .description("Latency of ILP endpoint fetches")
+                .tags("endpoint", endpoint, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+}
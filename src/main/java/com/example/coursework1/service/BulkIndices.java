@@ -0,0 +1,15 @@
+package com.example.coursework1.service;
+
+import java.util.stream.IntStream;
+
+final class BulkIndices {
+
+    static final int PARALLEL_THRESHOLD = 4096;
+
+    private BulkIndices() {}
+
+    static IntStream of(int size) {
+        IntStream indices = IntStream.range(0, size);
+        return size >= PARALLEL_THRESHOLD ? indices.parallel() : indices;
+    }
+}
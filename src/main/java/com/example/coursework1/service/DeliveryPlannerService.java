@@ -1,14 +1,27 @@
 package com.example.coursework1.service;
 
 import com.example.coursework1.dto.*;
+import com.example.coursework1.index.DroneCatalogue;
 import com.example.coursework1.model.Position;
 import com.example.coursework1.model.RestrictedArea;
+import com.example.coursework1.pathfinding.Lattice;
+import com.example.coursework1.pathfinding.PathfindingEngine;
+import com.example.coursework1.pathfinding.PathfindingEngines;
+import com.example.coursework1.pathfinding.SearchContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import java.util.*;
+import java.util.concurrent.CancellationException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.example.coursework1.pathfinding.Lattice.ANGLE_INCREMENT;
+import static com.example.coursework1.pathfinding.Lattice.CLOSE_THRESHOLD;
+import static com.example.coursework1.pathfinding.Lattice.STEP;
 
 @Service
 public class DeliveryPlannerService {
@@ -19,24 +32,96 @@ public class DeliveryPlannerService {
     private final ServicePointService servicePointService;
     private final RestrictedAreaService restrictedAreaService;
     private final DroneAvailabilityService droneAvailabilityService;
+    private final PlannerMetrics plannerMetrics;
 
-    private static final double STEP = 0.00015;
-    private static final double ANGLE_INCREMENT = 22.5;
-    private static final double CLOSE_THRESHOLD = 0.00015;
     private static final double EPS = 1e-12;
     private static final int MAX_PATH_ITERATIONS = 30000;
 
+    private final PathfindingEngine pathfindingEngine;
     public DeliveryPlannerService(DroneService droneService,
                                   ServicePointService servicePointService,
                                   RestrictedAreaService restrictedAreaService,
-                                  DroneAvailabilityService droneAvailabilityService) {
+                                  DroneAvailabilityService droneAvailabilityService,
+                                  PlannerMetrics plannerMetrics,
+                                  @Value("${planning.engine:greedy}") String engine) {
         this.droneService = droneService;
         this.servicePointService = servicePointService;
         this.restrictedAreaService = restrictedAreaService;
         this.droneAvailabilityService = droneAvailabilityService;
+        this.plannerMetrics = plannerMetrics;
+        this.pathfindingEngine = PathfindingEngines.named(engine);
     }
 
     public CalcDeliveryResult calcDeliveryPath(List<MedDispatchRec> dispatches) {
+        return calcDeliveryPath(dispatches, PlanningListener.NONE);
+    }
+
+    /** A key equal for batches that plan identically, for {@link PlanningExecutor#callCoalesced}. */
+    public static String requestKey(List<MedDispatchRec> dispatches) {
+        if (dispatches == null) {
+            return "";
+        }
+        StringBuilder key = new StringBuilder(dispatches.size() * 64);
+        for (MedDispatchRec d : dispatches) {
+            if (d == null) {
+                key.append('\u0003');
+                continue;
+            }
+            appendPart(key, d.getId()).append('\u0000');
+            appendPart(key, d.getDate()).append('\u0000');
+            appendPart(key, d.getTime()).append('\u0000');
+            Requirements req = d.getRequirements();
+            if (req == null) {
+                key.append('\u0002');
+            } else {
+                key.append(req.getCapacity() + 0.0).append('\u0000')
+                        .append(req.isCooling()).append('\u0000')
+                        .append(req.isHeating()).append('\u0000');
+                appendPart(key, req.getMaxCost() == null ? null : req.getMaxCost() + 0.0);
+            }
+            key.append('\u0000');
+            Position delivery = d.getDelivery();
+            if (delivery == null) {
+                key.append('\u0002');
+            } else {
+                appendPart(key, delivery.getLng() == null ? null : delivery.getLng() + 0.0).append('\u0000');
+                appendPart(key, delivery.getLat() == null ? null : delivery.getLat() + 0.0);
+            }
+            key.append('\u0001');
+        }
+        return key.toString();
+    }
+
+    private static StringBuilder appendPart(StringBuilder key, Object part) {
+        return part == null ? key.append('\u0002') : key.append(part);
+    }
+
+    public CalcDeliveryResult calcDeliveryPath(List<MedDispatchRec> dispatches, PlanningListener listener) {
+        return calcDeliveryPath(dispatches, listener, false);
+    }
+
+    /** Plans and attaches a {@link PlanningProfile} of this request to the result. */
+    public CalcDeliveryResult calcDeliveryPathExplained(List<MedDispatchRec> dispatches) {
+        return calcDeliveryPath(dispatches, PlanningListener.NONE, true);
+    }
+
+    private CalcDeliveryResult calcDeliveryPath(List<MedDispatchRec> dispatches, PlanningListener listener,
+                                                boolean explain) {
+        PlanningTrace trace = PlanningTrace.begin(explain);
+        try {
+            CalcDeliveryResult result = plan(dispatches, listener, trace);
+            if (explain) {
+                result.setProfile(trace.toProfile());
+            }
+            return result;
+        } finally {
+            PlanningTrace.end();
+            plannerMetrics.recordPlan(trace);
+        }
+    }
+
+    private CalcDeliveryResult plan(List<MedDispatchRec> dispatches, PlanningListener listener,
+                                    PlanningTrace trace) {
         logger.info("=== Starting calcDeliveryPath for {} dispatches ===",
                 dispatches != null ? dispatches.size() : 0);
 
@@ -65,14 +150,22 @@ public class DeliveryPlannerService {
                 .filter(d -> d != null && d.getId() != null &&
                         d.getRequirements() != null && d.getDelivery() != null)
                 .toList());
+        if (trace.explain && pending.size() < dispatches.size()) {
+            dispatches.stream()
+                    .filter(d -> d != null && !pending.contains(d))
+                    .forEach(d -> trace.skipped(d.getId(), "missing id, requirements or delivery position"));
+        }
 
-        List<Drone> allDrones = droneService.fetchAllDrones();
+        DroneCatalogue catalogue = droneService.catalogue();
+        List<Drone> allDrones = catalogue.getDrones();
         List<ServicePoint> servicePoints = servicePointService.fetchAllServicePoints();
 
         Position defaultBase = servicePoints.isEmpty() ?
                 new Position(0.0, 0.0) : safeGetPosition(servicePoints.get(0));
 
         logger.info("PHASE 1: Checking if any single drone can handle all {} dispatches", pending.size());
+        listener.onPhase("PHASE_1");
+        long phaseStart = System.nanoTime();
         List<String> singleDroneCapable = droneAvailabilityService.queryAvailableDrones(pending);
 
         if (!singleDroneCapable.isEmpty()) {
@@ -87,12 +180,20 @@ public class DeliveryPlannerService {
             for (Drone drone : capableDrones) {
                 logger.info("Attempting single-drone delivery with drone {}", drone.getId());
                 CalcDeliveryResult singleDroneResult = planSingleDroneDelivery(
-                        drone, new ArrayList<>(pending), defaultBase);
+                        drone, new ArrayList<>(pending), defaultBase, trace);
 
                 if (singleDroneResult != null && !singleDroneResult.getDronePaths().isEmpty()) {
                     logger.info("✓ Successfully planned all deliveries with single drone {}!", drone.getId());
                     logger.info("=== Completed: 1 drone, {} moves, ${} cost ===",
                             singleDroneResult.getTotalMoves(), singleDroneResult.getTotalCost());
+                    DronePathResult dronePath = singleDroneResult.getDronePaths().get(0);
+                    listener.onFlightCompleted(new FlightResult(drone.getId(), 1,
+                            singleDroneResult.getTotalMoves(), singleDroneResult.getTotalCost(),
+                            List.copyOf(dronePath.getDeliveries())));
+                    listener.onDronePath(dronePath);
+                    listener.onProgress(new PlanningProgress(
+                            dronePath.getDeliveries().size(), pending.size(), 1));
+                    trace.singleDronePhaseNanos = System.nanoTime() - phaseStart;
                     return singleDroneResult;
                 }
             }
@@ -102,12 +203,20 @@ public class DeliveryPlannerService {
             logger.info("No single drone can handle all dispatches, proceeding with multi-drone strategy");
         }
 
+        trace.singleDronePhaseNanos = System.nanoTime() - phaseStart;
+
         logger.info("PHASE 2: Planning multi-drone delivery");
-        return planMultiDroneDelivery(pending, dispatches, allDrones, defaultBase);
+        listener.onPhase("PHASE_2");
+        phaseStart = System.nanoTime();
+        try {
+            return planMultiDroneDelivery(pending, dispatches, catalogue, defaultBase, listener, trace);
+        } finally {
+            trace.multiDronePhaseNanos = System.nanoTime() - phaseStart;
+        }
     }
 
     private CalcDeliveryResult planSingleDroneDelivery(Drone drone, List<MedDispatchRec> dispatches,
-                                                       Position base) {
+                                                       Position base, PlanningTrace trace) {
         Capability cap = drone.getCapability();
         if (cap == null) return null;
 
@@ -121,12 +230,12 @@ public class DeliveryPlannerService {
             logger.debug("Planning path for delivery {} from {} to {}",
                     dispatch.getId(), current, dest);
 
-            List<LngLat> pathToDest = buildPathAvoidingRestrictions(current, dest);
+            List<LngLat> pathToDest = buildPathAvoidingRestrictions(current, dest, trace);
 
             if (pathToDest == null || pathToDest.isEmpty()) {
                 logger.warn("Failed to find path for delivery {}, trying relaxed", dispatch.getId());
                 diagnoseDeliveryFailure(dispatch, current);
-                pathToDest = buildPathWithRelaxedConstraints(current, dest);
+                pathToDest = buildPathWithRelaxedConstraints(current, dest, trace);
             }
 
             if (pathToDest == null || pathToDest.isEmpty()) {
@@ -167,9 +276,9 @@ public class DeliveryPlannerService {
                     dispatch.getId(), steps, current.getLng(), current.getLat(), closestDist);
         }
 
-        List<LngLat> returnPath = buildPathAvoidingRestrictions(current, base);
+        List<LngLat> returnPath = buildPathAvoidingRestrictions(current, base, trace);
         if (returnPath == null) {
-            returnPath = buildPathWithRelaxedConstraints(current, base);
+            returnPath = buildPathWithRelaxedConstraints(current, base, trace);
         }
 
         if (returnPath == null || returnPath.isEmpty()) {
@@ -207,21 +316,29 @@ public class DeliveryPlannerService {
 
     private CalcDeliveryResult planMultiDroneDelivery(List<MedDispatchRec> pending,
                                                       List<MedDispatchRec> allDispatches,
-                                                      List<Drone> allDrones,
-                                                      Position defaultBase) {
+                                                      DroneCatalogue catalogue,
+                                                      Position defaultBase,
+                                                      PlanningListener listener,
+                                                      PlanningTrace trace) {
         double totalCost = 0.0;
         int totalMoves = 0;
+        int dispatchesTotal = pending.size();
+        int dispatchesAssigned = 0;
         List<DronePathResult> dronePaths = new ArrayList<>();
+        Map<MedDispatchRec, BitSet> eligibleDrones = new IdentityHashMap<>();
 
-        List<Drone> sortedDrones = allDrones.stream()
-                .sorted(Comparator.comparingDouble((Drone dr) -> -safeGetCapabilityCapacity(dr)))
+        List<Integer> sortedOrdinals = IntStream.range(0, catalogue.size())
+                .filter(i -> catalogue.get(i) != null)
+                .boxed()
+                .sorted(Comparator.comparingDouble((Integer i) -> -safeGetCapabilityCapacity(catalogue.get(i))))
                 .toList();
 
-        logger.info("Processing with {} total drones", sortedDrones.size());
+        logger.info("Processing with {} total drones", sortedOrdinals.size());
 
-        for (Drone drone : sortedDrones) {
+        for (int ordinal : sortedOrdinals) {
             if (pending.isEmpty()) break;
 
+            Drone drone = catalogue.get(ordinal);
             Capability cap = drone.getCapability();
             if (cap == null) continue;
 
@@ -244,12 +361,9 @@ public class DeliveryPlannerService {
 
                 List<MedDispatchRec> candidates = pending.stream()
                         .filter(m -> {
-                            if (!fitsRequirements(m.getRequirements(), cap)) {
-                                return false;
-                            }
-
-                            List<String> available = droneAvailabilityService.queryAvailableDrones(List.of(m));
-                            boolean isAvailable = available.contains(drone.getId());
+                            BitSet eligible = eligibleDrones.computeIfAbsent(m,
+                                    d -> droneAvailabilityService.eligibleDrones(catalogue, List.of(d)));
+                            boolean isAvailable = eligible.get(ordinal);
                             if (!isAvailable) {
                                 logger.trace("Drone {} not available for dispatch {}", drone.getId(), m.getId());
                             }
@@ -281,16 +395,18 @@ public class DeliveryPlannerService {
                         continue;
                     }
 
-                    List<LngLat> pathToDest = buildPathAvoidingRestrictions(current, dest);
+                    List<LngLat> pathToDest = buildPathAvoidingRestrictions(current, dest, trace);
 
+                    String failureReason = null;
                     if (pathToDest == null || pathToDest.isEmpty()) {
                         logger.warn("Failed to find path for delivery {}, trying relaxed", next.getId());
-                        diagnoseDeliveryFailure(next, current);
-                        pathToDest = buildPathWithRelaxedConstraints(current, dest);
+                        failureReason = diagnoseDeliveryFailure(next, current);
+                        pathToDest = buildPathWithRelaxedConstraints(current, dest, trace);
                     }
 
                     if (pathToDest == null || pathToDest.isEmpty()) {
                         logger.error("All pathfinding failed for delivery {} - SKIPPING", next.getId());
+                        trace.skipped(next.getId(), failureReason);
                         candidates.remove(next);
                         pending.remove(next);
                         continue;
@@ -347,15 +463,19 @@ public class DeliveryPlannerService {
                     break;
                 }
 
-                List<LngLat> returnPath = buildPathAvoidingRestrictions(current, base);
+                List<LngLat> returnPath = buildPathAvoidingRestrictions(current, base, trace);
                 if (returnPath == null) {
-                    returnPath = buildPathWithRelaxedConstraints(current, base);
+                    returnPath = buildPathWithRelaxedConstraints(current, base, trace);
                 }
 
                 int stepsBack = returnPath != null ? returnPath.size() - 1 : estimateStepsBack(current, base);
 
                 if (stepsBack > movesLeft || returnPath == null) {
                     logger.warn("Not enough moves to return - removing deliveries from this flight");
+                    trace.rolledBack(drone.getId(), flightNumber,
+                            flightDeliveries.stream().map(DeliveryResult::getDeliveryId).toList(),
+                            returnPath == null ? "no return path to base"
+                                    : "return needs " + stepsBack + " moves, " + movesLeft + " left");
                     for (DeliveryResult dr : flightDeliveries) {
                         pending.add(allDispatches.stream()
                                 .filter(d -> d.getId().equals(dr.getDeliveryId()))
@@ -383,9 +503,14 @@ public class DeliveryPlannerService {
                 totalDroneCost += flightCost;
 
                 allDeliveries.addAll(flightDeliveries);
+                dispatchesAssigned += flightDeliveries.size();
 
                 logger.info("Flight #{} completed: {} deliveries, {} moves, ${} cost",
                         flightNumber, flightDeliveries.size(), usedMovesThisFlight, flightCost);
+                listener.onFlightCompleted(new FlightResult(drone.getId(), flightNumber,
+                        usedMovesThisFlight, flightCost, List.copyOf(flightDeliveries)));
+                listener.onProgress(new PlanningProgress(
+                        dispatchesAssigned, dispatchesTotal, dronePaths.size() + 1));
 
                 LngLat baseHoverPoint = returnPath.get(returnPath.size() - 1);
                 current = new Position(baseHoverPoint.getLng(), baseHoverPoint.getLat());
@@ -394,7 +519,9 @@ public class DeliveryPlannerService {
             if (!allDeliveries.isEmpty()) {
                 totalCost += totalDroneCost;
                 totalMoves += totalDroneMoves;
-                dronePaths.add(new DronePathResult(drone.getId(), allDeliveries));
+                DronePathResult dronePath = new DronePathResult(drone.getId(), allDeliveries);
+                dronePaths.add(dronePath);
+                listener.onDronePath(dronePath);
 
                 logger.info("Drone {} completed: {} deliveries, {} moves, ${} cost",
                         drone.getId(), allDeliveries.size(), totalDroneMoves, totalDroneCost);
@@ -404,86 +531,64 @@ public class DeliveryPlannerService {
         logger.info("=== Multi-drone completed: {} drones, {} moves, ${} cost ===",
                 dronePaths.size(), totalMoves, totalCost);
 
-        return new CalcDeliveryResult(totalCost, totalMoves, dronePaths);
-    }
-
-    private List<LngLat> buildPathAvoidingRestrictions(Position from, Position to) {
-        if (from == null || to == null) {
-            logger.error("Null position in buildPath: from={}, to={}", from, to);
-            return null;
-        }
-
-        double totalDistance = dist(from, to);
-        logger.debug("Building path from {} to {}, distance={}", from, to, totalDistance);
-
-        List<LngLat> path = new ArrayList<>();
-        path.add(new LngLat(from.getLng(), from.getLat()));
-
-        Position current = new Position(from.getLng(), from.getLat());
-        int iterations = 0;
-        int consecutiveBlocked = 0;
-
-        while (!isCloseEnough(current, to) && iterations < MAX_PATH_ITERATIONS) {
-            iterations++;
-
-            double targetAngle = calculateAngle(current, to);
-            Position nextDirect = moveInDirection(current, targetAngle);
-
-            double distanceToTarget = dist(current, to);
-            if (distanceToTarget < STEP * 5 && iterations % 50 == 0) {
-                logger.debug("Getting close to target: distance={}, iteration={}",
-                        distanceToTarget, iterations);
+        if (trace.explain) {
+            for (MedDispatchRec d : pending) {
+                if (d == null) continue;
+                BitSet eligible = eligibleDrones.computeIfAbsent(d,
+                        m -> droneAvailabilityService.eligibleDrones(catalogue, List.of(m)));
+                trace.skipped(d.getId(), eligible.isEmpty()
+                        ? "no drone meets the requirements at the dispatch time"
+                        : "no eligible drone had enough moves or capacity left");
             }
+        }
 
-            if (!pathSegmentCrossesRestriction(current, nextDirect)) {
-                current = nextDirect;
-                path.add(new LngLat(current.getLng(), current.getLat()));
-                consecutiveBlocked = 0;
-            } else {
-                logger.trace("Direct path blocked at iteration {}, trying alternatives", iterations);
-
-                Position nextPos = findAlternativeMove(current, to, targetAngle);
-
-                if (nextPos == null) {
-                    logger.warn("No alternative move found at iteration {} (distance to target: {})",
-                            iterations, distanceToTarget);
-
-                    if (distanceToTarget < CLOSE_THRESHOLD * 1.5) {
-                        logger.debug("Close enough to target, accepting current position");
-                        break;
-                    }
+        return new CalcDeliveryResult(totalCost, totalMoves, dronePaths);
+    }
 
-                    return null;
-                }
+    private List<LngLat> buildPathAvoidingRestrictions(Position from, Position to, PlanningTrace trace) {
+        return tracedLeg(from, to, false, trace, () -> pathfindingEngine.findPath(from, to, searchContext(trace)));
+    }
 
-                current = nextPos;
-                path.add(new LngLat(current.getLng(), current.getLat()));
-                consecutiveBlocked++;
+    private List<LngLat> buildPathWithRelaxedConstraints(Position from, Position to, PlanningTrace trace) {
+        return tracedLeg(from, to, true, trace, () -> searchPathRelaxed(from, to, trace));
+    }
 
-                if (consecutiveBlocked > 30) {
-                    logger.warn("Blocked {} consecutive times, may be stuck", consecutiveBlocked);
-                }
+    /** Collision tests and iterations of one leg's search, counted on the plan's trace. */
+    private SearchContext searchContext(PlanningTrace trace) {
+        return new SearchContext() {
+            @Override
+            public boolean isBlocked(double fromX, double fromY, double toX, double toY) {
+                return pathSegmentCrossesRestriction(new Position(fromX, fromY), new Position(toX, toY), trace);
             }
 
-            if (iterations % 2000 == 0) {
-                logger.debug("Pathfinding iteration {}, distance remaining: {}, consecutive blocked: {}",
-                        iterations, dist(current, to), consecutiveBlocked);
+            @Override
+            public void iteration() {
+                trace.iterations++;
+                checkNotCancelled();
             }
-        }
-
-        if (iterations >= MAX_PATH_ITERATIONS) {
-            logger.warn("Exceeded max iterations building path from {} to {}", from, to);
-            return null;
-        }
-
-        double finalDistance = dist(current, to);
-        logger.debug("Path built with {} steps, final position {}, distance to target: {}",
-                path.size(), current, finalDistance);
+        };
+    }
 
+    private List<LngLat> tracedLeg(Position from, Position to, boolean relaxed, PlanningTrace trace,
+                                   Supplier<List<LngLat>> search) {
+        long iterationsBefore = trace.iterations;
+        long start = System.nanoTime();
+
+        List<LngLat> path = search.get();
+
+        long nanos = System.nanoTime() - start;
+        boolean found = path != null && !path.isEmpty();
+        trace.legs++;
+        trace.legNanos += nanos;
+        if (relaxed) trace.relaxedLegs++;
+        if (!found) trace.failedLegs++;
+        long legIterations = trace.iterations - iterationsBefore;
+        trace.leg(from, to, relaxed, found, legIterations, nanos);
+        plannerMetrics.recordLeg(relaxed, found, nanos, legIterations);
         return path;
     }
 
-    private List<LngLat> buildPathWithRelaxedConstraints(Position from, Position to) {
+    private List<LngLat> searchPathRelaxed(Position from, Position to, PlanningTrace trace) {
         logger.info("Trying RELAXED pathfinding from {} to {} (distance={})",
                 from, to, dist(from, to));
 
@@ -498,11 +603,13 @@ public class DeliveryPlannerService {
 
         while (!isCloseEnough(current, to) && iterations < MAX_PATH_ITERATIONS) {
             iterations++;
+            trace.iterations++;
+            checkNotCancelled();
 
-            double targetAngle = calculateAngle(current, to);
-            Position nextDirect = moveInDirection(current, targetAngle);
+            double targetAngle = Lattice.angle(current, to);
+            Position nextDirect = Lattice.move(current, targetAngle);
 
-            if (!pathSegmentCrossesRestriction(current, nextDirect)) {
+            if (!pathSegmentCrossesRestriction(current, nextDirect, trace)) {
                 current = nextDirect;
                 path.add(new LngLat(current.getLng(), current.getLat()));
                 stuckCounter = 0;
@@ -512,7 +619,7 @@ public class DeliveryPlannerService {
                     bestDistance = lastDistance;
                 }
             } else {
-                Position nextPos = findAlternativeMoveRelaxed(current, to, targetAngle, stuckCounter);
+                Position nextPos = findAlternativeMoveRelaxed(current, to, targetAngle, stuckCounter, trace);
 
                 if (nextPos == null) {
                     logger.warn("No alternative move in relaxed mode at iteration {} (stuck={}, dist={})",
@@ -564,50 +671,8 @@ public class DeliveryPlannerService {
         return path;
     }
 
-    private Position findAlternativeMove(Position current, Position target, double targetAngle) {
-        double[] offsets = {
-                -ANGLE_INCREMENT, ANGLE_INCREMENT,
-                -2*ANGLE_INCREMENT, 2*ANGLE_INCREMENT,
-                -3*ANGLE_INCREMENT, 3*ANGLE_INCREMENT,
-                -4*ANGLE_INCREMENT, 4*ANGLE_INCREMENT,
-                -5*ANGLE_INCREMENT, 5*ANGLE_INCREMENT
-        };
-
-        for (double offset : offsets) {
-            double testAngle = normalizeAngle(targetAngle + offset);
-            Position testPos = moveInDirection(current, testAngle);
-
-            if (!pathSegmentCrossesRestriction(current, testPos)) {
-                double distBefore = dist(current, target);
-                double distAfter = dist(testPos, target);
-
-                if (distAfter <= distBefore * 1.8) {
-                    return testPos;
-                }
-            }
-        }
-
-        Position bestPos = null;
-        double bestDist = Double.POSITIVE_INFINITY;
-
-        for (int i = 0; i < 16; i++) {
-            double testAngle = i * ANGLE_INCREMENT;
-            Position testPos = moveInDirection(current, testAngle);
-
-            if (!pathSegmentCrossesRestriction(current, testPos)) {
-                double distToTarget = dist(testPos, target);
-                if (distToTarget < bestDist) {
-                    bestDist = distToTarget;
-                    bestPos = testPos;
-                }
-            }
-        }
-
-        return bestPos;
-    }
-
     private Position findAlternativeMoveRelaxed(Position current, Position target,
-                                                double targetAngle, int stuckCounter) {
+                                                double targetAngle, int stuckCounter, PlanningTrace trace) {
         double[] offsets = {
                 -ANGLE_INCREMENT, ANGLE_INCREMENT,
                 -2*ANGLE_INCREMENT, 2*ANGLE_INCREMENT,
@@ -622,10 +687,10 @@ public class DeliveryPlannerService {
         double tolerance = stuckCounter > 50 ? 4.0 : (stuckCounter > 30 ? 3.0 : 2.0);
 
         for (double offset : offsets) {
-            double testAngle = normalizeAngle(targetAngle + offset);
-            Position testPos = moveInDirection(current, testAngle);
+            double testAngle = Lattice.snap(targetAngle + offset);
+            Position testPos = Lattice.move(current, testAngle);
 
-            if (!pathSegmentCrossesRestriction(current, testPos)) {
+            if (!pathSegmentCrossesRestriction(current, testPos, trace)) {
                 double distBefore = dist(current, target);
                 double distAfter = dist(testPos, target);
 
@@ -638,9 +703,9 @@ public class DeliveryPlannerService {
         List<Position> validMoves = new ArrayList<>();
         for (int i = 0; i < 16; i++) {
             double testAngle = i * ANGLE_INCREMENT;
-            Position testPos = moveInDirection(current, testAngle);
+            Position testPos = Lattice.move(current, testAngle);
 
-            if (!pathSegmentCrossesRestriction(current, testPos)) {
+            if (!pathSegmentCrossesRestriction(current, testPos, trace)) {
                 validMoves.add(testPos);
             }
         }
@@ -662,7 +727,7 @@ public class DeliveryPlannerService {
         return best;
     }
 
-    private void diagnoseDeliveryFailure(MedDispatchRec dispatch, Position currentPos) {
+    private String diagnoseDeliveryFailure(MedDispatchRec dispatch, Position currentPos) {
         logger.info("=== DIAGNOSING DELIVERY FAILURE FOR ID {} ===", dispatch.getId());
 
         Position target = dispatch.getDelivery();
@@ -673,10 +738,12 @@ public class DeliveryPlannerService {
         boolean targetInRestricted = restrictedAreaService.isInRestrictedArea(target);
         logger.info("Target in restricted area: {}", targetInRestricted);
 
+        String reason = "pathfinding did not reach the delivery point";
         if (targetInRestricted) {
             logger.error("⚠️ DELIVERY POINT IS INSIDE RESTRICTED AREA - CANNOT BE COMPLETED");
             String areaName = restrictedAreaService.getRestrictedAreaNameForPath(target, target);
             logger.error("Restricted area: {}", areaName);
+            reason = "delivery point is inside restricted area " + areaName;
         }
 
         boolean pathBlocked = restrictedAreaService.pathCrossesRestrictedArea(currentPos, target);
@@ -685,15 +752,18 @@ public class DeliveryPlannerService {
         if (pathBlocked) {
             String areaName = restrictedAreaService.getRestrictedAreaNameForPath(currentPos, target);
             logger.info("Blocked by restricted area: {}", areaName);
+            if (!targetInRestricted) {
+                reason = "no path found around restricted area " + areaName;
+            }
         }
 
-        double targetAngle = calculateAngle(currentPos, target);
+        double targetAngle = Lattice.angle(currentPos, target);
         logger.info("Target angle: {} degrees", targetAngle);
 
         for (int i = 1; i <= 5; i++) {
             Position testPos = currentPos;
             for (int j = 0; j < i; j++) {
-                testPos = moveInDirection(testPos, targetAngle);
+                testPos = Lattice.move(testPos, targetAngle);
             }
             boolean stepBlocked = restrictedAreaService.pathCrossesRestrictedArea(currentPos, testPos);
             logger.info("After {} steps towards target: blocked={}, pos={}, dist to target={}",
@@ -701,31 +771,18 @@ public class DeliveryPlannerService {
         }
 
         logger.info("=== END DIAGNOSIS ===");
+        return reason;
     }
 
-    private boolean pathSegmentCrossesRestriction(Position from, Position to) {
-        return restrictedAreaService.pathCrossesRestrictedArea(from, to);
-    }
-
-    private Position moveInDirection(Position from, double angleDegrees) {
-        double angleRad = Math.toRadians(angleDegrees);
-        double newLng = from.getLng() + STEP * Math.cos(angleRad);
-        double newLat = from.getLat() + STEP * Math.sin(angleRad);
-        return new Position(newLng, newLat);
-    }
-
-    private double calculateAngle(Position from, Position to) {
-        double dx = to.getLng() - from.getLng();
-        double dy = to.getLat() - from.getLat();
-        double angleRad = Math.atan2(dy, dx);
-        double angleDeg = Math.toDegrees(angleRad);
-        return normalizeAngle(angleDeg);
+    private void checkNotCancelled() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Planning was cancelled");
+        }
     }
 
-    private double normalizeAngle(double angle) {
-        while (angle < 0) angle += 360;
-        while (angle >= 360) angle -= 360;
-        return Math.round(angle / ANGLE_INCREMENT) * ANGLE_INCREMENT;
+    private boolean pathSegmentCrossesRestriction(Position from, Position to, PlanningTrace trace) {
+        trace.collisionTests++;
+        return restrictedAreaService.pathCrossesRestrictedArea(from, to);
     }
 
     private boolean isCloseEnough(Position p1, Position p2) {
@@ -743,14 +800,6 @@ public class DeliveryPlannerService {
         return new Position(sp.getLocation().getLng(), sp.getLocation().getLat());
     }
 
-    private boolean fitsRequirements(Requirements req, Capability cap) {
-        if (req == null || cap == null) return false;
-        if (cap.getCapacity() + EPS < req.getCapacity()) return false;
-        if (req.isCooling() && !cap.isCooling()) return false;
-        if (req.isHeating() && !cap.isHeating()) return false;
-        return true;
-    }
-
     private MedDispatchRec nearest(Position from, List<MedDispatchRec> list) {
         if (from == null || list == null || list.isEmpty()) return null;
         MedDispatchRec best = null;
@@ -789,6 +838,7 @@ public class DeliveryPlannerService {
 
     private boolean isInNoFly(Position p) {
         if (p == null) return false;
+        PlanningTrace.current().collisionTests++;
         return restrictedAreaService.isInRestrictedArea(p);
     }
 }
\ No newline at end of file
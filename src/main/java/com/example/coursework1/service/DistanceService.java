@@ -3,6 +3,8 @@ package com.example.coursework1.service;
 import com.example.coursework1.dto.DistanceRequest;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 @Service
 public class DistanceService {
 
@@ -18,4 +20,16 @@ public class DistanceService {
     public boolean isClose(DistanceRequest request) {
         return calculateDistance(request) <= THRESHOLD - TOLERANCE;
     }
-}
\ No newline at end of file
+
+    public double[] calculateDistances(List<DistanceRequest> requests) {
+        double[] distances = new double[requests.size()];
+        BulkIndices.of(requests.size()).forEach(i -> distances[i] = calculateDistance(requests.get(i)));
+        return distances;
+    }
+
+    public boolean[] areClose(List<DistanceRequest> requests) {
+        boolean[] close = new boolean[requests.size()];
+        BulkIndices.of(requests.size()).forEach(i -> close[i] = isClose(requests.get(i)));
+        return close;
+    }
+}
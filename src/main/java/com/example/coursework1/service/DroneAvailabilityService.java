@@ -1,14 +1,16 @@
 package com.example.coursework1.service;
 
 import com.example.coursework1.dto.*;
+import com.example.coursework1.index.AvailabilityIndex;
+import com.example.coursework1.index.CapabilityIndex;
+import com.example.coursework1.index.DroneCatalogue;
+import com.example.coursework1.index.SnapshotMemo;
+import com.example.coursework1.repository.Snapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.time.LocalTime;
-import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.*;
 import java.util.stream.Collectors;
@@ -18,10 +20,15 @@ public class DroneAvailabilityService {
 
     private static final Logger logger = LoggerFactory.getLogger(DroneAvailabilityService.class);
     private final DroneService droneService;
+    private final SnapshotMemo<AvailabilityIndex> availabilityMemo = new SnapshotMemo<>();
+    private final SnapshotMemo<CapabilityIndex> capabilityMemo = new SnapshotMemo<>();
     private static final double EPS = 1e-12;
+    private static final int ANY_TIME = -1;
 
-    public DroneAvailabilityService(DroneService droneService) {
+    public DroneAvailabilityService(DroneService droneService, PlannerMetrics plannerMetrics) {
         this.droneService = droneService;
+        plannerMetrics.bindCache("drone.availability", availabilityMemo, SnapshotMemo::hits, SnapshotMemo::misses);
+        plannerMetrics.bindCache("drone.capability", capabilityMemo, SnapshotMemo::hits, SnapshotMemo::misses);
     }
 
     public List<String> queryAvailableDrones(List<MedDispatchRec> dispatches) {
@@ -42,187 +49,95 @@ public class DroneAvailabilityService {
         logger.info("Querying available drones for {} valid dispatches (single journey - must handle ALL in one trip)",
                 validDispatches.size());
 
-        List<Drone> allDrones = droneService.fetchAllDrones();
-
-        List<ServicePointDrones> servicePointData = droneService.fetchDronesForServicePoints();
-
-        Map<String, List<TimeWindow>> availabilityMap = buildAvailabilityMap(servicePointData);
-
-        logger.debug("Built availability map for {} drones", availabilityMap.size());
-
-        List<String> availableDroneIds = new ArrayList<>();
-
-        for (Drone drone : allDrones) {
-            if (canHandleAllDispatches(drone, validDispatches, availabilityMap)) {
-                availableDroneIds.add(drone.getId());
-                logger.debug("Drone {} CAN handle all {} dispatches in single journey",
-                        drone.getId(), validDispatches.size());
-            } else {
-                logger.debug("Drone {} CANNOT handle all dispatches in single journey", drone.getId());
-            }
-        }
+        DroneCatalogue catalogue = droneService.catalogue();
+        BitSet available = eligibleDrones(catalogue, validDispatches);
+        List<String> availableDroneIds = catalogue.ids(available);
 
         logger.info("Found {} available drones (out of {}) that can handle ALL {} dispatches in single journey",
-                availableDroneIds.size(), allDrones.size(), validDispatches.size());
+                availableDroneIds.size(), catalogue.size(), validDispatches.size());
 
         return availableDroneIds;
     }
 
-    private Map<String, List<TimeWindow>> buildAvailabilityMap(
-            List<ServicePointDrones> servicePointData) {
+    /**
+     * Ordinals of the catalogue drones that can take every dispatch in a single
+     * journey: enough capacity for all of them together, the union of their
+     * cooling/heating needs, a fixed cost within the tightest maxCost, and
+     * availability at every dispatch time. Dispatches must have requirements.
+     */
+    public BitSet eligibleDrones(DroneCatalogue catalogue, List<MedDispatchRec> dispatches) {
+        double totalCapacityNeeded = 0.0;
+        double largestCapacityNeeded = 0.0;
+        boolean cooling = false;
+        boolean heating = false;
+        Double maxCost = null;
 
-        Map<String, List<TimeWindow>> map = new HashMap<>();
-
-        for (ServicePointDrones spData : servicePointData) {
-            if (spData.getDrones() == null) continue;
-
-            for (DroneWithAvailability droneWithAvail : spData.getDrones()) {
-                String droneId = droneWithAvail.getId();
-                List<TimeWindow> windows = droneWithAvail.getAvailability();
-
-                if (windows != null && !windows.isEmpty()) {
-                    map.put(droneId, windows);
-                }
+        for (MedDispatchRec dispatch : dispatches) {
+            Requirements req = dispatch.getRequirements();
+            totalCapacityNeeded += req.getCapacity();
+            largestCapacityNeeded = Math.max(largestCapacityNeeded, req.getCapacity());
+            cooling |= req.isCooling();
+            heating |= req.isHeating();
+            if (req.getMaxCost() != null) {
+                maxCost = maxCost == null ? req.getMaxCost() : Math.min(maxCost, req.getMaxCost());
             }
         }
 
-        return map;
-    }
-
-    private boolean canHandleAllDispatches(Drone drone, List<MedDispatchRec> dispatches,
-                                           Map<String, List<TimeWindow>> availabilityMap) {
-        if (drone == null || drone.getCapability() == null) {
-            return false;
-        }
-
-        Capability capability = drone.getCapability();
-
-        double totalCapacityNeeded = dispatches.stream()
-                .mapToDouble(d -> d.getRequirements().getCapacity())
-                .sum();
-
-        if (totalCapacityNeeded > capability.getCapacity() + EPS) {
-            logger.trace("Drone {} failed total capacity check for single journey ({} > {})",
-                    drone.getId(), totalCapacityNeeded, capability.getCapacity());
-            return false;
-        }
+        BitSet eligible = capabilityIndex(catalogue).matching(
+                Math.max(totalCapacityNeeded, largestCapacityNeeded), EPS, cooling, heating, maxCost);
+        logger.debug("{} drones meet capacity/temperature/cost requirements of {} dispatches",
+                eligible.cardinality(), dispatches.size());
 
+        AvailabilityIndex availability = null;
+        Set<Integer> checkedTimes = new HashSet<>();
         for (MedDispatchRec dispatch : dispatches) {
-            Requirements req = dispatch.getRequirements();
-
-            if (capability.getCapacity() + EPS < req.getCapacity()) {
-                logger.trace("Drone {} failed individual capacity check for dispatch {} ({} < {})",
-                        drone.getId(), dispatch.getId(),
-                        capability.getCapacity(), req.getCapacity());
-                return false;
-            }
+            if (eligible.isEmpty()) break;
 
-            if (req.isCooling() && !capability.isCooling()) {
-                logger.trace("Drone {} failed cooling check for dispatch {}",
-                        drone.getId(), dispatch.getId());
-                return false;
-            }
+            int secondOfWeek = dispatchSecondOfWeek(dispatch);
+            if (secondOfWeek == ANY_TIME || !checkedTimes.add(secondOfWeek)) continue;
 
-            if (req.isHeating() && !capability.isHeating()) {
-                logger.trace("Drone {} failed heating check for dispatch {}",
-                        drone.getId(), dispatch.getId());
-                return false;
+            if (availability == null) {
+                availability = availabilityIndex(catalogue);
             }
+            eligible.and(availability.availableAt(secondOfWeek));
+            logger.trace("{} drones remain after availability check for dispatch {} ({} at {})",
+                    eligible.cardinality(), dispatch.getId(), dispatch.getDate(), dispatch.getTime());
+        }
 
-            if (!isAvailableForDispatch(drone.getId(), dispatch, availabilityMap)) {
-                logger.trace("Drone {} failed availability check for dispatch {} ({} at {})",
-                        drone.getId(), dispatch.getId(),
-                        dispatch.getDate(), dispatch.getTime());
-                return false;
-            }
+        return eligible;
+    }
 
-            if (req.getMaxCost() != null) {
-                double minCost = capability.getCostInitial() + capability.getCostFinal();
-                if (minCost > req.getMaxCost()) {
-                    logger.trace("Drone {} failed cost check for dispatch {} ({} > {})",
-                            drone.getId(), dispatch.getId(), minCost, req.getMaxCost());
-                    return false;
-                }
-            }
-        }
+    public AvailabilityIndex availabilityIndex(DroneCatalogue catalogue) {
+        Snapshot<List<ServicePointDrones>> servicePoints = droneService.servicePointDronesSnapshot();
+        return availabilityMemo.get(List.of(catalogue.getVersion(), servicePoints.getVersion()),
+                () -> AvailabilityIndex.build(catalogue, servicePoints.getValue()));
+    }
 
-        return true;
+    public CapabilityIndex capabilityIndex(DroneCatalogue catalogue) {
+        return capabilityMemo.get(catalogue.getVersion(), () -> CapabilityIndex.build(catalogue));
     }
 
-    private boolean isAvailableForDispatch(String droneId, MedDispatchRec dispatch,
-                                           Map<String, List<TimeWindow>> availabilityMap) {
+    int dispatchSecondOfWeek(MedDispatchRec dispatch) {
         if (dispatch.getDate() == null || dispatch.getTime() == null) {
-            return true;
-        }
-
-        List<TimeWindow> windows = availabilityMap.get(droneId);
-        if (windows == null || windows.isEmpty()) {
-            return true;
+            return ANY_TIME;
         }
 
+        LocalDate date;
         try {
-            LocalDate date = LocalDate.parse(dispatch.getDate());
-            DayOfWeek dayOfWeek = date.getDayOfWeek();
-            String dayName = dayOfWeek.toString();
-
-            LocalTime dispatchTime = parseTime(dispatch.getTime());
-            if (dispatchTime == null) {
-                logger.warn("Could not parse dispatch time '{}', assuming available",
-                        dispatch.getTime());
-                return true;
-            }
-
-            for (TimeWindow window : windows) {
-                if (isInTimeWindow(dayName, dispatchTime, window)) {
-                    return true;
-                }
-            }
-
-            return false;
-
+            date = LocalDate.parse(dispatch.getDate());
         } catch (DateTimeParseException e) {
             logger.warn("Failed to parse date '{}' for dispatch {}, assuming available",
                     dispatch.getDate(), dispatch.getId());
-            return true;
-        }
-    }
-
-    private boolean isInTimeWindow(String dayName, LocalTime dispatchTime, TimeWindow window) {
-        if (!window.getDayOfWeek().equalsIgnoreCase(dayName)) {
-            return false;
-        }
-
-        LocalTime fromTime = parseTime(window.getFrom());
-        LocalTime untilTime = parseTime(window.getUntil());
-
-        if (fromTime == null || untilTime == null) {
-            logger.warn("Could not parse window times: from='{}', until='{}'",
-                    window.getFrom(), window.getUntil());
-            return false;
-        }
-
-        return !dispatchTime.isBefore(fromTime) && !dispatchTime.isAfter(untilTime);
-    }
-
-    private LocalTime parseTime(String timeStr) {
-        if (timeStr == null || timeStr.isEmpty()) {
-            return null;
+            return ANY_TIME;
         }
 
-        DateTimeFormatter[] formatters = {
-                DateTimeFormatter.ofPattern("HH:mm:ss"),
-                DateTimeFormatter.ofPattern("H:mm:ss"),
-                DateTimeFormatter.ofPattern("HH:mm"),
-                DateTimeFormatter.ofPattern("H:mm")
-        };
-
-        for (DateTimeFormatter formatter : formatters) {
-            try {
-                return LocalTime.parse(timeStr, formatter);
-            } catch (DateTimeParseException e) {
-            }
+        int secondOfDay = AvailabilityIndex.parseSecondOfDay(dispatch.getTime());
+        if (secondOfDay < 0) {
+            logger.warn("Could not parse dispatch time '{}', assuming available",
+                    dispatch.getTime());
+            return ANY_TIME;
         }
 
-        return null;
+        return AvailabilityIndex.secondOfWeek(date.getDayOfWeek(), secondOfDay);
     }
-}
\ No newline at end of file
+}
@@ -3,18 +3,35 @@ package com.example.coursework1.service;
 import com.example.coursework1.dto.Drone;
 import com.example.coursework1.dto.QueryAttribute;
 import com.example.coursework1.dto.ServicePointDrones;
+import com.example.coursework1.index.DroneCatalogue;
+import com.example.coursework1.index.DroneQuery;
+import com.example.coursework1.index.SnapshotMemo;
 import com.example.coursework1.repository.DroneRepository;
+import com.example.coursework1.repository.Snapshot;
 import org.springframework.stereotype.Service;
 
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 @Service
 public class DroneService {
 
+    private static final int MAX_CACHED_QUERIES = 1024;
+
     private final DroneRepository droneRepository;
+    private final SnapshotMemo<DroneCatalogue> catalogueMemo = new SnapshotMemo<>();
+    private final SnapshotMemo<Map<String, List<String>>> queryResultsMemo = new SnapshotMemo<>();
+    private final Map<String, DroneQuery> compiledQueries = new ConcurrentHashMap<>();
+    private final LongAdder queryHits = new LongAdder();
+    private final LongAdder queryMisses = new LongAdder();
 
-    public DroneService(DroneRepository droneRepository) {
+    public DroneService(DroneRepository droneRepository, PlannerMetrics plannerMetrics) {
         this.droneRepository = droneRepository;
+        plannerMetrics.bindCache("drone.catalogue", catalogueMemo, SnapshotMemo::hits, SnapshotMemo::misses);
+        plannerMetrics.bindCache("drone.query", this, s -> s.queryHits.sum(), s -> s.queryMisses.sum());
     }
 
     public List<Drone> fetchAllDrones() {
@@ -25,86 +42,81 @@ public class DroneService {
         return droneRepository.fetchDronesForServicePoints();
     }
 
+    public Snapshot<List<ServicePointDrones>> servicePointDronesSnapshot() {
+        return droneRepository.servicePointDronesSnapshot();
+    }
+
+    public DroneCatalogue catalogue() {
+        Snapshot<List<Drone>> snapshot = droneRepository.droneSnapshot();
+        return catalogueMemo.get(snapshot.getVersion(),
+                () -> DroneCatalogue.build(snapshot.getValue(), snapshot.getVersion()));
+    }
+
     public Drone getDroneById(String id) {
-        return fetchAllDrones()
-                .stream()
-                .filter(d -> d.getId() != null && d.getId().equals(id))
-                .findFirst()
-                .orElse(null);
+        return catalogue().findById(id);
     }
 
     public List<String> dronesWithCooling(boolean state) {
-        return fetchAllDrones()
-                .stream()
-                .filter(d -> d.isCooling() == state)
-                .map(Drone::getId)
-                .toList();
+        DroneCatalogue catalogue = catalogue();
+        return catalogue.ids(catalogue.cooling(state));
     }
 
     public List<String> queryAsPath(String attribute, String value) {
-        return fetchAllDrones().stream()
-                .filter(d -> matches(d, attribute, "=", value))
-                .map(Drone::getId)
-                .toList();
+        QueryAttribute filter = new QueryAttribute();
+        filter.setAttribute(attribute);
+        filter.setOperator("=");
+        filter.setValue(value);
+        return query(List.of(filter));
     }
 
     public List<String> query(List<QueryAttribute> filters) {
-        return fetchAllDrones().stream()
-                .filter(drone ->
-                        filters.stream().allMatch(f ->
-                                matches(drone, f.getAttribute(), f.getOperator(), f.getValue())
-                        )
-                )
-                .map(Drone::getId)
-                .toList();
-    }
-
-    private boolean matches(Drone d, String attribute, String operator, String rawValue) {
-        Object value = extractAttributeValue(d, attribute);
-
-        if (value == null) return false;
-
-        if (!(value instanceof Number)) {
-            return operator.equals("=") &&
-                    value.toString().equalsIgnoreCase(rawValue);
+        DroneCatalogue catalogue = catalogue();
+        String key = queryKey(filters);
+
+        Map<String, List<String>> results = queryResultsMemo.get(catalogue.getVersion(), ConcurrentHashMap::new);
+        List<String> cached = results.get(key);
+        if (cached != null) {
+            queryHits.increment();
+            return cached;
         }
-
-        double droneVal = ((Number) value).doubleValue();
-        double queryVal;
-
-        try {
-            queryVal = Double.parseDouble(rawValue);
-        } catch (Exception e) {
-            return false;
+        queryMisses.increment();
+
+        DroneQuery query = compiledQueries.get(key);
+        if (query == null) {
+            query = DroneQuery.compile(filters);
+            if (compiledQueries.size() >= MAX_CACHED_QUERIES) {
+                compiledQueries.clear();
+            }
+            compiledQueries.put(key, query);
         }
 
-        return switch (operator) {
-            case "="  -> droneVal == queryVal;
-            case "!=" -> droneVal != queryVal;
-            case "<"  -> droneVal < queryVal;
-            case ">"  -> droneVal > queryVal;
-            case "<="  -> droneVal <= queryVal;
-            case ">="  -> droneVal >= queryVal;
-            default -> false;
-        };
+        List<String> ids = Collections.unmodifiableList(catalogue.ids(query.evaluate(catalogue)));
+        if (results.size() >= MAX_CACHED_QUERIES) {
+            results.clear();
+        }
+        results.put(key, ids);
+        return ids;
     }
 
-    private Object extractAttributeValue(Drone d, String attribute) {
-        if (d == null || d.getCapability() == null) {
-            return null;
+    private String queryKey(List<QueryAttribute> filters) {
+        if (filters == null) {
+            return "";
         }
 
-        return switch (attribute.toLowerCase()) {
-            case "id" -> d.getId();
-            case "name" -> d.getName();
-            case "capacity" -> d.getCapability().getCapacity();
-            case "cooling" -> d.getCapability().isCooling();
-            case "heating" -> d.getCapability().isHeating();
-            case "maxmoves" -> d.getCapability().getMaxMoves();
-            case "costpermove" -> d.getCapability().getCostPerMove();
-            case "costinitial" -> d.getCapability().getCostInitial();
-            case "costfinal" -> d.getCapability().getCostFinal();
-            default -> null;
-        };
+        StringBuilder key = new StringBuilder();
+        for (QueryAttribute filter : filters) {
+            if (filter == null) {
+                key.append('\u0003');
+                continue;
+            }
+            appendPart(key, filter.getAttribute()).append('\u0000');
+            appendPart(key, filter.getOperator()).append('\u0000');
+            appendPart(key, filter.getValue()).append('\u0001');
+        }
+        return key.toString();
+    }
+
+    private StringBuilder appendPart(StringBuilder key, String part) {
+        return part == null ? key.append('\u0002') : key.append(part);
     }
-}
\ No newline at end of file
+}
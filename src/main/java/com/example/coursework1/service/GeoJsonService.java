@@ -1,6 +1,7 @@
 package com.example.coursework1.service;
 
 import com.example.coursework1.dto.*;
+import com.example.coursework1.geometry.PathSimplifier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -21,12 +22,20 @@ public class GeoJsonService {
     }
 
     public Object calcDeliveryPathAsGeoJson(List<MedDispatchRec> dispatches) {
+        return calcDeliveryPathAsGeoJson(dispatches, false, 0.0);
+    }
+
+    /**
+     * @param simplify  collapse hovers and straight runs, see {@link PathSimplifier}
+     * @param tolerance Douglas-Peucker tolerance in degrees; 0 keeps the lattice path recoverable
+     */
+    public Object calcDeliveryPathAsGeoJson(List<MedDispatchRec> dispatches, boolean simplify, double tolerance) {
         CalcDeliveryResult result = deliveryPlannerService.calcDeliveryPath(dispatches);
 
         if (result.getDronePaths() != null && result.getDronePaths().size() > 1) {
             logger.info("Multiple drones ({}) used - generating FeatureCollection",
                     result.getDronePaths().size());
-            return createFeatureCollection(result);
+            return createFeatureCollection(result, simplify, tolerance);
         }
 
         List<double[]> coordinates = new ArrayList<>();
@@ -42,7 +51,11 @@ public class GeoJsonService {
             coordinates.add(new double[]{0.0, 0.0});
         }
 
-        GeoJsonResponse geoJson = new GeoJsonResponse(coordinates);
+        PathSimplifier.Result simplified = simplify ? PathSimplifier.simplify(coordinates, tolerance) : null;
+        GeoJsonResponse geoJson = new GeoJsonResponse(simplified != null ? simplified.coordinates() : coordinates);
+        if (simplified != null) {
+            addSimplificationProperties(geoJson.getProperties(), simplified, coordinates.size(), tolerance);
+        }
         geoJson.getProperties().put("totalMoves", result.getTotalMoves());
         geoJson.getProperties().put("totalCost", result.getTotalCost());
         geoJson.getProperties().put("deliveryCount",
@@ -53,7 +66,7 @@ public class GeoJsonService {
         return geoJson;
     }
 
-    private Map<String, Object> createFeatureCollection(CalcDeliveryResult result) {
+    private Map<String, Object> createFeatureCollection(CalcDeliveryResult result, boolean simplify, double tolerance) {
         Map<String, Object> featureCollection = new HashMap<>();
         featureCollection.put("type", "FeatureCollection");
 
@@ -67,12 +80,17 @@ public class GeoJsonService {
             extractPathFromDrone(dronePath, coordinates);
 
             if (!coordinates.isEmpty()) {
+                PathSimplifier.Result simplified = simplify ? PathSimplifier.simplify(coordinates, tolerance) : null;
+
                 Map<String, Object> geometry = new HashMap<>();
                 geometry.put("type", "LineString");
-                geometry.put("coordinates", coordinates);
+                geometry.put("coordinates", simplified != null ? simplified.coordinates() : coordinates);
                 feature.put("geometry", geometry);
 
                 Map<String, Object> properties = new HashMap<>();
+                if (simplified != null) {
+                    addSimplificationProperties(properties, simplified, coordinates.size(), tolerance);
+                }
                 properties.put("droneId", dronePath.getDroneId());
                 properties.put("deliveryCount", dronePath.getDeliveries().size());
 
@@ -98,6 +116,14 @@ public class GeoJsonService {
         return featureCollection;
     }
 
+    private void addSimplificationProperties(Map<String, Object> properties, PathSimplifier.Result simplified,
+                                             int originalPointCount, double tolerance) {
+        properties.put("simplified", true);
+        properties.put("tolerance", Math.max(0.0, tolerance));
+        properties.put("originalPointCount", originalPointCount);
+        properties.put("hoverIndices", simplified.hoverIndices());
+    }
+
     private void extractPathFromDrone(DronePathResult dronePath, List<double[]> coordinates) {
         if (dronePath.getDeliveries() != null) {
             for (DeliveryResult delivery : dronePath.getDeliveries()) {
@@ -2,34 +2,42 @@ package com.example.coursework1.service;
 
 import com.example.coursework1.dto.NextPositionRequest;
 import com.example.coursework1.model.Position;
+import com.example.coursework1.pathfinding.Lattice;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.List;
+
 @Service
 public class NavigationService {
 
-    private static final double STEP = 0.00015;
-    private static final double ANGLE_INCREMENT = 22.5;
     private static final double TOLERANCE = 1e-9;
 
     public Position calculateNextPosition(NextPositionRequest request) {
         double angle = request.getAngle();
 
-        if (!isMultipleOf(angle, ANGLE_INCREMENT)) {
+        if (!isMultipleOf(angle, Lattice.ANGLE_INCREMENT)) {
             throw new IllegalArgumentException("Angle must be a multiple of 22.5 degrees");
         }
 
-        double angleRad = Math.toRadians(angle);
-        double deltaLng = STEP * Math.cos(angleRad);
-        double deltaLat = STEP * Math.sin(angleRad);
+        return Lattice.move(request.getStart(), angle);
+    }
+
+    public List<Position> calculateNextPositions(List<NextPositionRequest> requests) {
+        for (NextPositionRequest request : requests) {
+            if (!isMultipleOf(request.getAngle(), Lattice.ANGLE_INCREMENT)) {
+                throw new IllegalArgumentException("Angle must be a multiple of 22.5 degrees");
+            }
+        }
 
-        return new Position(
-                request.getStart().getLng() + deltaLng,
-                request.getStart().getLat() + deltaLat
-        );
+        Position[] next = new Position[requests.size()];
+        BulkIndices.of(requests.size()).forEach(i ->
+                next[i] = Lattice.move(requests.get(i).getStart(), requests.get(i).getAngle()));
+        return Arrays.asList(next);
     }
 
     private boolean isMultipleOf(double value, double increment) {
         double ratio = value / increment;
         return Math.abs(ratio - Math.round(ratio)) < TOLERANCE;
     }
-}
\ No newline at end of file
+}
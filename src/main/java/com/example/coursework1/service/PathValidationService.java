@@ -0,0 +1,70 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.*;
+import com.example.coursework1.model.Position;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Audits flight paths, including ones produced outside this service, against the
+ * restricted areas and reports every violation rather than stopping at the first.
+ */
+@Service
+public class PathValidationService {
+
+    private final RestrictedAreaService restrictedAreaService;
+
+    public PathValidationService(RestrictedAreaService restrictedAreaService) {
+        this.restrictedAreaService = restrictedAreaService;
+    }
+
+    public PathValidationResult validate(List<Position> path) {
+        List<PathViolation> violations = new ArrayList<>();
+        for (AreaIntersection intersection : restrictedAreaService.findIntersections(path)) {
+            violations.add(new PathViolation(null, null, intersection));
+        }
+        return new PathValidationResult(Math.max(path.size() - 1, 0), violations);
+    }
+
+    /**
+     * Audits every delivery path of {@code plan}. A missing point would hide the
+     * segments either side of it, so a path with one is rejected with
+     * {@link IllegalArgumentException} rather than checked around the gap.
+     */
+    public PathValidationResult validate(CalcDeliveryResult plan) {
+        if (plan == null) {
+            throw new IllegalArgumentException("Plan must not be null");
+        }
+        List<PathViolation> violations = new ArrayList<>();
+        int segments = 0;
+
+        if (plan.getDronePaths() != null) {
+            for (DronePathResult dronePath : plan.getDronePaths()) {
+                if (dronePath == null || dronePath.getDeliveries() == null) continue;
+
+                for (DeliveryResult delivery : dronePath.getDeliveries()) {
+                    if (delivery == null || delivery.getFlightPath() == null) continue;
+
+                    List<Position> path = new ArrayList<>(delivery.getFlightPath().size());
+                    for (LngLat point : delivery.getFlightPath()) {
+                        if (point == null) {
+                            throw new IllegalArgumentException("Flight path of delivery " + delivery.getDeliveryId()
+                                    + " on drone " + dronePath.getDroneId() + " has a null point at index "
+                                    + path.size());
+                        }
+                        path.add(new Position(point.getLng(), point.getLat()));
+                    }
+                    segments += Math.max(path.size() - 1, 0);
+                    for (AreaIntersection intersection : restrictedAreaService.findIntersections(path)) {
+                        violations.add(new PathViolation(dronePath.getDroneId(), delivery.getDeliveryId(),
+                                intersection));
+                    }
+                }
+            }
+        }
+
+        return new PathValidationResult(segments, violations);
+    }
+}
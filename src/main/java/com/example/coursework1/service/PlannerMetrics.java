@@ -0,0 +1,105 @@
+package com.example.coursework1.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Meters for the planner hot paths. Everything is registered up front so the
+ * planner only touches pre-built counters and timers.
+ */
+@Component
+public class PlannerMetrics {
+
+    private final MeterRegistry registry;
+    private final Timer singleDronePhase;
+    private final Timer multiDronePhase;
+    private final Timer strictLegFound;
+    private final Timer strictLegFailed;
+    private final Timer relaxedLegFound;
+    private final Timer relaxedLegFailed;
+    private final DistributionSummary strictIterations;
+    private final DistributionSummary relaxedIterations;
+    private final Counter relaxedFallbacks;
+    private final DistributionSummary collisionTests;
+
+    public PlannerMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.singleDronePhase = phaseTimer("single-drone");
+        this.multiDronePhase = phaseTimer("multi-drone");
+        this.strictLegFound = legTimer("strict", "found");
+        this.strictLegFailed = legTimer("strict", "failed");
+        this.relaxedLegFound = legTimer("relaxed", "found");
+        this.relaxedLegFailed = legTimer("relaxed", "failed");
+        this.strictIterations = iterationSummary("strict");
+        this.relaxedIterations = iterationSummary("relaxed");
+        this.relaxedFallbacks = Counter.builder("planner.leg.relaxed.fallbacks")
+                .description("Legs that fell back to relaxed pathfinding")
+                .register(registry);
+        this.collisionTests = DistributionSummary.builder("planner.collision.tests")
+                .description("Restricted-area tests performed per plan")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    void recordLeg(boolean relaxed, boolean found, long nanos, long iterations) {
+        Timer timer = relaxed
+                ? (found ? relaxedLegFound : relaxedLegFailed)
+                : (found ? strictLegFound : strictLegFailed);
+        timer.record(nanos, TimeUnit.NANOSECONDS);
+        (relaxed ? relaxedIterations : strictIterations).record(iterations);
+        if (relaxed) {
+            relaxedFallbacks.increment();
+        }
+    }
+
+    void recordPlan(PlanningTrace trace) {
+        if (trace.singleDronePhaseNanos > 0) {
+            singleDronePhase.record(trace.singleDronePhaseNanos, TimeUnit.NANOSECONDS);
+        }
+        if (trace.multiDronePhaseNanos > 0) {
+            multiDronePhase.record(trace.multiDronePhaseNanos, TimeUnit.NANOSECONDS);
+        }
+        collisionTests.record(trace.collisionTests);
+    }
+
+    /** Exposes hit and miss totals of an in-process cache as {@code cache.gets}. */
+    <T> void bindCache(String cache, T source, ToDoubleFunction<T> hits, ToDoubleFunction<T> misses) {
+        FunctionCounter.builder("cache.gets", source, hits)
+                .tags("cache", cache, "result", "hit")
+                .register(registry);
+        FunctionCounter.builder("cache.gets", source, misses)
+                .tags("cache", cache, "result", "miss")
+                .register(registry);
+    }
+
+    private Timer phaseTimer(String phase) {
+        return Timer.builder("planner.phase")
+                .description("Time spent in each planning phase")
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private Timer legTimer(String mode, String outcome) {
+        return Timer.builder("planner.leg")
+                .description("Pathfinding latency for a single leg")
+                .tags("mode", mode, "outcome", outcome)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    private DistributionSummary iterationSummary(String mode) {
+        return DistributionSummary.builder("planner.leg.iterations")
+                .description("Search iterations per leg")
+                .tag("mode", mode)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+}
@@ -0,0 +1,213 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.MedDispatchRec;
+import com.example.coursework1.index.AvailabilityIndex;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded pool that runs CPU-heavy planning off the request threads. Waiting
+ * tasks are ordered by {@link PlanningPriority}, so an urgent batch starts on the
+ * next free planner thread ahead of queued bulk work. Work beyond the queue
+ * capacity is rejected with {@link RejectedExecutionException}, which the API
+ * reports as 429.
+ */
+@Component
+public class PlanningExecutor implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanningExecutor.class);
+
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final int bulkThreshold;
+    private final long urgentWindowMinutes;
+    private final AtomicLong sequence = new AtomicLong();
+    private final ReentrantLock submitLock = new ReentrantLock();
+    private final RequestCoalescer<String, Object> inFlight = new RequestCoalescer<>();
+
+    public PlanningExecutor(MeterRegistry meterRegistry,
+                            @Value("${planning.threads:0}") int threads,
+                            @Value("${planning.queue-capacity:16}") int queueCapacity,
+                            @Value("${planning.bulk-threshold:50}") int bulkThreshold,
+                            @Value("${planning.urgent-window-minutes:30}") long urgentWindowMinutes) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.queueCapacity = Math.max(1, queueCapacity);
+        this.bulkThreshold = bulkThreshold;
+        this.urgentWindowMinutes = urgentWindowMinutes;
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(),
+                Thread.ofPlatform().name("planner-", 0).daemon(true).factory(),
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("planning.queue.depth", executor, e -> e.getQueue().size())
+                .description("Planning tasks waiting for a planner thread")
+                .register(meterRegistry);
+        Gauge.builder("planning.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Planning tasks currently running")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", inFlight, RequestCoalescer::joinedCount)
+                .tags("cache", "planner.in-flight", "result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("cache.gets", inFlight, RequestCoalescer::computedCount)
+                .tags("cache", "planner.in-flight", "result", "miss")
+                .register(meterRegistry);
+
+        logger.info("Planning executor started with {} threads and queue capacity {}", poolSize, queueCapacity);
+    }
+
+    /**
+     * The requested priority if there is one. Otherwise a batch with a dispatch
+     * due within {@code planning.urgent-window-minutes} from now is urgent, and
+     * batches larger than {@code planning.bulk-threshold} dispatches are bulk work.
+     */
+    public PlanningPriority resolvePriority(PlanningPriority requested, List<MedDispatchRec> dispatches) {
+        return resolvePriority(requested, dispatches, LocalDateTime.now());
+    }
+
+    PlanningPriority resolvePriority(PlanningPriority requested, List<MedDispatchRec> dispatches,
+                                     LocalDateTime now) {
+        if (requested != null) {
+            return requested;
+        }
+        if (dispatches == null) {
+            return PlanningPriority.STANDARD;
+        }
+        if (urgentWindowMinutes > 0) {
+            LocalDateTime horizon = now.plusMinutes(urgentWindowMinutes);
+            for (MedDispatchRec dispatch : dispatches) {
+                LocalDateTime due = dueAt(dispatch);
+                if (due != null && !due.isBefore(now) && !due.isAfter(horizon)) {
+                    return PlanningPriority.URGENT;
+                }
+            }
+        }
+        return dispatches.size() > bulkThreshold ? PlanningPriority.BULK : PlanningPriority.STANDARD;
+    }
+
+    /** When the dispatch is due, or null if it has no parseable date and time. */
+    private static LocalDateTime dueAt(MedDispatchRec dispatch) {
+        if (dispatch == null || dispatch.getDate() == null || dispatch.getTime() == null) {
+            return null;
+        }
+        int secondOfDay = AvailabilityIndex.parseSecondOfDay(dispatch.getTime());
+        if (secondOfDay < 0) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(dispatch.getDate()).atStartOfDay().plusSeconds(secondOfDay);
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    public Future<?> submit(Runnable task) {
+        return submit(task, PlanningPriority.STANDARD);
+    }
+
+    public Future<?> submit(Runnable task, PlanningPriority priority) {
+        return enqueue(new PrioritizedTask<>(Executors.callable(task), priority, sequence.getAndIncrement()));
+    }
+
+    private <T> PrioritizedTask<T> enqueue(PrioritizedTask<T> task) {
+        submitLock.lock();
+        try {
+            int waiting = executor.getQueue().size();
+            if (waiting >= queueCapacity) {
+                logger.warn("Planning queue full ({} waiting), rejecting {} task", waiting, task.priority);
+                throw new RejectedExecutionException("Planning queue is full, retry later");
+            }
+            executor.execute(task);
+            return task;
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    /**
+     * Runs planning work for a synchronous request on the planner pool and waits
+     * for it, so it is ordered by {@code priority} with queued jobs and streams.
+     * A virtual request thread parks without holding a carrier. Like any other
+     * submission, a full queue rejects it and it is answered with 429.
+     */
+    public <T> T callBounded(Callable<T> task, PlanningPriority priority) {
+        Future<T> future = enqueue(new PrioritizedTask<>(task, priority, sequence.getAndIncrement()));
+
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Planning request interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Like {@link #callBounded}, but a call whose {@code key} matches one already
+     * queued or running waits for that call's result on its own thread instead of
+     * enqueueing, so a burst of identical requests takes one queue slot and one
+     * planner thread. Keys must identify the result type as well as the input.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T callCoalesced(String key, Callable<T> task, PlanningPriority priority) {
+        return (T) inFlight.execute(key, () -> callBounded(task, priority));
+    }
+
+    public void purge() {
+        executor.purge();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static final class PrioritizedTask<T> extends FutureTask<T> implements Comparable<PrioritizedTask<?>> {
+
+        private final PlanningPriority priority;
+        private final long sequence;
+
+        PrioritizedTask(Callable<T> callable, PlanningPriority priority, long sequence) {
+            super(callable);
+            this.priority = priority != null ? priority : PlanningPriority.STANDARD;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public int compareTo(PrioritizedTask<?> other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+}
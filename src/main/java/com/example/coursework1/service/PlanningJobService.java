@@ -0,0 +1,165 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.CalcDeliveryResult;
+import com.example.coursework1.dto.MedDispatchRec;
+import com.example.coursework1.dto.PlanningJobStatus;
+import com.example.coursework1.dto.PlanningJobStatus.State;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class PlanningJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanningJobService.class);
+
+    private final DeliveryPlannerService deliveryPlannerService;
+    private final PlanningExecutor planningExecutor;
+    private final long retentionMillis;
+    private final long maxWaitMillis;
+
+    private final Map<String, PlanningJob> jobs = new ConcurrentHashMap<>();
+
+    public PlanningJobService(DeliveryPlannerService deliveryPlannerService,
+                              PlanningExecutor planningExecutor,
+                              @Value("${planning.job-retention-ms:600000}") long retentionMillis,
+                              @Value("${planning.max-wait-ms:25000}") long maxWaitMillis) {
+        this.deliveryPlannerService = deliveryPlannerService;
+        this.planningExecutor = planningExecutor;
+        this.retentionMillis = retentionMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public PlanningJobStatus submit(List<MedDispatchRec> dispatches) {
+        return submit(dispatches, null);
+    }
+
+    public PlanningJobStatus submit(List<MedDispatchRec> dispatches, PlanningPriority requestedPriority) {
+        evictExpiredJobs();
+
+        PlanningPriority priority = planningExecutor.resolvePriority(requestedPriority, dispatches);
+
+        PlanningJob job = new PlanningJob(UUID.randomUUID().toString());
+        jobs.put(job.id, job);
+
+        try {
+            job.task = planningExecutor.submit(() -> run(job, dispatches), priority);
+        } catch (RuntimeException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+
+        logger.info("Queued {} planning job {} for {} dispatches", priority, job.id,
+                dispatches != null ? dispatches.size() : 0);
+        return job.status();
+    }
+
+    public PlanningJobStatus status(String jobId) {
+        PlanningJob job = jobs.get(jobId);
+        return job == null ? null : job.status();
+    }
+
+    public CompletableFuture<PlanningJobStatus> awaitStatus(String jobId, long waitMillis) {
+        PlanningJob job = jobs.get(jobId);
+        if (job == null) {
+            return null;
+        }
+
+        long wait = Math.min(Math.max(0, waitMillis), maxWaitMillis);
+        if (wait == 0 || job.result.isDone()) {
+            return CompletableFuture.completedFuture(job.status());
+        }
+
+        return job.result
+                .handle((result, error) -> job.status())
+                .completeOnTimeout(null, wait, TimeUnit.MILLISECONDS)
+                .thenApply(status -> status != null ? status : job.status());
+    }
+
+    public PlanningJobStatus cancel(String jobId) {
+        PlanningJob job = jobs.get(jobId);
+        if (job == null) {
+            return null;
+        }
+
+        if (job.result.cancel(false)) {
+            job.finish();
+            Future<?> task = job.task;
+            if (task != null) {
+                task.cancel(true);
+            }
+            planningExecutor.purge();
+            logger.info("Cancelled planning job {}", jobId);
+        }
+        return job.status();
+    }
+
+    private void run(PlanningJob job, List<MedDispatchRec> dispatches) {
+        if (job.result.isDone()) {
+            return;
+        }
+
+        job.state = State.RUNNING;
+        try {
+            CalcDeliveryResult result = deliveryPlannerService.calcDeliveryPath(dispatches);
+            job.result.complete(result);
+        } catch (CancellationException e) {
+            // also reached when the planner is interrupted by a shutdown rather than cancel()
+            job.result.cancel(false);
+            logger.info("Planning job {} stopped after cancellation", job.id);
+        } catch (Exception e) {
+            logger.error("Planning job {} failed", job.id, e);
+            job.result.completeExceptionally(e);
+        } finally {
+            job.finish();
+        }
+    }
+
+    private void evictExpiredJobs() {
+        long cutoff = System.currentTimeMillis() - retentionMillis;
+        jobs.values().removeIf(job -> job.finishedAtMillis != 0 && job.finishedAtMillis < cutoff);
+    }
+
+    private static final class PlanningJob {
+
+        private final String id;
+        private final CompletableFuture<CalcDeliveryResult> result = new CompletableFuture<>();
+        private volatile Future<?> task;
+        private volatile State state = State.QUEUED;
+        private volatile long finishedAtMillis;
+
+        PlanningJob(String id) {
+            this.id = id;
+        }
+
+        void finish() {
+            finishedAtMillis = System.currentTimeMillis();
+        }
+
+        PlanningJobStatus status() {
+            if (!result.isDone()) {
+                return new PlanningJobStatus(id, state, null, null);
+            }
+            if (result.isCancelled()) {
+                return new PlanningJobStatus(id, State.CANCELLED, null, null);
+            }
+            try {
+                return new PlanningJobStatus(id, State.SUCCEEDED, result.join(), null);
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                return new PlanningJobStatus(id, State.FAILED, null, cause.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.DronePathResult;
+import com.example.coursework1.dto.FlightResult;
+import com.example.coursework1.dto.PlanningProgress;
+
+/**
+ * Callbacks fired by {@link DeliveryPlannerService} on the planning thread as
+ * parts of a plan become final.
+ */
+public interface PlanningListener {
+
+    PlanningListener NONE = new PlanningListener() {};
+
+    default void onPhase(String phase) {}
+
+    default void onFlightCompleted(FlightResult flight) {}
+
+    default void onDronePath(DronePathResult dronePath) {}
+
+    default void onProgress(PlanningProgress progress) {}
+}
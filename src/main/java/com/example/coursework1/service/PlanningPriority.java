@@ -0,0 +1,21 @@
+package com.example.coursework1.service;
+
+import java.util.Locale;
+
+/**
+ * Scheduling class for planning work. Queued tasks run in declaration order
+ * of their class, first come first served within a class.
+ */
+public enum PlanningPriority {
+
+    URGENT, STANDARD, BULK;
+
+    public static PlanningPriority fromName(String name) {
+        if (name == null || name.isBlank()) return null;
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown planning priority: " + name);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.CalcDeliveryResult;
+import com.example.coursework1.dto.DronePathResult;
+import com.example.coursework1.dto.FlightResult;
+import com.example.coursework1.dto.MedDispatchRec;
+import com.example.coursework1.dto.PlanningProgress;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+
+/**
+ * Streams a plan as server-sent events: each flight and drone path is pushed as
+ * soon as the planner finalises it, followed by the full result. Planning runs on
+ * {@link PlanningExecutor}; a client disconnect or timeout cancels it.
+ */
+@Service
+public class PlanningStreamService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlanningStreamService.class);
+
+    private final DeliveryPlannerService deliveryPlannerService;
+    private final PlanningExecutor planningExecutor;
+    private final long timeoutMillis;
+
+    public PlanningStreamService(DeliveryPlannerService deliveryPlannerService,
+                                 PlanningExecutor planningExecutor,
+                                 @Value("${planning.stream-timeout-ms:120000}") long timeoutMillis) {
+        this.deliveryPlannerService = deliveryPlannerService;
+        this.planningExecutor = planningExecutor;
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public SseEmitter stream(List<MedDispatchRec> dispatches, PlanningPriority requestedPriority) {
+        PlanningPriority priority = planningExecutor.resolvePriority(requestedPriority, dispatches);
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Future<?> task = planningExecutor.submit(() -> run(emitter, dispatches), priority);
+
+        Runnable cancel = () -> task.cancel(true);
+        emitter.onTimeout(cancel);
+        emitter.onError(error -> cancel.run());
+        emitter.onCompletion(cancel);
+        return emitter;
+    }
+
+    private void run(SseEmitter emitter, List<MedDispatchRec> dispatches) {
+        try {
+            CalcDeliveryResult result = deliveryPlannerService.calcDeliveryPath(dispatches, new EmitterListener(emitter));
+            send(emitter, "result", result);
+            emitter.complete();
+        } catch (CancellationException e) {
+            logger.info("Planning stream stopped after cancellation");
+        } catch (ClientGoneException e) {
+            logger.info("Planning stream client disconnected");
+        } catch (Exception e) {
+            logger.error("Planning stream failed", e);
+            try {
+                send(emitter, "error", Map.of("error", String.valueOf(e.getMessage())));
+                emitter.complete();
+            } catch (ClientGoneException ignored) {
+                // client already gone, nothing to report to
+            }
+        }
+    }
+
+    private static void send(SseEmitter emitter, String name, Object data) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Planning stream cancelled");
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            throw new ClientGoneException(e);
+        }
+    }
+
+    private static final class EmitterListener implements PlanningListener {
+
+        private final SseEmitter emitter;
+
+        EmitterListener(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        @Override
+        public void onPhase(String phase) {
+            send(emitter, "phase", Map.of("phase", phase));
+        }
+
+        @Override
+        public void onFlightCompleted(FlightResult flight) {
+            send(emitter, "flight", flight);
+        }
+
+        @Override
+        public void onDronePath(DronePathResult dronePath) {
+            send(emitter, "dronePath", dronePath);
+        }
+
+        @Override
+        public void onProgress(PlanningProgress progress) {
+            send(emitter, "progress", progress);
+        }
+    }
+
+    private static final class ClientGoneException extends RuntimeException {
+        ClientGoneException(Throwable cause) {
+            super(cause);
+        }
+    }
+}
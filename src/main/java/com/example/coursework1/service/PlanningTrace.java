@@ -0,0 +1,94 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.LngLat;
+import com.example.coursework1.dto.PlanningProfile;
+import com.example.coursework1.model.Position;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Per-request planning counters. A plan runs on a single thread, so the trace is
+ * bound to that thread for the duration of the plan and updated without
+ * synchronisation; {@link PlannerMetrics} folds it into the shared meters when
+ * the plan ends. Per-leg and per-dispatch detail is only collected in explain mode.
+ */
+final class PlanningTrace {
+
+    private static final ThreadLocal<PlanningTrace> CURRENT = new ThreadLocal<>();
+
+    /** Shared by all work outside a plan; counts written to it are never read. */
+    static final PlanningTrace NONE = new PlanningTrace(false);
+
+    final boolean explain;
+    long singleDronePhaseNanos;
+    long multiDronePhaseNanos;
+    int legs;
+    int failedLegs;
+    int relaxedLegs;
+    long legNanos;
+    long iterations;
+    long collisionTests;
+
+    private final List<PlanningProfile.Leg> legDetails = new ArrayList<>();
+    private final List<PlanningProfile.RolledBackFlight> rolledBackFlights = new ArrayList<>();
+    private final List<PlanningProfile.SkippedDispatch> skippedDispatches = new ArrayList<>();
+
+    private PlanningTrace(boolean explain) {
+        this.explain = explain;
+    }
+
+    static PlanningTrace begin(boolean explain) {
+        PlanningTrace trace = new PlanningTrace(explain);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * The trace of the plan running on this thread, or {@link #NONE} outside a
+     * plan. Searches resolve it once per leg rather than per collision test.
+     */
+    static PlanningTrace current() {
+        PlanningTrace trace = CURRENT.get();
+        return trace != null ? trace : NONE;
+    }
+
+    void leg(Position from, Position to, boolean relaxed, boolean found, long legIterations, long nanos) {
+        if (!explain) return;
+        legDetails.add(new PlanningProfile.Leg(toLngLat(from), toLngLat(to),
+                relaxed ? "relaxed" : "strict", found, legIterations, nanos / 1e6));
+    }
+
+    void rolledBack(String droneId, int flightNumber, List<Integer> dispatchIds, String reason) {
+        if (!explain) return;
+        rolledBackFlights.add(new PlanningProfile.RolledBackFlight(droneId, flightNumber, dispatchIds, reason));
+    }
+
+    void skipped(Integer dispatchId, String reason) {
+        if (!explain) return;
+        skippedDispatches.add(new PlanningProfile.SkippedDispatch(dispatchId, reason));
+    }
+
+    PlanningProfile toProfile() {
+        PlanningProfile profile = new PlanningProfile();
+        profile.setSingleDronePhaseMillis(singleDronePhaseNanos / 1e6);
+        profile.setMultiDronePhaseMillis(multiDronePhaseNanos / 1e6);
+        profile.setLegs(legs);
+        profile.setRelaxedFallbacks(relaxedLegs);
+        profile.setFailedLegs(failedLegs);
+        profile.setIterations(iterations);
+        profile.setCollisionTests(collisionTests);
+        profile.setLegDetails(List.copyOf(legDetails));
+        profile.setRolledBackFlights(List.copyOf(rolledBackFlights));
+        profile.setSkippedDispatches(List.copyOf(skippedDispatches));
+        return profile;
+    }
+
+    private static LngLat toLngLat(Position p) {
+        return p == null || p.getLng() == null || p.getLat() == null ? null : new LngLat(p.getLng(), p.getLat());
+    }
+}
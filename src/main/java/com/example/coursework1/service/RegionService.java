@@ -1,6 +1,8 @@
 package com.example.coursework1.service;
 
+import com.example.coursework1.dto.Region;
 import com.example.coursework1.dto.RegionRequest;
+import com.example.coursework1.geometry.CompiledPolygon;
 import com.example.coursework1.model.Position;
 import org.springframework.stereotype.Service;
 
@@ -12,66 +14,54 @@ public class RegionService {
     private static final double TOLERANCE = 1e-12;
 
     public boolean isInRegion(RegionRequest request) {
-        List<Position> vertices = request.getRegion().getVertices();
-        Position point = request.getPosition();
-
-        if (vertices == null || vertices.size() < 4) {
-            throw new IllegalArgumentException("Region must have at least 4 vertices.");
-        }
+        return compile(request.getRegion()).contains(request.getPosition());
+    }
 
-        Position first = vertices.get(0);
-        Position last = vertices.get(vertices.size() - 1);
+    public boolean[] isInRegion(Region region, List<Position> points) {
+        CompiledPolygon polygon = compile(region);
+        boolean[] inside = new boolean[points.size()];
+        BulkIndices.of(points.size()).forEach(i -> inside[i] = polygon.contains(points.get(i)));
+        return inside;
+    }
 
-        if (Math.abs(first.getLng() - last.getLng()) > TOLERANCE ||
-                Math.abs(first.getLat() - last.getLat()) > TOLERANCE) {
-            throw new IllegalArgumentException("Polygon must be closed (first and last vertices must match).");
+    public CompiledPolygon compile(Region region) {
+        String problem = problemWith(region.getVertices());
+        if (problem != null) {
+            throw new IllegalArgumentException(problem);
         }
+        return CompiledPolygon.of(region.getVertices());
+    }
 
-        if (isOnBoundary(point, vertices)) {
-            return true;
+    /**
+     * The compiled polygon for {@code vertices}, or null when they do not form a
+     * valid region, without throwing. Nothing is cached here; callers that check
+     * the same polygon repeatedly keep the result, as RestrictedAreaService does
+     * once per snapshot.
+     */
+    public CompiledPolygon tryCompile(List<Position> vertices) {
+        if (vertices == null) {
+            return null;
         }
-
-        boolean inside = false;
-        double px = point.getLng();
-        double py = point.getLat();
-
-        for (int i = 0, j = vertices.size() - 1; i < vertices.size(); j = i++) {
-            double xi = vertices.get(i).getLng(), yi = vertices.get(i).getLat();
-            double xj = vertices.get(j).getLng(), yj = vertices.get(j).getLat();
-
-            if (Math.abs(yj - yi) < TOLERANCE) continue;
-
-            boolean intersect = ((yi > py) != (yj > py)) &&
-                    (px < (xj - xi) * (py - yi) / (yj - yi) + xi);
-
-            if (intersect)
-                inside = !inside;
+        for (Position vertex : vertices) {
+            if (vertex == null || vertex.getLng() == null || vertex.getLat() == null) {
+                return null;
+            }
         }
-
-        return inside;
+        return problemWith(vertices) == null ? CompiledPolygon.of(vertices) : null;
     }
 
-    private boolean isOnBoundary(Position point, List<Position> vertices) {
-        double px = point.getLng();
-        double py = point.getLat();
-
-        for (int i = 0; i < vertices.size() - 1; i++) {
-            double x1 = vertices.get(i).getLng();
-            double y1 = vertices.get(i).getLat();
-            double x2 = vertices.get(i + 1).getLng();
-            double y2 = vertices.get(i + 1).getLat();
-
-            double dx = x2 - x1;
-            double dy = y2 - y1;
+    private static String problemWith(List<Position> vertices) {
+        if (vertices == null || vertices.size() < 4) {
+            return "Region must have at least 4 vertices.";
+        }
 
-            double cross = (px - x1) * dy - (py - y1) * dx;
-            if (Math.abs(cross) > TOLERANCE) continue;
+        Position first = vertices.get(0);
+        Position last = vertices.get(vertices.size() - 1);
 
-            double dot = (px - x1) * (px - x2) + (py - y1) * (py - y2);
-            if (dot <= TOLERANCE)
-                return true;
+        if (Math.abs(first.getLng() - last.getLng()) > TOLERANCE ||
+                Math.abs(first.getLat() - last.getLat()) > TOLERANCE) {
+            return "Polygon must be closed (first and last vertices must match).";
         }
-
-        return false;
+        return null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,73 @@
+package com.example.coursework1.service;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Lets callers with the same key share one in-flight computation. Nothing is
+ * kept once the computation finishes, so this deduplicates bursts rather than
+ * caching results. If the leading caller is cancelled, a waiting caller takes
+ * over and computes the value itself.
+ */
+final class RequestCoalescer<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder computed = new LongAdder();
+    private final LongAdder joined = new LongAdder();
+
+    V execute(K key, Supplier<V> computation) {
+        while (true) {
+            CompletableFuture<V> mine = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+
+            if (existing == null) {
+                computed.increment();
+                try {
+                    V value = computation.get();
+                    mine.complete(value);
+                    return value;
+                } catch (RuntimeException | Error e) {
+                    mine.completeExceptionally(e);
+                    throw e;
+                } finally {
+                    inFlight.remove(key, mine);
+                }
+            }
+
+            joined.increment();
+            try {
+                return existing.get();
+            } catch (CancellationException e) {
+                // the leader was cancelled; retry, becoming the leader if nobody else has
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CancellationException("Interrupted while waiting for an identical request");
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException runtime) {
+                    throw runtime;
+                }
+                if (cause instanceof Error error) {
+                    throw error;
+                }
+                throw new IllegalStateException(cause);
+            }
+        }
+    }
+
+    int inFlightCount() {
+        return inFlight.size();
+    }
+
+    double computedCount() {
+        return computed.sum();
+    }
+
+    double joinedCount() {
+        return joined.sum();
+    }
+}
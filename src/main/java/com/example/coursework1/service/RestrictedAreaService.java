@@ -1,29 +1,69 @@
 package com.example.coursework1.service;
 
-import com.example.coursework1.dto.Region;
-import com.example.coursework1.dto.RegionRequest;
+import com.example.coursework1.dto.AreaIntersection;
+import com.example.coursework1.geometry.CompiledPolygon;
+import com.example.coursework1.geometry.ObstacleBuffer;
+import com.example.coursework1.geometry.OccupancyRaster;
+import com.example.coursework1.index.RTree;
+import com.example.coursework1.index.SnapshotMemo;
 import com.example.coursework1.model.Position;
 import com.example.coursework1.model.RestrictedArea;
 import com.example.coursework1.repository.RestrictedAreaRepository;
+import com.example.coursework1.repository.Snapshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
 
 @Service
 public class RestrictedAreaService {
 
     private static final Logger logger = LoggerFactory.getLogger(RestrictedAreaService.class);
-    private static final double TOLERANCE = 1e-10;
+    private static final double BOX_MARGIN = 1e-9;
+    /** A quarter of the planner's 0.00015 move, so a single move spans only a few cells. */
+    private static final double RASTER_CELL = 0.0000375;
+    private static final int SWEEP_CHUNK = 64;
 
     private final RestrictedAreaRepository restrictedAreaRepository;
     private final RegionService regionService;
+    private final double clearance;
+    private final SnapshotMemo<AreaIndex> indexMemo = new SnapshotMemo<>();
+
+    /**
+     * Restricted areas of one snapshot as obstacles: the compiled area polygons
+     * come first, index-aligned with the areas (null where the vertices are
+     * unusable), followed by the clearance capsules of each area, whose owning
+     * area is in {@code owners}. {@code solid} marks the obstacles that are valid
+     * regions. An R-tree over the obstacle bounding boxes and an occupancy raster
+     * settle most queries before the exact geometry runs.
+     */
+    private record AreaIndex(List<RestrictedArea> areas, List<CompiledPolygon> polygons, int[] owners,
+                             BitSet solid, RTree tree, OccupancyRaster raster) {
+
+        boolean isBuffer(int obstacle) {
+            return obstacle >= areas.size();
+        }
+
+        RestrictedArea area(int obstacle) {
+            return areas.get(isBuffer(obstacle) ? owners[obstacle - areas.size()] : obstacle);
+        }
+    }
 
     public RestrictedAreaService(RestrictedAreaRepository restrictedAreaRepository,
-                                 RegionService regionService) {
+                                 RegionService regionService,
+                                 @Value("${planning.clearance:0}") double clearance) {
         this.restrictedAreaRepository = restrictedAreaRepository;
         this.regionService = regionService;
+        this.clearance = Math.max(clearance, 0);
     }
 
     public boolean isInRestrictedArea(Position position) {
@@ -31,27 +71,27 @@ public class RestrictedAreaService {
             return false;
         }
 
-        List<RestrictedArea> areas = restrictedAreaRepository.fetchRestrictedAreas();
-
-        for (RestrictedArea area : areas) {
-            if (area.getVertices() == null || area.getVertices().isEmpty()) {
-                continue;
-            }
-
-            Region region = new Region(area.getName(), area.getVertices());
-            RegionRequest request = new RegionRequest(position, region);
+        return isInRestrictedArea(areaIndex(), position);
+    }
 
-            try {
-                if (regionService.isInRegion(request)) {
-                    logger.debug("Position {} is in restricted area: {}", position, area.getName());
-                    return true;
-                }
-            } catch (Exception e) {
-                logger.warn("Error checking if position is in area {}: {}", area.getName(), e.getMessage());
-            }
+    private boolean isInRestrictedArea(AreaIndex index, Position position) {
+        double x = position.getLng(), y = position.getLat();
+        int state = index.raster().state(x, y);
+        if (state != OccupancyRaster.BOUNDARY) {
+            return state == OccupancyRaster.BLOCKED;
         }
 
-        return false;
+        return index.tree().anyMatch(x, y, x, y, a -> {
+            if (!index.solid().get(a) || !index.polygons().get(a).contains(x, y)) {
+                return false;
+            }
+            if (index.isBuffer(a)) {
+                logger.debug("Position {} is within clearance of restricted area: {}", position, index.area(a).getName());
+            } else {
+                logger.debug("Position {} is in restricted area: {}", position, index.area(a).getName());
+            }
+            return true;
+        });
     }
 
     public boolean pathCrossesRestrictedArea(Position from, Position to) {
@@ -59,84 +99,88 @@ public class RestrictedAreaService {
             return false;
         }
 
-        if (isInRestrictedArea(from) || isInRestrictedArea(to)) {
+        return pathCrossesRestrictedArea(areaIndex(), from, to);
+    }
+
+    private boolean pathCrossesRestrictedArea(AreaIndex index, Position from, Position to) {
+        int state = index.raster().state(from.getLng(), from.getLat(), to.getLng(), to.getLat());
+        if (state != OccupancyRaster.BOUNDARY) {
+            return state == OccupancyRaster.BLOCKED;
+        }
+
+        if (isInRestrictedArea(index, from) || isInRestrictedArea(index, to)) {
             logger.debug("Path endpoint in restricted area: from={}, to={}", from, to);
             return true;
         }
 
-        List<RestrictedArea> areas = restrictedAreaRepository.fetchRestrictedAreas();
-
-        for (RestrictedArea area : areas) {
-            if (area.getVertices() == null || area.getVertices().isEmpty()) {
-                continue;
-            }
-
-            if (lineSegmentIntersectsPolygon(from, to, area.getVertices())) {
+        double ax = from.getLng(), ay = from.getLat(), bx = to.getLng(), by = to.getLat();
+        return index.tree().anyMatch(Math.min(ax, bx), Math.min(ay, by), Math.max(ax, bx), Math.max(ay, by), a -> {
+            CompiledPolygon polygon = index.polygons().get(a);
+            boolean hit = index.solid().get(a)
+                    ? polygon.intersectsSegment(ax, ay, bx, by)
+                    : polygon.touchesEdges(ax, ay, bx, by);
+            if (hit) {
                 logger.debug("Path crosses restricted area {}: from {} to {}",
-                        area.getName(), from, to);
+                        index.area(a).getName(), from, to);
                 return true;
             }
-        }
-
-        return false;
+            return false;
+        });
     }
 
-    private boolean lineSegmentIntersectsPolygon(Position p1, Position p2, List<Position> polygon) {
-        if (polygon == null || polygon.size() < 2) {
-            return false;
-        }
+    private AreaIndex areaIndex() {
+        Snapshot<List<RestrictedArea>> snapshot = restrictedAreaRepository.restrictedAreaSnapshot();
+        return indexMemo.get(snapshot.getVersion(), () -> buildIndex(snapshot.getValue()));
+    }
 
-        for (int i = 0; i < polygon.size() - 1; i++) {
-            Position v1 = polygon.get(i);
-            Position v2 = polygon.get(i + 1);
+    private AreaIndex buildIndex(List<RestrictedArea> areas) {
+        List<CompiledPolygon> polygons = new ArrayList<>(areas.size());
+        BitSet solid = new BitSet();
 
-            if (lineSegmentsIntersect(p1, p2, v1, v2)) {
-                return true;
+        for (int a = 0; a < areas.size(); a++) {
+            RestrictedArea area = areas.get(a);
+            CompiledPolygon polygon = regionService.tryCompile(area.getVertices());
+            if (polygon != null) {
+                solid.set(a);
+            } else if (area.getVertices() != null && area.getVertices().size() >= 2) {
+                try {
+                    polygon = CompiledPolygon.of(area.getVertices());
+                    logger.debug("Restricted area {} is not a valid region, rasterising it as boundary only",
+                            area.getName());
+                } catch (NullPointerException e) {
+                    logger.warn("Restricted area {} has incomplete vertices, ignoring it", area.getName());
+                }
             }
+            polygons.add(polygon);
         }
 
-        int samples = 10;
-        for (int i = 1; i < samples; i++) {
-            double t = (double) i / samples;
-            double lng = p1.getLng() + t * (p2.getLng() - p1.getLng());
-            double lat = p1.getLat() + t * (p2.getLat() - p1.getLat());
-
-            Position testPoint = new Position(lng, lat);
-
-            Region region = new Region("test", polygon);
-            RegionRequest request = new RegionRequest(testPoint, region);
-
-            try {
-                if (regionService.isInRegion(request)) {
-                    return true;
-                }
-            } catch (Exception e) {
+        List<Integer> owners = new ArrayList<>();
+        for (int a = 0; a < areas.size(); a++) {
+            if (polygons.get(a) == null) continue;
+            for (CompiledPolygon capsule : ObstacleBuffer.capsules(polygons.get(a), clearance)) {
+                solid.set(polygons.size());
+                polygons.add(capsule);
+                owners.add(a);
             }
         }
 
-        return false;
-    }
-
-    private boolean lineSegmentsIntersect(Position p1, Position p2, Position p3, Position p4) {
-        double x1 = p1.getLng(), y1 = p1.getLat();
-        double x2 = p2.getLng(), y2 = p2.getLat();
-        double x3 = p3.getLng(), y3 = p3.getLat();
-        double x4 = p4.getLng(), y4 = p4.getLat();
-
-        double d1x = x2 - x1, d1y = y2 - y1;
-        double d2x = x4 - x3, d2y = y4 - y3;
-
-        double denominator = d1x * d2y - d1y * d2x;
-
-        if (Math.abs(denominator) < TOLERANCE) {
-            return false;
+        int count = polygons.size();
+        double[] minX = new double[count], minY = new double[count];
+        double[] maxX = new double[count], maxY = new double[count];
+        for (int o = 0; o < count; o++) {
+            CompiledPolygon polygon = polygons.get(o);
+            if (polygon == null) {
+                minX[o] = minY[o] = maxX[o] = maxY[o] = Double.NaN;
+            } else {
+                minX[o] = polygon.getMinX() - BOX_MARGIN;
+                minY[o] = polygon.getMinY() - BOX_MARGIN;
+                maxX[o] = polygon.getMaxX() + BOX_MARGIN;
+                maxY[o] = polygon.getMaxY() + BOX_MARGIN;
+            }
         }
 
-        double t = ((x3 - x1) * d2y - (y3 - y1) * d2x) / denominator;
-        double u = ((x3 - x1) * d1y - (y3 - y1) * d1x) / denominator;
-
-        double eps = TOLERANCE;
-        return (t >= -eps && t <= 1 + eps) && (u >= -eps && u <= 1 + eps);
+        return new AreaIndex(areas, polygons, owners.stream().mapToInt(Integer::intValue).toArray(), solid,
+                RTree.build(minX, minY, maxX, maxY), OccupancyRaster.build(polygons, solid, RASTER_CELL));
     }
 
     public boolean flightPathCrossesRestrictedArea(List<Position> flightPath) {
@@ -144,8 +188,10 @@ public class RestrictedAreaService {
             return false;
         }
 
+        AreaIndex index = areaIndex();
         for (int i = 0; i < flightPath.size() - 1; i++) {
-            if (pathCrossesRestrictedArea(flightPath.get(i), flightPath.get(i + 1))) {
+            Position from = flightPath.get(i), to = flightPath.get(i + 1);
+            if (from != null && to != null && pathCrossesRestrictedArea(index, from, to)) {
                 return true;
             }
         }
@@ -153,36 +199,114 @@ public class RestrictedAreaService {
         return false;
     }
 
+    /** Name of the area (or clearance buffer) a-b meets first, or null when the segment is clear. */
     public String getRestrictedAreaNameForPath(Position from, Position to) {
-        List<RestrictedArea> areas = restrictedAreaRepository.fetchRestrictedAreas();
+        List<AreaHit> hits = intersect(areaIndex(), from, to);
+        return hits.isEmpty() ? null : hits.get(0).area().getName();
+    }
 
-        int samples = 20;
-        for (int i = 0; i <= samples; i++) {
-            double t = (double) i / samples;
-            double lng = from.getLng() + t * (to.getLng() - from.getLng());
-            double lat = from.getLat() + t * (to.getLat() - from.getLat());
+    /**
+     * Every restricted area each segment of {@code path} intersects, with entry and
+     * exit fractions along the segment, ordered by segment and then by entry. A
+     * segment that only passes within the clearance of an area is reported as a
+     * clearance hit, so validation agrees with what the planner avoids. Segments
+     * are taken in chunks whose swept bounding box is checked against the R-tree
+     * first, so stretches far from any area are skipped as a whole, and chunks are
+     * tested in parallel.
+     */
+    public List<AreaIntersection> findIntersections(List<Position> path) {
+        AreaIndex index = areaIndex();
+        int segments = path.size() - 1;
+        if (segments < 1) {
+            return List.of();
+        }
 
-            Position point = new Position(lng, lat);
+        int chunks = (segments + SWEEP_CHUNK - 1) / SWEEP_CHUNK;
+        List<List<AreaIntersection>> found = new ArrayList<>(Collections.nCopies(chunks, List.of()));
+        IntStream chunkIndices = IntStream.range(0, chunks);
+        (chunks > 1 ? chunkIndices.parallel() : chunkIndices).forEach(c -> {
+            int first = c * SWEEP_CHUNK, last = Math.min(first + SWEEP_CHUNK, segments);
+            if (sweptBoxIsClear(index, path, first, last)) {
+                return;
+            }
 
-            for (RestrictedArea area : areas) {
-                if (area.getVertices() == null || area.getVertices().isEmpty()) {
-                    continue;
+            List<AreaIntersection> intersections = new ArrayList<>();
+            for (int s = first; s < last; s++) {
+                Position from = path.get(s), to = path.get(s + 1);
+                for (AreaHit hit : intersect(index, from, to)) {
+                    intersections.add(new AreaIntersection(s, hit.area().getName(), hit.entry(), hit.exit(),
+                            interpolate(from, to, hit.entry()), interpolate(from, to, hit.exit()),
+                            hit.clearance()));
                 }
+            }
+            found.set(c, intersections);
+        });
+
+        return found.stream().flatMap(List::stream).toList();
+    }
 
-                Region region = new Region(area.getName(), area.getVertices());
-                RegionRequest request = new RegionRequest(point, region);
+    /** Whether the box swept by segments [first, last) of the path meets no area or buffer. */
+    private static boolean sweptBoxIsClear(AreaIndex index, List<Position> path, int first, int last) {
+        double minX = Double.POSITIVE_INFINITY, minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY, maxY = Double.NEGATIVE_INFINITY;
+        for (int i = first; i <= last; i++) {
+            Position position = path.get(i);
+            minX = Math.min(minX, position.getLng());
+            minY = Math.min(minY, position.getLat());
+            maxX = Math.max(maxX, position.getLng());
+            maxY = Math.max(maxY, position.getLat());
+        }
+        return !index.tree().anyMatch(minX, minY, maxX, maxY, o -> true);
+    }
 
-                try {
-                    if (regionService.isInRegion(request)) {
-                        return area.getName();
-                    }
-                } catch (Exception e) {
-                    logger.warn("Error checking area {}: {}", area.getName(), e.getMessage());
-                }
-            }
+    private record AreaHit(int ordinal, RestrictedArea area, double entry, double exit, boolean clearance) {
+
+        AreaHit merge(AreaHit other) {
+            return new AreaHit(ordinal, area, Math.min(entry, other.entry), Math.max(exit, other.exit), clearance);
+        }
+    }
+
+    /**
+     * Areas a-b meets, one hit per area: the area itself when the segment enters
+     * it, otherwise the union of its clearance capsules the segment crosses. An
+     * area that is not a closed region is met only where a-b crosses its edges.
+     */
+    private List<AreaHit> intersect(AreaIndex index, Position from, Position to) {
+        double ax = from.getLng(), ay = from.getLat(), bx = to.getLng(), by = to.getLat();
+        if (index.raster().state(ax, ay, bx, by) == OccupancyRaster.FREE) {
+            return List.of();
         }
 
-        return null;
+        Map<Integer, AreaHit> areaHits = new HashMap<>();
+        Map<Integer, AreaHit> bufferHits = new HashMap<>();
+        index.tree().forEach(Math.min(ax, bx), Math.min(ay, by), Math.max(ax, bx), Math.max(ay, by), o -> {
+            CompiledPolygon polygon = index.polygons().get(o);
+            double[] range = index.solid().get(o)
+                    ? polygon.segmentRange(ax, ay, bx, by)
+                    : polygon.edgeCrossing(ax, ay, bx, by);
+            if (range == null) {
+                return;
+            }
+
+            boolean buffer = index.isBuffer(o);
+            int ordinal = buffer ? index.owners()[o - index.areas().size()] : o;
+            (buffer ? bufferHits : areaHits).merge(ordinal,
+                    new AreaHit(ordinal, index.area(o), range[0], range[1], buffer), AreaHit::merge);
+        });
+
+        List<AreaHit> hits = new ArrayList<>(areaHits.values());
+        bufferHits.forEach((ordinal, hit) -> {
+            if (!areaHits.containsKey(ordinal)) {
+                hits.add(hit);
+            }
+        });
+        hits.sort(Comparator.comparingDouble(AreaHit::entry).thenComparingInt(AreaHit::ordinal));
+        return hits;
+    }
+
+    private static Position interpolate(Position from, Position to, double t) {
+        return new Position(from.getLng() + t * (to.getLng() - from.getLng()),
+                from.getLat() + t * (to.getLat() - from.getLat()));
     }
 
     public List<String> getRestrictedAreaNames() {
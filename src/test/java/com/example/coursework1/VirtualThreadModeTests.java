@@ -0,0 +1,35 @@
+package com.example.coursework1;
+
+import com.example.coursework1.repository.SnapshotCache;
+import com.example.coursework1.repository.SnapshotCacheFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = "spring.threads.virtual.enabled=true")
+class VirtualThreadModeTests {
+
+	@Autowired private RestTemplate restTemplate;
+	@Autowired private SnapshotCacheFactory snapshotCacheFactory;
+
+	@Test
+	void restTemplateUsesJdkClient() {
+		assertInstanceOf(JdkClientHttpRequestFactory.class, restTemplate.getRequestFactory());
+	}
+
+	@Test
+	void snapshotRefreshRunsOnVirtualThreads() {
+		SnapshotCache<String> cache = snapshotCacheFactory.create("virtual-thread-probe", () -> {
+			Thread thread = Thread.currentThread();
+			return thread.isVirtual() + " " + thread.getName();
+		}, "");
+
+		String loadedBy = cache.get().getValue();
+
+		assertTrue(loadedBy.startsWith("true ilp-refresh-"), loadedBy);
+	}
+}
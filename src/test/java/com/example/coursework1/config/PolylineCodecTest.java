@@ -0,0 +1,92 @@
+package com.example.coursework1.config;
+
+import com.example.coursework1.dto.CalcDeliveryResult;
+import com.example.coursework1.dto.DeliveryResult;
+import com.example.coursework1.dto.DronePathResult;
+import com.example.coursework1.dto.LngLat;
+import com.example.coursework1.dto.PlanningProfile;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolylineCodecTest {
+
+    @Test
+    void testRoundTripKeepsStructureAndCoordinates() throws Exception {
+        List<LngLat> path = new ArrayList<>();
+        double lng = -3.186874;
+        double lat = 55.944494;
+        for (int i = 0; i < 200; i++) {
+            path.add(new LngLat(lng, lat));
+            double angle = Math.toRadians(22.5 * (i % 16));
+            lng += 0.00015 * Math.cos(angle);
+            lat += 0.00015 * Math.sin(angle);
+        }
+        path.add(path.get(path.size() - 1));
+
+        CalcDeliveryResult plan = new CalcDeliveryResult(123.45, 201, List.of(
+                new DronePathResult("4", List.of(new DeliveryResult(7, path), new DeliveryResult(-1, List.of()))),
+                new DronePathResult("9", List.of())));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PolylineCodec.write(plan, bytes);
+        CalcDeliveryResult decoded = PolylineCodec.read(new ByteArrayInputStream(bytes.toByteArray()));
+
+        assertEquals(123.45, decoded.getTotalCost());
+        assertEquals(201, decoded.getTotalMoves());
+        assertEquals(2, decoded.getDronePaths().size());
+        assertEquals("9", decoded.getDronePaths().get(1).getDroneId());
+
+        DeliveryResult first = decoded.getDronePaths().get(0).getDeliveries().get(0);
+        assertEquals(7, first.getDeliveryId());
+        assertEquals(path.size(), first.getFlightPath().size());
+        for (int i = 0; i < path.size(); i++) {
+            assertEquals(path.get(i).getLng(), first.getFlightPath().get(i).getLng(), 1e-9);
+            assertEquals(path.get(i).getLat(), first.getFlightPath().get(i).getLat(), 1e-9);
+        }
+        assertEquals(-1, decoded.getDronePaths().get(0).getDeliveries().get(1).getDeliveryId());
+
+        // about 3 bytes per axis per move
+        assertTrue(bytes.size() < path.size() * 8, "encoded size " + bytes.size());
+    }
+
+    @Test
+    void testRoundTripKeepsExplainProfile() throws Exception {
+        PlanningProfile profile = new PlanningProfile();
+        profile.setSingleDronePhaseMillis(12.5);
+        profile.setLegs(2);
+        profile.setFailedLegs(1);
+        profile.setIterations(40_000);
+        profile.setCollisionTests(123_456);
+        profile.setLegDetails(List.of(
+                new PlanningProfile.Leg(new LngLat(-3.19, 55.94), new LngLat(-3.18, 55.95), "strict", true, 42, 1.5),
+                new PlanningProfile.Leg(new LngLat(-3.18, 55.95), null, "relaxed", false, 30_000, 9.25)));
+        profile.setRolledBackFlights(List.of(
+                new PlanningProfile.RolledBackFlight("4", 2, List.of(3, -5), "cannot return")));
+        profile.setSkippedDispatches(List.of(new PlanningProfile.SkippedDispatch(null, "no drone")));
+
+        CalcDeliveryResult plan = new CalcDeliveryResult(1.0, 2, List.of());
+        plan.setProfile(profile);
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PolylineCodec.write(plan, bytes);
+        PlanningProfile decoded = PolylineCodec.read(new ByteArrayInputStream(bytes.toByteArray())).getProfile();
+
+        assertEquals(12.5, decoded.getSingleDronePhaseMillis());
+        assertEquals(2, decoded.getLegs());
+        assertEquals(1, decoded.getFailedLegs());
+        assertEquals(40_000, decoded.getIterations());
+        assertEquals(123_456, decoded.getCollisionTests());
+        assertEquals(profile.getLegDetails().get(0).from().getLng(), decoded.getLegDetails().get(0).from().getLng());
+        assertNull(decoded.getLegDetails().get(1).to());
+        assertEquals("relaxed", decoded.getLegDetails().get(1).mode());
+        assertEquals(30_000, decoded.getLegDetails().get(1).iterations());
+        assertEquals(profile.getRolledBackFlights(), decoded.getRolledBackFlights());
+        assertEquals(profile.getSkippedDispatches(), decoded.getSkippedDispatches());
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.coursework1.geometry;
+
+import com.example.coursework1.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledPolygonTest {
+
+    private static CompiledPolygon ring(double... coords) {
+        Position[] vertices = new Position[coords.length / 2 + 1];
+        for (int i = 0; i < coords.length / 2; i++) {
+            vertices[i] = new Position(coords[2 * i], coords[2 * i + 1]);
+        }
+        vertices[vertices.length - 1] = vertices[0];
+        return CompiledPolygon.of(List.of(vertices));
+    }
+
+    private final CompiledPolygon square = ring(0, 0, 0, 1, 1, 1, 1, 0);
+
+    @Test
+    void testSegmentCrossingEdgeIntersects() {
+        assertTrue(square.intersectsSegment(-0.5, 0.5, 0.5, 0.5));
+        assertTrue(square.intersectsSegment(-0.5, 0.5, 1.5, 0.5));
+    }
+
+    @Test
+    void testSegmentInsideIntersects() {
+        assertTrue(square.intersectsSegment(0.25, 0.25, 0.75, 0.75));
+    }
+
+    @Test
+    void testSegmentOutsideDoesNotIntersect() {
+        assertFalse(square.intersectsSegment(2, 2, 3, 3));
+        assertFalse(square.intersectsSegment(-0.5, 1.5, 1.5, 1.1));
+    }
+
+    @Test
+    void testTouchingVertexAndCollinearEdgeIntersect() {
+        assertTrue(square.intersectsSegment(-1, 2, 1, 0));
+        assertTrue(square.intersectsSegment(1, 1, 2, 2));
+        assertTrue(square.intersectsSegment(0.2, 0, 0.8, 0));
+        assertTrue(square.intersectsSegment(-1, 1, 2, 1));
+        assertFalse(square.intersectsSegment(1.5, 0, 2, 0));
+    }
+
+    @Test
+    void testThinZoneBetweenSamplesIsDetected() {
+        CompiledPolygon sliver = ring(0.4501, -1, 0.4501, 1, 0.4502, 1, 0.4502, -1);
+        assertTrue(sliver.intersectsSegment(0, 0, 1, 0));
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.coursework1.geometry;
+
+import com.example.coursework1.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ObstacleBufferTest {
+
+    private static final double CLEARANCE = 0.0003;
+
+    private final CompiledPolygon notch = CompiledPolygon.of(List.of(
+            new Position(0.0, 0.0), new Position(0.0, 0.002), new Position(0.001, 0.002),
+            new Position(0.001, 0.001), new Position(0.002, 0.001), new Position(0.002, 0.0),
+            new Position(0.0, 0.0)));
+
+    private static double distanceToRing(CompiledPolygon polygon, double px, double py) {
+        double best = Double.POSITIVE_INFINITY;
+        for (int i = 0; i + 1 < polygon.vertexCount(); i++) {
+            double ax = polygon.x(i), ay = polygon.y(i), bx = polygon.x(i + 1), by = polygon.y(i + 1);
+            double dx = bx - ax, dy = by - ay;
+            double t = Math.max(0, Math.min(1, ((px - ax) * dx + (py - ay) * dy) / (dx * dx + dy * dy)));
+            best = Math.min(best, Math.hypot(px - ax - t * dx, py - ay - t * dy));
+        }
+        return best;
+    }
+
+    @Test
+    void testCapsulesCoverClearanceAndStayWithinApproximation() {
+        List<CompiledPolygon> capsules = ObstacleBuffer.capsules(notch, CLEARANCE);
+        assertEquals(notch.vertexCount() - 1, capsules.size());
+
+        double outer = CLEARANCE / Math.cos(Math.PI / ObstacleBuffer.DISC_SIDES);
+        Random random = new Random(3);
+        for (int k = 0; k < 20000; k++) {
+            double px = random.nextDouble() * 0.003 - 0.0005, py = random.nextDouble() * 0.003 - 0.0005;
+            double distance = distanceToRing(notch, px, py);
+            boolean covered = capsules.stream().anyMatch(c -> c.contains(px, py));
+
+            if (distance <= CLEARANCE) {
+                assertTrue(covered, "point at distance " + distance + " should be buffered");
+            } else if (distance > outer) {
+                assertFalse(covered, "point at distance " + distance + " should be clear");
+            }
+        }
+    }
+
+    @Test
+    void testZeroClearanceAddsNothing() {
+        assertTrue(ObstacleBuffer.capsules(notch, 0).isEmpty());
+    }
+}
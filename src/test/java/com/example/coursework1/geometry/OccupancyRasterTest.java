@@ -0,0 +1,95 @@
+package com.example.coursework1.geometry;
+
+import com.example.coursework1.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OccupancyRasterTest {
+
+    private static final double CELL = 0.0000375;
+    private static final double STEP = 0.00015;
+
+    private static CompiledPolygon star(Random random, double cx, double cy, int n) {
+        List<Position> vertices = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            double angle = 2 * Math.PI * i / n;
+            double radius = 0.0005 + random.nextDouble() * 0.002;
+            vertices.add(new Position(cx + radius * Math.cos(angle), cy + radius * Math.sin(angle)));
+        }
+        vertices.add(vertices.get(0));
+        return CompiledPolygon.of(vertices);
+    }
+
+    @Test
+    void testRasterAgreesWithExactGeometry() {
+        Random random = new Random(11);
+        List<CompiledPolygon> polygons = new ArrayList<>();
+        for (int p = 0; p < 12; p++) {
+            polygons.add(star(random, -3.19 + random.nextDouble() * 0.02, 55.94 + random.nextDouble() * 0.02,
+                    3 + random.nextInt(12)));
+        }
+        BitSet solid = new BitSet();
+        solid.set(0, polygons.size());
+        OccupancyRaster raster = OccupancyRaster.build(polygons, solid, CELL);
+
+        int decided = 0;
+        for (int k = 0; k < 20000; k++) {
+            double ax = -3.195 + random.nextDouble() * 0.03, ay = 55.935 + random.nextDouble() * 0.03;
+            double angle = Math.toRadians(22.5 * random.nextInt(16));
+            double bx = ax + STEP * Math.cos(angle), by = ay + STEP * Math.sin(angle);
+
+            boolean inside = polygons.stream().anyMatch(p -> p.contains(ax, ay));
+            boolean crosses = polygons.stream().anyMatch(p -> p.intersectsSegment(ax, ay, bx, by));
+
+            int pointState = raster.state(ax, ay);
+            if (pointState != OccupancyRaster.BOUNDARY) {
+                assertEquals(pointState == OccupancyRaster.BLOCKED, inside);
+            }
+            int segmentState = raster.state(ax, ay, bx, by);
+            if (segmentState != OccupancyRaster.BOUNDARY) {
+                assertEquals(segmentState == OccupancyRaster.BLOCKED, crosses);
+                decided++;
+            }
+        }
+        assertTrue(decided > 15000, "most moves should be settled by the raster, got " + decided);
+    }
+
+    @Test
+    void testNonSolidPolygonIsNeverBlocked() {
+        CompiledPolygon square = CompiledPolygon.of(List.of(
+                new Position(0.0, 0.0), new Position(0.0, 0.001),
+                new Position(0.001, 0.001), new Position(0.001, 0.0), new Position(0.0, 0.0)));
+        OccupancyRaster raster = OccupancyRaster.build(List.of(square), new BitSet(), CELL);
+
+        assertEquals(OccupancyRaster.BOUNDARY, raster.state(0.0005, 0.0005));
+        assertEquals(OccupancyRaster.FREE, raster.state(0.01, 0.01));
+    }
+
+    @Test
+    void testEmptyRasterIsFree() {
+        OccupancyRaster raster = OccupancyRaster.build(List.of(), new BitSet(), CELL);
+
+        assertEquals(OccupancyRaster.FREE, raster.state(0, 0));
+        assertEquals(OccupancyRaster.FREE, raster.state(0, 0, 1, 1));
+    }
+
+    @Test
+    void testCoarsensToCellCap() {
+        CompiledPolygon huge = CompiledPolygon.of(List.of(
+                new Position(0.0, 0.0), new Position(0.0, 10.0),
+                new Position(10.0, 10.0), new Position(10.0, 0.0), new Position(0.0, 0.0)));
+        BitSet solid = new BitSet();
+        solid.set(0);
+        OccupancyRaster raster = OccupancyRaster.build(List.of(huge), solid, CELL);
+
+        assertTrue(raster.cellSize() > CELL);
+        assertEquals(OccupancyRaster.BLOCKED, raster.state(5, 5));
+        assertEquals(OccupancyRaster.BLOCKED, raster.state(5, 5, 5.0001, 5.0001));
+    }
+}
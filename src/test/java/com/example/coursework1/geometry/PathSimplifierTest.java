@@ -0,0 +1,78 @@
+package com.example.coursework1.geometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PathSimplifierTest {
+
+    private static final double STEP = 0.00015;
+
+    @Test
+    void testStraightRunsAndHoversCollapseLosslessly() {
+        List<double[]> path = new ArrayList<>();
+        double[] p = {-3.19, 55.94};
+        path.add(p);
+        p = walk(path, p, 0, 10);
+        path.add(p);                       // hover
+        p = walk(path, p, 90, 5);
+        walk(path, p, 112.5, 3);
+
+        PathSimplifier.Result result = PathSimplifier.simplify(path, 0);
+
+        assertEquals(4, result.coordinates().size());
+        assertEquals(List.of(1), result.hoverIndices());
+        assertEquals(path.size(), recover(result).size());
+        List<double[]> recovered = recover(result);
+        for (int i = 0; i < path.size(); i++) {
+            assertArrayEquals(path.get(i), recovered.get(i), 1e-12);
+        }
+    }
+
+    @Test
+    void testDouglasPeuckerDropsSmallDeviationsButKeepsHovers() {
+        List<double[]> path = new ArrayList<>();
+        double[] p = {0, 0};
+        path.add(p);
+        for (int i = 0; i < 20; i++) {
+            p = walk(path, p, i % 2 == 0 ? 22.5 : -22.5, 1);
+        }
+        path.add(p);
+
+        PathSimplifier.Result coarse = PathSimplifier.simplify(path, STEP);
+        assertEquals(2, coarse.coordinates().size());
+        assertEquals(List.of(1), coarse.hoverIndices());
+
+        PathSimplifier.Result exact = PathSimplifier.simplify(path, 0);
+        assertEquals(21, exact.coordinates().size());
+    }
+
+    private static double[] walk(List<double[]> path, double[] from, double angle, int moves) {
+        double[] p = from;
+        for (int i = 0; i < moves; i++) {
+            p = new double[]{p[0] + STEP * Math.cos(Math.toRadians(angle)), p[1] + STEP * Math.sin(Math.toRadians(angle))};
+            path.add(p);
+        }
+        return p;
+    }
+
+    private static List<double[]> recover(PathSimplifier.Result result) {
+        List<double[]> coords = result.coordinates();
+        List<double[]> path = new ArrayList<>();
+        path.add(coords.get(0));
+        if (result.hoverIndices().contains(0)) path.add(coords.get(0));
+        for (int i = 1; i < coords.size(); i++) {
+            double[] a = coords.get(i - 1);
+            double[] b = coords.get(i);
+            int moves = (int) Math.round(Math.hypot(b[0] - a[0], b[1] - a[1]) / STEP);
+            for (int k = 1; k <= moves; k++) {
+                path.add(new double[]{a[0] + (b[0] - a[0]) * k / moves, a[1] + (b[1] - a[1]) * k / moves});
+            }
+            if (result.hoverIndices().contains(i)) path.add(b);
+        }
+        return path;
+    }
+}
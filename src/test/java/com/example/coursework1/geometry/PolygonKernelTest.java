@@ -0,0 +1,68 @@
+package com.example.coursework1.geometry;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PolygonKernelTest {
+
+    private final PolygonKernel scalar = new ScalarPolygonKernel();
+    private final PolygonKernel vector = PolygonKernels.get();
+
+    @Test
+    void testVectorKernelIsLoadedWhenModuleIsPresent() {
+        assertTrue(PolygonKernels.isVectorized(), "surefire runs with --add-modules jdk.incubator.vector");
+    }
+
+    @Test
+    void testVectorKernelMatchesScalarOnRandomRings() {
+        Random random = new Random(42);
+        for (int ring = 0; ring < 200; ring++) {
+            int n = 3 + random.nextInt(30);
+            double[] xs = new double[n + 1];
+            double[] ys = new double[n + 1];
+            for (int i = 0; i < n; i++) {
+                double angle = 2 * Math.PI * i / n;
+                double radius = 0.5 + random.nextDouble();
+                xs[i] = radius * Math.cos(angle);
+                ys[i] = radius * Math.sin(angle);
+            }
+            xs[n] = xs[0];
+            ys[n] = ys[0];
+
+            for (int k = 0; k < 200; k++) {
+                double px = random.nextDouble() * 4 - 2;
+                double py = random.nextDouble() * 4 - 2;
+                if (k % 10 == 0) {
+                    int v = random.nextInt(n);
+                    double t = random.nextDouble();
+                    px = xs[v] + t * (xs[v + 1] - xs[v]);
+                    py = ys[v] + t * (ys[v + 1] - ys[v]);
+                }
+                double qx = px + random.nextDouble() * 0.2 - 0.1;
+                double qy = py + random.nextDouble() * 0.2 - 0.1;
+
+                assertEquals(scalar.onBoundary(xs, ys, px, py, 1e-12), vector.onBoundary(xs, ys, px, py, 1e-12));
+                assertEquals(scalar.rayCrossings(xs, ys, px, py, 1e-12), vector.rayCrossings(xs, ys, px, py, 1e-12));
+                assertEquals(scalar.segmentTouchesEdge(xs, ys, px, py, qx, qy),
+                        vector.segmentTouchesEdge(xs, ys, px, py, qx, qy));
+                int v = random.nextInt(n);
+                assertEquals(scalar.segmentTouchesEdge(xs, ys, xs[v], ys[v], xs[v + 1], ys[v + 1]),
+                        vector.segmentTouchesEdge(xs, ys, xs[v], ys[v], xs[v + 1], ys[v + 1]));
+            }
+        }
+    }
+
+    @Test
+    void testDegenerateRings() {
+        double[] empty = new double[0];
+        double[] single = {1.0};
+        for (PolygonKernel kernel : new PolygonKernel[]{scalar, vector}) {
+            assertEquals(0, kernel.rayCrossings(empty, empty, 0, 0, 1e-12));
+            assertFalse(kernel.onBoundary(single, single, 0, 0, 1e-12));
+            assertFalse(kernel.segmentTouchesEdge(single, single, 0, 0, 1, 1));
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.coursework1.index;
+
+import com.example.coursework1.dto.Capability;
+import com.example.coursework1.dto.Drone;
+import com.example.coursework1.dto.DroneWithAvailability;
+import com.example.coursework1.dto.ServicePointDrones;
+import com.example.coursework1.dto.TimeWindow;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AvailabilityIndexTest {
+
+    private Drone drone(String id) {
+        Drone drone = new Drone();
+        drone.setId(id);
+        drone.setCapability(new Capability());
+        return drone;
+    }
+
+    private TimeWindow window(String day, String from, String until) {
+        TimeWindow window = new TimeWindow();
+        window.setDayOfWeek(day);
+        window.setFrom(from);
+        window.setUntil(until);
+        return window;
+    }
+
+    private DroneWithAvailability available(String id, TimeWindow... windows) {
+        DroneWithAvailability drone = new DroneWithAvailability();
+        drone.setId(id);
+        drone.setAvailability(List.of(windows));
+        return drone;
+    }
+
+    private AvailabilityIndex index() {
+        DroneCatalogue catalogue = DroneCatalogue.build(List.of(drone("1"), drone("2"), drone("3")), 1);
+        ServicePointDrones servicePoint = new ServicePointDrones();
+        servicePoint.setServicePointId(1);
+        servicePoint.setDrones(List.of(
+                available("1",
+                        window("MONDAY", "12:00:00", "23:59:59"),
+                        window("monday", "00:00", "11:59:59"),
+                        window("WEDNESDAY", "08:00:00", "12:00:00")),
+                available("2", window("MONDAY", "bad", "12:00"))));
+        return AvailabilityIndex.build(catalogue, List.of(servicePoint));
+    }
+
+    private int at(DayOfWeek day, String time) {
+        return AvailabilityIndex.secondOfWeek(day, AvailabilityIndex.parseSecondOfDay(time));
+    }
+
+    @Test
+    void testWindowsAreInclusiveAndMerged() {
+        AvailabilityIndex index = index();
+        assertTrue(index.isAvailable(0, at(DayOfWeek.MONDAY, "11:59:59")));
+        assertTrue(index.isAvailable(0, at(DayOfWeek.MONDAY, "12:00")));
+        assertTrue(index.isAvailable(0, at(DayOfWeek.WEDNESDAY, "12:00:00")));
+        assertFalse(index.isAvailable(0, at(DayOfWeek.WEDNESDAY, "12:00:01")));
+        assertFalse(index.isAvailable(0, at(DayOfWeek.TUESDAY, "10:00")));
+    }
+
+    @Test
+    void testUnparseableWindowsNeverMatchAndMissingWindowsAlwaysMatch() {
+        AvailabilityIndex index = index();
+        assertFalse(index.isAvailable(1, at(DayOfWeek.MONDAY, "10:00")));
+        assertTrue(index.isAvailable(2, at(DayOfWeek.SUNDAY, "3:15")));
+    }
+
+    @Test
+    void testAvailableAtReturnsBitset() {
+        AvailabilityIndex index = index();
+        assertEquals("{0, 2}", index.availableAt(at(DayOfWeek.WEDNESDAY, "09:30")).toString());
+        assertEquals("{2}", index.availableAt(at(DayOfWeek.FRIDAY, "09:30")).toString());
+    }
+
+    @Test
+    void testParseSecondOfDay() {
+        assertEquals(9 * 3600 + 5 * 60, AvailabilityIndex.parseSecondOfDay("9:05"));
+        assertEquals(23 * 3600 + 59 * 60 + 59, AvailabilityIndex.parseSecondOfDay("23:59:59"));
+        assertEquals(-1, AvailabilityIndex.parseSecondOfDay("24:00"));
+        assertEquals(-1, AvailabilityIndex.parseSecondOfDay("9:5"));
+        assertEquals(-1, AvailabilityIndex.parseSecondOfDay("12:00:0"));
+        assertEquals(-1, AvailabilityIndex.parseSecondOfDay(""));
+    }
+}
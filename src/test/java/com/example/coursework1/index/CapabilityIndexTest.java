@@ -0,0 +1,58 @@
+package com.example.coursework1.index;
+
+import com.example.coursework1.dto.Capability;
+import com.example.coursework1.dto.Drone;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CapabilityIndexTest {
+
+    private static final double EPS = 1e-12;
+
+    private Drone drone(String id, double capacity, boolean cooling, boolean heating, double fixedCost) {
+        Capability capability = new Capability();
+        capability.setCapacity(capacity);
+        capability.setCooling(cooling);
+        capability.setHeating(heating);
+        capability.setCostInitial(fixedCost / 2);
+        capability.setCostFinal(fixedCost / 2);
+        Drone drone = new Drone();
+        drone.setId(id);
+        drone.setCapability(capability);
+        return drone;
+    }
+
+    private final DroneCatalogue catalogue = DroneCatalogue.build(List.of(
+            drone("1", 4.0, false, false, 2.0),
+            drone("2", 8.0, true, false, 4.0),
+            drone("3", 12.0, true, true, 6.0),
+            drone("4", 20.0, false, true, 1.0),
+            drone("5", 8.0, true, true, 8.0)
+    ), 1);
+
+    private final CapabilityIndex index = CapabilityIndex.build(catalogue);
+
+    @Test
+    void testCapacityOnly() {
+        assertEquals(List.of("2", "3", "4", "5"), catalogue.ids(index.matching(8.0, EPS, false, false, null)));
+        assertEquals(List.of("2", "3", "4", "5"), catalogue.ids(index.matching(8.0 + 1e-13, EPS, false, false, null)));
+        assertEquals(List.of(), catalogue.ids(index.matching(21.0, EPS, false, false, null)));
+    }
+
+    @Test
+    void testTemperatureClassesIncludeSupersets() {
+        assertEquals(List.of("2", "3", "5"), catalogue.ids(index.matching(0.0, EPS, true, false, null)));
+        assertEquals(List.of("3", "5"), catalogue.ids(index.matching(0.0, EPS, true, true, null)));
+        assertEquals(List.of("3", "4"), catalogue.ids(index.matching(10.0, EPS, false, true, null)));
+    }
+
+    @Test
+    void testMaxCost() {
+        assertEquals(List.of("2", "3", "4"), catalogue.ids(index.matching(8.0, EPS, false, false, 6.0)));
+        assertEquals(List.of("4"), catalogue.ids(index.matching(0.0, EPS, false, false, 1.0)));
+        assertEquals(List.of(), catalogue.ids(index.matching(0.0, EPS, true, false, 3.0)));
+    }
+}
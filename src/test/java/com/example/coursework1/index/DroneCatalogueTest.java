@@ -0,0 +1,71 @@
+package com.example.coursework1.index;
+
+import com.example.coursework1.dto.Capability;
+import com.example.coursework1.dto.Drone;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DroneCatalogueTest {
+
+    private Drone drone(String id, double capacity, boolean cooling, int maxMoves) {
+        Capability capability = new Capability();
+        capability.setCapacity(capacity);
+        capability.setCooling(cooling);
+        capability.setMaxMoves(maxMoves);
+        Drone drone = new Drone();
+        drone.setId(id);
+        drone.setCapability(capability);
+        return drone;
+    }
+
+    private DroneCatalogue catalogue() {
+        List<Drone> drones = new ArrayList<>();
+        drones.add(drone("1", 4.0, true, 2000));
+        drones.add(drone("2", 8.0, false, 1000));
+        Drone noCapability = new Drone();
+        noCapability.setId("3");
+        drones.add(noCapability);
+        drones.add(drone("4", 4.0, false, 1500));
+        drones.add(drone("5", 12.0, true, 1000));
+        return DroneCatalogue.build(drones, 7);
+    }
+
+    @Test
+    void testFindById() {
+        DroneCatalogue catalogue = catalogue();
+        assertEquals(7, catalogue.getVersion());
+        assertEquals("4", catalogue.findById("4").getId());
+        assertNull(catalogue.findById("missing"));
+        assertNull(catalogue.findById(null));
+    }
+
+    @Test
+    void testCoolingBitsets() {
+        DroneCatalogue catalogue = catalogue();
+        assertEquals(List.of("1", "5"), catalogue.ids(catalogue.cooling(true)));
+        assertEquals(List.of("2", "3", "4"), catalogue.ids(catalogue.cooling(false)));
+    }
+
+    @Test
+    void testNumericRangesKeepResponseOrder() {
+        DroneCatalogue catalogue = catalogue();
+        assertEquals(List.of("1", "4"), catalogue.ids(catalogue.select(DroneAttribute.CAPACITY, Comparison.EQ, 4.0)));
+        assertEquals(List.of("2", "5"), catalogue.ids(catalogue.select(DroneAttribute.CAPACITY, Comparison.GT, 4.0)));
+        assertEquals(List.of("1", "2", "4"), catalogue.ids(catalogue.select(DroneAttribute.CAPACITY, Comparison.LE, 8.0)));
+        assertEquals(List.of("1", "4"), catalogue.ids(catalogue.select(DroneAttribute.CAPACITY, Comparison.LT, 8.0)));
+        assertEquals(List.of("1", "4"), catalogue.ids(catalogue.select(DroneAttribute.MAX_MOVES, Comparison.NE, 1000)));
+        assertEquals(List.of("1", "4"), catalogue.ids(catalogue.select(DroneAttribute.MAX_MOVES, Comparison.GE, 1500)));
+        assertEquals(2, catalogue.count(DroneAttribute.MAX_MOVES, Comparison.EQ, 1000));
+    }
+
+    @Test
+    void testNaNOperandMatchesOnlyNotEquals() {
+        DroneCatalogue catalogue = catalogue();
+        assertTrue(catalogue.select(DroneAttribute.CAPACITY, Comparison.EQ, Double.NaN).isEmpty());
+        assertEquals(4, catalogue.select(DroneAttribute.CAPACITY, Comparison.NE, Double.NaN).cardinality());
+    }
+}
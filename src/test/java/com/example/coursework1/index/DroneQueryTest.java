@@ -0,0 +1,104 @@
+package com.example.coursework1.index;
+
+import com.example.coursework1.dto.Capability;
+import com.example.coursework1.dto.Drone;
+import com.example.coursework1.dto.QueryAttribute;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DroneQueryTest {
+
+    private Drone drone(String id, String name, double capacity, boolean heating, double costPerMove) {
+        Capability capability = new Capability();
+        capability.setCapacity(capacity);
+        capability.setHeating(heating);
+        capability.setCostPerMove(costPerMove);
+        Drone drone = new Drone();
+        drone.setId(id);
+        drone.setName(name);
+        drone.setCapability(capability);
+        return drone;
+    }
+
+    private QueryAttribute filter(String attribute, String operator, String value) {
+        QueryAttribute filter = new QueryAttribute();
+        filter.setAttribute(attribute);
+        filter.setOperator(operator);
+        filter.setValue(value);
+        return filter;
+    }
+
+    private final DroneCatalogue catalogue = DroneCatalogue.build(List.of(
+            drone("1", "Alpha", 4.0, true, 0.01),
+            drone("2", "Bravo", 8.0, false, 0.02),
+            drone("3", "Charlie", 12.0, true, 0.03),
+            drone("4", "Delta", 20.0, true, 0.05)
+    ), 1);
+
+    private List<String> run(QueryAttribute... filters) {
+        return catalogue.ids(DroneQuery.compile(List.of(filters)).evaluate(catalogue));
+    }
+
+    @Test
+    void testConjunctionOfNumericAndFlagFilters() {
+        assertEquals(List.of("3", "4"), run(
+                filter("capacity", ">", "5"),
+                filter("heating", "=", "TRUE")));
+        assertEquals(List.of("3"), run(
+                filter("Capacity", ">=", "8"),
+                filter("costPerMove", "<", "0.04"),
+                filter("heating", "=", "true")));
+    }
+
+    @Test
+    void testTextFiltersAreCaseInsensitiveEquality() {
+        assertEquals(List.of("2"), run(filter("name", "=", "bravo")));
+        assertEquals(List.of(), run(filter("name", "!=", "bravo")));
+    }
+
+    @Test
+    void testInvalidFiltersMatchNothing() {
+        assertEquals(List.of(), run(filter("unknown", "=", "1")));
+        assertEquals(List.of(), run(filter("capacity", "=", "abc")));
+        assertEquals(List.of(), run(filter("capacity", "~", "4")));
+        assertEquals(List.of(), run(filter("capacity", ">", "1"), filter("heating", "=", "yes")));
+    }
+
+    @Test
+    void testEmptyQueryMatchesAllDrones() {
+        assertEquals(List.of("1", "2", "3", "4"), run());
+    }
+
+    @Test
+    void testLargeCatalogueMatchesDroneByDroneEvaluation() {
+        List<Drone> drones = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            drones.add(drone(String.valueOf(i), "D" + (i % 7), i % 40, i % 3 == 0, (i % 11) / 100.0));
+        }
+        DroneCatalogue large = DroneCatalogue.build(drones, 2);
+        assertEquals(100, large.heatingCount(true));
+        assertEquals(200, large.heatingCount(false));
+
+        // Capacity > 4 keeps most drones, so the heating and name filters take both branches.
+        DroneQuery query = DroneQuery.compile(List.of(
+                filter("capacity", ">", "4"),
+                filter("heating", "=", "true"),
+                filter("costPerMove", "<=", "0.05"),
+                filter("name", "=", "d3")));
+
+        List<String> expected = new ArrayList<>();
+        for (Drone drone : drones) {
+            Capability capability = drone.getCapability();
+            if (capability.getCapacity() > 4 && capability.isHeating() && capability.getCostPerMove() <= 0.05
+                    && drone.getName().equalsIgnoreCase("d3")) {
+                expected.add(drone.getId());
+            }
+        }
+        assertFalse(expected.isEmpty());
+        assertEquals(expected, large.ids(query.evaluate(large)));
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.coursework1.index;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RTreeTest {
+
+    @Test
+    void testSearchMatchesLinearScan() {
+        Random random = new Random(7);
+        int n = 2000;
+        double[] minX = new double[n], minY = new double[n], maxX = new double[n], maxY = new double[n];
+        for (int i = 0; i < n; i++) {
+            minX[i] = random.nextDouble() * 10;
+            minY[i] = random.nextDouble() * 10;
+            maxX[i] = minX[i] + random.nextDouble() * 0.3;
+            maxY[i] = minY[i] + random.nextDouble() * 0.3;
+        }
+        RTree tree = RTree.build(minX, minY, maxX, maxY);
+        assertEquals(n, tree.size());
+
+        for (int q = 0; q < 500; q++) {
+            double qx = random.nextDouble() * 10, qy = random.nextDouble() * 10;
+            double qw = q % 5 == 0 ? 0 : random.nextDouble(), qh = q % 5 == 0 ? 0 : random.nextDouble();
+
+            int[] expected = new int[n];
+            int count = 0;
+            for (int i = 0; i < n; i++) {
+                if (minX[i] <= qx + qw && qx <= maxX[i] && minY[i] <= qy + qh && qy <= maxY[i]) {
+                    expected[count++] = i;
+                }
+            }
+            assertArrayEquals(Arrays.copyOf(expected, count), tree.search(qx, qy, qx + qw, qy + qh));
+            assertEquals(count > 0, tree.anyMatch(qx, qy, qx + qw, qy + qh, i -> true));
+        }
+    }
+
+    @Test
+    void testNaNBoxesAreSkipped() {
+        RTree tree = RTree.build(
+                new double[]{0, Double.NaN, 2},
+                new double[]{0, Double.NaN, 2},
+                new double[]{1, Double.NaN, 3},
+                new double[]{1, Double.NaN, 3});
+
+        assertEquals(2, tree.size());
+        assertArrayEquals(new int[]{0, 2}, tree.search(-10, -10, 10, 10));
+        assertArrayEquals(new int[]{0}, tree.search(1, 1, 1, 1));
+    }
+
+    @Test
+    void testEmptyTree() {
+        RTree tree = RTree.build(new double[0], new double[0], new double[0], new double[0]);
+
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.search(0, 0, 1, 1).length);
+        assertFalse(tree.anyMatch(0, 0, 1, 1, i -> true));
+    }
+}
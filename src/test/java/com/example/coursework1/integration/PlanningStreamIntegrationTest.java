@@ -0,0 +1,106 @@
+package com.example.coursework1.integration;
+
+import com.example.coursework1.dto.CalcDeliveryResult;
+import com.example.coursework1.dto.DeliveryResult;
+import com.example.coursework1.dto.DronePathResult;
+import com.example.coursework1.dto.FlightResult;
+import com.example.coursework1.dto.PlanningProgress;
+import com.example.coursework1.service.DeliveryPlannerService;
+import com.example.coursework1.service.PlanningListener;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class PlanningStreamIntegrationTest {
+
+    @Autowired private MockMvc mockMvc;
+    @MockitoBean private DeliveryPlannerService deliveryPlannerService;
+
+    private static final String DISPATCHES = "[{\"id\":1,\"date\":\"2025-01-06\",\"time\":\"10:00\","
+            + "\"requirements\":{\"capacity\":1.0},\"delivery\":{\"lng\":-3.186,\"lat\":55.944}}]";
+
+    private MvcResult startStream() throws Exception {
+        return mockMvc.perform(post("/api/v1/calcDeliveryPath/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(DISPATCHES))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+
+    @Test
+    void testStreamSendsEventsFromBothPhasesThenResult() throws Exception {
+        DeliveryResult delivery = new DeliveryResult(1, List.of());
+        DronePathResult dronePath = new DronePathResult("1", List.of(delivery));
+        when(deliveryPlannerService.calcDeliveryPath(anyList(), any(PlanningListener.class))).thenAnswer(call -> {
+            PlanningListener listener = call.getArgument(1);
+            listener.onPhase("PHASE_1");
+            listener.onPhase("PHASE_2");
+            listener.onFlightCompleted(new FlightResult("1", 1, 10, 1.5, List.of(delivery)));
+            listener.onProgress(new PlanningProgress(1, 1, 1));
+            listener.onDronePath(dronePath);
+            return new CalcDeliveryResult(1.5, 10, List.of(dronePath));
+        });
+
+        MvcResult result = startStream();
+        result.getAsyncResult(5000);
+        String body = result.getResponse().getContentAsString();
+
+        List<String> events = body.lines()
+                .filter(line -> line.startsWith("event:"))
+                .map(line -> line.substring("event:".length()))
+                .toList();
+        assertEquals(List.of("phase", "phase", "flight", "progress", "dronePath", "result"), events);
+        assertTrue(body.contains("\"phase\":\"PHASE_2\""));
+        assertTrue(body.contains("\"totalMoves\":10"));
+    }
+
+    @Test
+    void testClientDisconnectCancelsPlanning() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        when(deliveryPlannerService.calcDeliveryPath(anyList(), any(PlanningListener.class))).thenAnswer(call -> {
+            started.countDown();
+            try {
+                new CountDownLatch(1).await(30, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+                throw new CancellationException("cancelled");
+            }
+            fail("planning was not cancelled");
+            return null;
+        });
+
+        MvcResult result = startStream();
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        MockAsyncContext context = (MockAsyncContext) result.getRequest().getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onError(new AsyncEvent(context, new IOException("Broken pipe")));
+        }
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+    }
+}
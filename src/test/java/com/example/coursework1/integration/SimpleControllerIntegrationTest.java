@@ -1,5 +1,8 @@
 package com.example.coursework1.integration;
 
+import com.example.coursework1.config.PolylineCodec;
+import com.example.coursework1.config.PolylinePlanConverter;
+import com.example.coursework1.dto.CalcDeliveryResult;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,9 +11,11 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.ByteArrayInputStream;
 import java.util.List;
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -200,4 +205,128 @@ class SimpleControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(body)))
                 .andExpect(status().isBadRequest());
     }
+
+    // bulk tests
+    @Test
+    void testDistanceToBulk() throws Exception {
+        Map<String, Object> body = Map.of("pairs", List.of(
+                Map.of("position1", Map.of("lng", 0.0, "lat", 0.0),
+                        "position2", Map.of("lng", 3.0, "lat", 4.0)),
+                Map.of("position1", Map.of("lng", 1.0, "lat", 1.0),
+                        "position2", Map.of("lng", 1.0, "lat", 1.0))
+        ));
+
+        mockMvc.perform(post("/api/v1/distanceTo/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[5.0,0.0]"));
+    }
+
+    @Test
+    void testIsInRegionBulk() throws Exception {
+        Map<String, Object> region = Map.of(
+                "name", "Square",
+                "vertices", List.of(
+                        Map.of("lng", 0.0, "lat", 0.0),
+                        Map.of("lng", 0.0, "lat", 1.0),
+                        Map.of("lng", 1.0, "lat", 1.0),
+                        Map.of("lng", 1.0, "lat", 0.0),
+                        Map.of("lng", 0.0, "lat", 0.0)
+                )
+        );
+
+        Map<String, Object> body = Map.of(
+                "positions", List.of(
+                        Map.of("lng", 0.5, "lat", 0.5),
+                        Map.of("lng", 2.0, "lat", 2.0),
+                        Map.of("lng", 1.0, "lat", 0.5)),
+                "region", region
+        );
+
+        mockMvc.perform(post("/api/v1/isInRegion/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(content().string("[true,false,true]"));
+    }
+
+    @Test
+    void testDistanceToNegotiatesCbor() throws Exception {
+        Map<String, Object> body = Map.of(
+                "position1", Map.of("lng", 0.0, "lat", 0.0),
+                "position2", Map.of("lng", 3.0, "lat", 4.0)
+        );
+
+        mockMvc.perform(post("/api/v1/distanceTo")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    @Test
+    void testCalcDeliveryPathNegotiatesPolyline() throws Exception {
+        byte[] body = mockMvc.perform(post("/api/v1/calcDeliveryPath")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(PolylinePlanConverter.MEDIA_TYPE)
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PolylinePlanConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        CalcDeliveryResult plan = PolylineCodec.read(new ByteArrayInputStream(body));
+        assertEquals(0, plan.getTotalMoves());
+        assertTrue(plan.getDronePaths().isEmpty());
+    }
+
+    @Test
+    void testCalcDeliveryPathPolylineCarriesExplainProfile() throws Exception {
+        byte[] body = mockMvc.perform(post("/api/v1/calcDeliveryPath?explain=true")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(PolylinePlanConverter.MEDIA_TYPE)
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(PolylinePlanConverter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        CalcDeliveryResult plan = PolylineCodec.read(new ByteArrayInputStream(body));
+        assertNotNull(plan.getProfile());
+        assertEquals(0, plan.getProfile().getLegs());
+    }
+
+    @Test
+    void testValidateDeliveryPathRejectsNullPoint() throws Exception {
+        String plan = "{\"totalCost\":1.0,\"totalMoves\":1,\"dronePaths\":[{\"droneId\":\"1\","
+                + "\"deliveries\":[{\"deliveryId\":3,\"flightPath\":[{\"lng\":-3.186,\"lat\":55.944},null]}]}]}";
+
+        mockMvc.perform(post("/api/v1/validateDeliveryPath")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(plan))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("Flight path of delivery 3 on drone 1 has a null point at index 1"));
+    }
+
+    @Test
+    void testCalcDeliveryPathDefaultsToJsonForAnyAccept() throws Exception {
+        mockMvc.perform(post("/api/v1/calcDeliveryPath")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.ALL)
+                        .content("[]"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.totalMoves").value(0));
+    }
+
+    @Test
+    void testPlannerMetersAreExposed() throws Exception {
+        mockMvc.perform(get("/actuator/metrics/planner.leg.relaxed.fallbacks"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("planner.leg.relaxed.fallbacks"));
+
+        mockMvc.perform(get("/actuator/metrics/cache.gets").param("tag", "cache:drone.catalogue"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.availableTags[0].tag").value("result"));
+    }
 }
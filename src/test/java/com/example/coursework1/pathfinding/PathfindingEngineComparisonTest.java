@@ -0,0 +1,193 @@
+package com.example.coursework1.pathfinding;
+
+import com.example.coursework1.dto.LngLat;
+import com.example.coursework1.geometry.CompiledPolygon;
+import com.example.coursework1.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the greedy walker, jump point search and bidirectional search over the
+ * same obstacle layouts and compares collision tests, the cost that dominates
+ * planning.
+ */
+class PathfindingEngineComparisonTest {
+
+    private static final double S = Lattice.STEP;
+
+    private static final class CountingContext implements SearchContext {
+        final List<CompiledPolygon> obstacles;
+        long tests;
+
+        CountingContext(List<CompiledPolygon> obstacles) {
+            this.obstacles = obstacles;
+        }
+
+        @Override
+        public boolean isBlocked(double fromX, double fromY, double toX, double toY) {
+            tests++;
+            for (CompiledPolygon obstacle : obstacles) {
+                if (obstacle.intersectsSegment(fromX, fromY, toX, toY)) return true;
+            }
+            return false;
+        }
+    }
+
+    private static CompiledPolygon box(double x0, double y0, double x1, double y1) {
+        return CompiledPolygon.of(List.of(new Position(x0, y0), new Position(x0, y1), new Position(x1, y1),
+                new Position(x1, y0), new Position(x0, y0)));
+    }
+
+    /** A cup open to the east with the start inside it and the target to the west. */
+    private static List<CompiledPolygon> cup() {
+        return List.of(
+                box(-20 * S, -20 * S, -18 * S, 20 * S),
+                box(-20 * S, 18 * S, 20 * S, 20 * S),
+                box(-20 * S, -20 * S, 20 * S, -18 * S));
+    }
+
+    private static void assertValidPath(List<LngLat> path, Position from, Position to, CountingContext context) {
+        assertNotNull(path);
+        assertEquals(from.getLng(), path.get(0).getLng());
+        assertEquals(from.getLat(), path.get(0).getLat());
+        for (int i = 1; i < path.size(); i++) {
+            LngLat a = path.get(i - 1), b = path.get(i);
+            assertEquals(S, Lattice.distance(a.getLng(), a.getLat(), b.getLng(), b.getLat()), 1e-12);
+            assertFalse(context.isBlocked(a.getLng(), a.getLat(), b.getLng(), b.getLat()));
+        }
+        LngLat last = path.get(path.size() - 1);
+        assertTrue(Lattice.isClose(last.getLng(), last.getLat(), to.getLng(), to.getLat()));
+    }
+
+    @Test
+    void testOpenAirspaceCostsAreComparable() {
+        Position from = new Position(0.0, 0.0), to = new Position(300 * S, 170 * S);
+
+        CountingContext greedy = new CountingContext(List.of());
+        List<LngLat> greedyPath = new GreedyWalker().findPath(from, to, greedy);
+        CountingContext jps = new CountingContext(List.of());
+        List<LngLat> jpsPath = new JumpPointSearch().findPath(from, to, jps);
+
+        assertValidPath(greedyPath, from, to, new CountingContext(List.of()));
+        assertValidPath(jpsPath, from, to, new CountingContext(List.of()));
+        assertTrue(jpsPath.size() <= greedyPath.size() + 2, "jps " + jpsPath.size() + " greedy " + greedyPath.size());
+        // Each jump step also probes both sides for forced neighbours, and both
+        // two-heading orderings of the route are walked once.
+        assertTrue(jps.tests <= 6 * greedy.tests, "jps " + jps.tests + " greedy " + greedy.tests);
+    }
+
+    @Test
+    void testJumpPointSearchEscapesConcaveObstacle() {
+        Position from = new Position(0.0, 0.0), to = new Position(-40 * S, 0.0);
+
+        CountingContext greedy = new CountingContext(cup());
+        // the walker oscillates in the cup until its budget runs out, warning on every
+        // blocked step, so it gets a small budget and is scaled up to the default one
+        int budget = 2_000;
+        assertNull(new GreedyWalker(budget).findPath(from, to, greedy));
+        long greedyDefaultTests = greedy.tests * (GreedyWalker.MAX_PATH_ITERATIONS / budget);
+
+        CountingContext jps = new CountingContext(cup());
+        List<LngLat> path = new JumpPointSearch().findPath(from, to, jps);
+        assertValidPath(path, from, to, new CountingContext(cup()));
+        assertTrue(jps.tests < greedyDefaultTests, "jps " + jps.tests + " greedy " + greedyDefaultTests);
+    }
+
+    @Test
+    void testJumpPointSearchRoutesAroundWalls() {
+        List<CompiledPolygon> walls = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            double x = (20 + 30 * i) * S;
+            walls.add(i % 2 == 0 ? box(x, -40 * S, x + 2 * S, 15 * S) : box(x, -15 * S, x + 2 * S, 40 * S));
+        }
+        Position from = new Position(0.0, 0.0), to = new Position(140 * S, 0.0);
+
+        CountingContext jps = new CountingContext(walls);
+        List<LngLat> path = new JumpPointSearch().findPath(from, to, jps);
+
+        assertValidPath(path, from, to, new CountingContext(walls));
+    }
+
+    @Test
+    void testUnreachableTargetExhaustsBudget() {
+        List<CompiledPolygon> cage = List.of(box(-10 * S, -10 * S, 10 * S, 10 * S));
+        Position from = new Position(-20 * S, 0.0), to = new Position(0.0, 0.0);
+
+        assertNull(new JumpPointSearch(5000).findPath(from, to, new CountingContext(cage)));
+    }
+
+    @Test
+    void testBidirectionalSearchInOpenAirspace() {
+        Position from = new Position(0.0, 0.0), to = new Position(300 * S, 170 * S);
+
+        CountingContext greedy = new CountingContext(List.of());
+        List<LngLat> greedyPath = new GreedyWalker().findPath(from, to, greedy);
+        CountingContext both = new CountingContext(List.of());
+        List<LngLat> path = new BidirectionalSearch().findPath(from, to, both);
+
+        assertValidPath(path, from, to, new CountingContext(List.of()));
+        assertTrue(path.size() <= greedyPath.size() + 4, "bidirectional " + path.size() + " greedy " + greedyPath.size());
+        assertTrue(both.tests <= 4 * greedy.tests, "bidirectional " + both.tests + " greedy " + greedy.tests);
+    }
+
+    @Test
+    void testBidirectionalSearchEscapesObstacleAroundTarget() {
+        // The cup opens east, away from a start far to the west.
+        List<CompiledPolygon> cup = cup();
+        Position from = new Position(-400 * S, 30 * S), to = new Position(0.0, 0.0);
+
+        CountingContext jps = new CountingContext(cup);
+        List<LngLat> jpsPath = new JumpPointSearch().findPath(from, to, jps);
+        CountingContext both = new CountingContext(cup);
+        List<LngLat> path = new BidirectionalSearch().findPath(from, to, both);
+
+        assertValidPath(jpsPath, from, to, new CountingContext(cup));
+        assertValidPath(path, from, to, new CountingContext(cup));
+        assertTrue(both.tests < jps.tests, "bidirectional " + both.tests + " jps " + jps.tests);
+    }
+
+    @Test
+    void testBidirectionalSearchEscapesConcaveObstacle() {
+        Position from = new Position(0.0, 0.0), to = new Position(-40 * S, 0.0);
+
+        CountingContext both = new CountingContext(cup());
+        List<LngLat> path = new BidirectionalSearch().findPath(from, to, both);
+        CountingContext jps = new CountingContext(cup());
+        new JumpPointSearch().findPath(from, to, jps);
+
+        assertValidPath(path, from, to, new CountingContext(cup()));
+        assertTrue(both.tests < jps.tests, "bidirectional " + both.tests + " jps " + jps.tests);
+    }
+
+    @Test
+    void testBidirectionalSearchGivesUpOnUnreachableTarget() {
+        List<CompiledPolygon> cage = List.of(box(-10 * S, -10 * S, 10 * S, 10 * S));
+        Position from = new Position(-20 * S, 0.0), to = new Position(0.0, 0.0);
+
+        assertNull(new BidirectionalSearch(5000).findPath(from, to, new CountingContext(cage)));
+    }
+
+    @Test
+    void testBidirectionalEngineLeavesShortLegsToGreedyWalker() {
+        PathfindingEngine engine = PathfindingEngines.named("bidirectional");
+        Position from = new Position(0.0, 0.0);
+
+        Position near = new Position(20 * S, 7 * S);
+        CountingContext greedy = new CountingContext(List.of());
+        List<LngLat> greedyPath = new GreedyWalker().findPath(from, near, greedy);
+        CountingContext shortLeg = new CountingContext(List.of());
+        assertEquals(greedyPath.size(), engine.findPath(from, near, shortLeg).size());
+        assertEquals(greedy.tests, shortLeg.tests);
+
+        Position far = new Position(300 * S, 170 * S);
+        CountingContext both = new CountingContext(List.of());
+        List<LngLat> bidirectionalPath = new BidirectionalSearch().findPath(from, far, both);
+        CountingContext longLeg = new CountingContext(List.of());
+        assertEquals(bidirectionalPath.size(), engine.findPath(from, far, longLeg).size());
+        assertEquals(both.tests, longLeg.tests);
+    }
+}
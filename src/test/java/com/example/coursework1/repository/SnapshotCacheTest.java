@@ -0,0 +1,100 @@
+package com.example.coursework1.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnapshotCacheTest {
+
+    private final AtomicLong clock = new AtomicLong(1_000);
+
+    private SnapshotCache<List<String>> cache(Callable<List<String>> loader,
+                                              CircuitBreaker breaker) {
+        return new SnapshotCache<>("test", loader, List.of(), breaker, Runnable::run,
+                60_000, 1_000, clock::get);
+    }
+
+    @Test
+    void testFirstLoadIsServedAndVersioned() {
+        SnapshotCache<List<String>> cache = cache(() -> List.of("a"),
+                new CircuitBreaker("test", 3, 30_000, clock::get));
+
+        Snapshot<List<String>> snapshot = cache.get();
+
+        assertEquals(List.of("a"), snapshot.getValue());
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(0.0, cache.stalenessSeconds(), 1e-9);
+    }
+
+    @Test
+    void testFailedRefreshServesLastGoodSnapshot() {
+        AtomicInteger calls = new AtomicInteger();
+        SnapshotCache<List<String>> cache = cache(() -> {
+            if (calls.incrementAndGet() > 1) {
+                throw new IllegalStateException("ILP down");
+            }
+            return List.of("a");
+        }, new CircuitBreaker("test", 3, 30_000, clock::get));
+
+        cache.get();
+        clock.addAndGet(120_000);
+
+        Snapshot<List<String>> snapshot = cache.get();
+
+        assertEquals(List.of("a"), snapshot.getValue());
+        assertEquals(1, snapshot.getVersion());
+        assertEquals(120.0, cache.stalenessSeconds(), 1e-9);
+    }
+
+    @Test
+    void testFailureWithoutSnapshotReturnsEmpty() {
+        SnapshotCache<List<String>> cache = cache(() -> {
+            throw new IllegalStateException("ILP down");
+        }, new CircuitBreaker("test", 3, 30_000, clock::get));
+
+        Snapshot<List<String>> snapshot = cache.get();
+
+        assertTrue(snapshot.isEmpty());
+        assertEquals(List.of(), snapshot.getValue());
+    }
+
+    @Test
+    void testOpenCircuitSkipsLoaderUntilTrialWindow() {
+        AtomicInteger calls = new AtomicInteger();
+        CircuitBreaker breaker = new CircuitBreaker("test", 2, 30_000, clock::get);
+        SnapshotCache<List<String>> cache = cache(() -> {
+            calls.incrementAndGet();
+            throw new IllegalStateException("ILP down");
+        }, breaker);
+
+        cache.get();
+        cache.get();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        cache.get();
+        assertEquals(2, calls.get());
+
+        clock.addAndGet(30_000);
+        cache.get();
+        assertEquals(3, calls.get());
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testInvalidateTriggersRevalidation() {
+        AtomicInteger calls = new AtomicInteger();
+        SnapshotCache<List<String>> cache = cache(() -> List.of("v" + calls.incrementAndGet()),
+                new CircuitBreaker("test", 3, 30_000, clock::get));
+
+        cache.get();
+        cache.invalidate();
+
+        assertEquals(List.of("v1"), cache.get().getValue());
+        assertEquals(List.of("v2"), cache.get().getValue());
+    }
+}
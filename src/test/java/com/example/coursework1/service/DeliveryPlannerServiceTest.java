@@ -0,0 +1,204 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.*;
+import com.example.coursework1.index.DroneCatalogue;
+import com.example.coursework1.model.Position;
+import com.example.coursework1.repository.Snapshot;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class DeliveryPlannerServiceTest {
+
+    private static final double BASE_LNG = -3.1863;
+    private static final double BASE_LAT = 55.9445;
+
+    private final DroneService droneService = mock(DroneService.class);
+    private final ServicePointService servicePointService = mock(ServicePointService.class);
+    private final RestrictedAreaService restrictedAreaService = mock(RestrictedAreaService.class);
+    private final PlannerMetrics metrics = new PlannerMetrics(new SimpleMeterRegistry());
+    private DeliveryPlannerService planner;
+
+    @BeforeEach
+    void setUp() {
+        Capability capability = new Capability();
+        capability.setCapacity(4.0);
+        capability.setMaxMoves(2000);
+        capability.setCostPerMove(0.01);
+        capability.setCostInitial(1.0);
+        capability.setCostFinal(1.0);
+        Drone drone = new Drone();
+        drone.setId("1");
+        drone.setCapability(capability);
+
+        ServicePoint.Location location = new ServicePoint.Location();
+        location.setLng(BASE_LNG);
+        location.setLat(BASE_LAT);
+        ServicePoint servicePoint = new ServicePoint();
+        servicePoint.setLocation(location);
+
+        when(droneService.catalogue()).thenReturn(DroneCatalogue.build(List.of(drone), 1));
+        when(droneService.servicePointDronesSnapshot()).thenReturn(Snapshot.empty(List.of()));
+        when(servicePointService.fetchAllServicePoints()).thenReturn(List.of(servicePoint));
+
+        planner = planner("greedy");
+    }
+
+    private DeliveryPlannerService planner(String engine) {
+        DroneAvailabilityService availability = new DroneAvailabilityService(droneService, metrics);
+        return new DeliveryPlannerService(droneService, servicePointService, restrictedAreaService,
+                availability, metrics, engine);
+    }
+
+    private MedDispatchRec dispatch(int id, double capacity, Position delivery) {
+        return new MedDispatchRec(id, "2025-01-06", "10:00",
+                new Requirements(capacity, false, false, null), delivery);
+    }
+
+    @Test
+    void testPlanReachesDeliveryAndReturns() {
+        CalcDeliveryResult result = planner.calcDeliveryPath(List.of(
+                dispatch(1, 1.0, new Position(BASE_LNG + 0.0015, BASE_LAT + 0.0009))));
+
+        assertEquals(1, result.getDronePaths().size());
+        List<LngLat> path = result.getDronePaths().get(0).getDeliveries().get(0).getFlightPath();
+        LngLat last = path.get(path.size() - 1);
+        assertEquals(BASE_LNG, last.getLng(), 0.00015);
+        assertEquals(BASE_LAT, last.getLat(), 0.00015);
+        assertNull(result.getProfile());
+    }
+
+    @Test
+    void testExplainReportsLegsAndSkippedDispatches() {
+        CalcDeliveryResult result = planner.calcDeliveryPathExplained(List.of(
+                dispatch(1, 1.0, new Position(BASE_LNG + 0.0015, BASE_LAT + 0.0009)),
+                dispatch(2, 10.0, new Position(BASE_LNG - 0.0015, BASE_LAT)),
+                dispatch(3, 1.0, null)));
+
+        PlanningProfile profile = result.getProfile();
+        assertNotNull(profile);
+        assertEquals(1, result.getDronePaths().size());
+        assertTrue(profile.getLegs() >= 2);
+        assertEquals(profile.getLegs(), profile.getLegDetails().size());
+        assertTrue(profile.getIterations() > 0);
+        assertTrue(profile.getCollisionTests() > 0);
+        assertEquals(0, profile.getRelaxedFallbacks());
+        assertTrue(profile.getMultiDronePhaseMillis() > 0);
+
+        List<PlanningProfile.SkippedDispatch> skipped = profile.getSkippedDispatches();
+        assertEquals(2, skipped.size());
+        assertTrue(skipped.stream().anyMatch(s -> s.dispatchId() == 3 && s.reason().contains("missing")));
+        assertTrue(skipped.stream().anyMatch(s -> s.dispatchId() == 2 && s.reason().contains("requirements")));
+    }
+
+    private static final class RecordingListener implements PlanningListener {
+        final List<String> events = new ArrayList<>();
+        final List<FlightResult> flights = new ArrayList<>();
+
+        @Override
+        public void onPhase(String phase) {
+            events.add(phase);
+        }
+
+        @Override
+        public void onFlightCompleted(FlightResult flight) {
+            events.add("flight");
+            flights.add(flight);
+        }
+
+        @Override
+        public void onDronePath(DronePathResult dronePath) {
+            events.add("dronePath");
+        }
+
+        @Override
+        public void onProgress(PlanningProgress progress) {
+            events.add("progress");
+        }
+    }
+
+    @Test
+    void testListenerSeesFlightsFromBothPhases() {
+        RecordingListener single = new RecordingListener();
+        CalcDeliveryResult result = planner.calcDeliveryPath(List.of(
+                dispatch(1, 1.0, new Position(BASE_LNG + 0.0015, BASE_LAT + 0.0009))), single);
+
+        assertEquals(List.of("PHASE_1", "flight", "dronePath", "progress"), single.events);
+        assertEquals(result.getTotalMoves(), single.flights.get(0).getMoves());
+        assertEquals(1, single.flights.get(0).getDeliveries().size());
+
+        // Together the dispatches exceed the drone's capacity, so no single journey covers them.
+        RecordingListener multi = new RecordingListener();
+        planner.calcDeliveryPath(List.of(
+                dispatch(1, 3.0, new Position(BASE_LNG + 0.0015, BASE_LAT + 0.0009)),
+                dispatch(2, 3.0, new Position(BASE_LNG - 0.0015, BASE_LAT))), multi);
+
+        assertEquals(List.of("PHASE_1", "PHASE_2"), multi.events.subList(0, 2));
+        assertEquals(2, multi.flights.size());
+        assertEquals("dronePath", multi.events.get(multi.events.size() - 1));
+    }
+
+    /** Whether a-b crosses a north-south wall east of the base, between 0.0006 below and above it. */
+    private static boolean crossesWall(Position a, Position b) {
+        double wallLng = BASE_LNG + 0.0007;
+        if ((a.getLng() - wallLng) * (b.getLng() - wallLng) > 0 || a.getLng().equals(b.getLng())) {
+            return false;
+        }
+        double t = (wallLng - a.getLng()) / (b.getLng() - a.getLng());
+        double lat = a.getLat() + t * (b.getLat() - a.getLat());
+        return Math.abs(lat - BASE_LAT) <= 0.0006;
+    }
+
+    /** Asserts that the plan reaches {@code delivery} and returns to base without crossing the wall. */
+    private static void assertAvoidsWall(CalcDeliveryResult result, Position delivery) {
+        assertEquals(0, result.getProfile().getRelaxedFallbacks());
+        assertEquals(0, result.getProfile().getFailedLegs());
+
+        List<LngLat> path = result.getDronePaths().get(0).getDeliveries().get(0).getFlightPath();
+        boolean reached = false;
+        for (int i = 0; i < path.size(); i++) {
+            Position here = new Position(path.get(i).getLng(), path.get(i).getLat());
+            reached |= Math.hypot(here.getLng() - delivery.getLng(), here.getLat() - delivery.getLat()) < 0.00015;
+            if (i > 0) {
+                assertFalse(crossesWall(new Position(path.get(i - 1).getLng(), path.get(i - 1).getLat()), here));
+            }
+        }
+        assertTrue(reached);
+        LngLat last = path.get(path.size() - 1);
+        assertEquals(BASE_LNG, last.getLng(), 0.00015);
+        assertEquals(BASE_LAT, last.getLat(), 0.00015);
+    }
+
+    @Test
+    void testJumpPointSearchPlansAroundRestrictions() {
+        when(restrictedAreaService.pathCrossesRestrictedArea(any(), any()))
+                .thenAnswer(call -> crossesWall(call.getArgument(0), call.getArgument(1)));
+        Position delivery = new Position(BASE_LNG + 0.0015, BASE_LAT);
+
+        assertAvoidsWall(planner("jps").calcDeliveryPathExplained(List.of(dispatch(1, 1.0, delivery))), delivery);
+    }
+
+    @Test
+    void testBidirectionalSearchPlansLongLegAroundRestrictions() {
+        when(restrictedAreaService.pathCrossesRestrictedArea(any(), any()))
+                .thenAnswer(call -> crossesWall(call.getArgument(0), call.getArgument(1)));
+        // 80 moves out, long enough for the bidirectional engine to search it itself
+        Position delivery = new Position(BASE_LNG + 0.012, BASE_LAT);
+
+        assertAvoidsWall(planner("bidirectional").calcDeliveryPathExplained(List.of(dispatch(1, 1.0, delivery))),
+                delivery);
+    }
+
+    @Test
+    void testUnknownEngineIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> planner("dijkstra"));
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.*;
+import com.example.coursework1.model.Position;
+import com.example.coursework1.model.RestrictedArea;
+import com.example.coursework1.repository.RestrictedAreaRepository;
+import com.example.coursework1.repository.Snapshot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PathValidationServiceTest {
+
+    private final RestrictedAreaRepository repository = mock(RestrictedAreaRepository.class);
+
+    private PathValidationService service() {
+        return service(0);
+    }
+
+    private PathValidationService service(double clearance) {
+        return new PathValidationService(areas(clearance));
+    }
+
+    private RestrictedAreaService areas(double clearance) {
+        RestrictedArea block = new RestrictedArea("block", null, null, List.of(
+                new Position(0.001, 0.0), new Position(0.001, 0.001), new Position(0.002, 0.001),
+                new Position(0.002, 0.0), new Position(0.001, 0.0)));
+        when(repository.restrictedAreaSnapshot()).thenReturn(new Snapshot<>(List.of(block), 1L, 0L));
+        return new RestrictedAreaService(repository, new RegionService(), clearance);
+    }
+
+    @Test
+    void testPlanViolationsAreTaggedWithDroneAndDelivery() {
+        CalcDeliveryResult plan = new CalcDeliveryResult(10.0, 6, List.of(
+                new DronePathResult("d1", List.of(
+                        new DeliveryResult(1, List.of(new LngLat(0.0, 0.0005), new LngLat(0.0005, 0.0005))),
+                        new DeliveryResult(2, List.of(new LngLat(0.0005, 0.0005), new LngLat(0.003, 0.0005))))),
+                new DronePathResult("d2", List.of(
+                        new DeliveryResult(3, List.of(new LngLat(0.0, 0.002), new LngLat(0.003, 0.002)))))));
+
+        PathValidationResult result = service().validate(plan);
+
+        assertFalse(result.isValid());
+        assertEquals(3, result.getSegmentsChecked());
+        assertEquals(1, result.getViolations().size());
+        PathViolation violation = result.getViolations().get(0);
+        assertEquals("d1", violation.getDroneId());
+        assertEquals(2, violation.getDeliveryId());
+        assertEquals("block", violation.getIntersection().getAreaName());
+        assertEquals(0.2, violation.getIntersection().getEntry(), 1e-9);
+        assertEquals(0.6, violation.getIntersection().getExit(), 1e-9);
+    }
+
+    @Test
+    void testPlanWithNullPointIsRejected() {
+        List<LngLat> path = new ArrayList<>(List.of(new LngLat(0.0, 0.0005), new LngLat(0.0005, 0.0005)));
+        path.add(1, null);
+        CalcDeliveryResult plan = new CalcDeliveryResult(1.0, 2, List.of(
+                new DronePathResult("d1", List.of(new DeliveryResult(7, path)))));
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> service().validate(plan));
+        assertEquals("Flight path of delivery 7 on drone d1 has a null point at index 1", e.getMessage());
+    }
+
+    @Test
+    void testClearPathIsValid() {
+        PathValidationResult result = service().validate(List.of(new Position(0.0, 0.002), new Position(0.003, 0.002)));
+
+        assertTrue(result.isValid());
+        assertEquals(1, result.getSegmentsChecked());
+    }
+
+    @Test
+    void testPassingWithinClearanceIsReportedAsClearanceViolation() {
+        // Passes 0.0001 above the block: clear of the area, but inside a 0.0002 clearance.
+        List<Position> grazing = List.of(new Position(0.0, 0.0011), new Position(0.003, 0.0011));
+        List<Position> crossing = List.of(new Position(0.0, 0.0005), new Position(0.003, 0.0005));
+
+        assertTrue(service(0).validate(grazing).isValid());
+
+        PathValidationResult grazed = service(0.0002).validate(grazing);
+        assertFalse(grazed.isValid());
+        AreaIntersection clearance = grazed.getViolations().get(0).getIntersection();
+        assertEquals("block", clearance.getAreaName());
+        assertTrue(clearance.isClearance());
+        assertTrue(clearance.getEntry() < 0.001 / 0.003);
+
+        PathValidationResult crossed = service(0.0002).validate(crossing);
+        assertEquals(1, crossed.getViolations().size());
+        assertFalse(crossed.getViolations().get(0).getIntersection().isClearance());
+    }
+
+    @Test
+    void testValidationAgreesWithPlannerSegmentCheckUnderClearance() {
+        RestrictedAreaService areas = areas(0.0002);
+        Position from = new Position(0.0, 0.0011), to = new Position(0.003, 0.0011);
+
+        assertTrue(areas.pathCrossesRestrictedArea(from, to));
+        assertEquals("block", areas.getRestrictedAreaNameForPath(from, to));
+        assertFalse(new PathValidationService(areas).validate(List.of(from, to)).isValid());
+    }
+}
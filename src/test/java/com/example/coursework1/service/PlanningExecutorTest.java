@@ -0,0 +1,220 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.MedDispatchRec;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlanningExecutorTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final PlanningExecutor executor = new PlanningExecutor(registry, 1, 8, 10, 30);
+
+    @AfterEach
+    void shutdown() {
+        executor.destroy();
+    }
+
+    @Test
+    void testQueuedTasksRunByPriorityThenArrival() throws Exception {
+        CountDownLatch release = occupyPlannerThread();
+
+        List<String> order = new CopyOnWriteArrayList<>();
+        executor.submit(() -> order.add("bulk"), PlanningPriority.BULK);
+        executor.submit(() -> order.add("standard-1"), PlanningPriority.STANDARD);
+        executor.submit(() -> order.add("urgent"), PlanningPriority.URGENT);
+        Future<?> last = executor.submit(() -> order.add("standard-2"), PlanningPriority.STANDARD);
+        Future<?> bulk = executor.submit(() -> order.add("bulk-2"), PlanningPriority.BULK);
+
+        release.countDown();
+        last.get(5, TimeUnit.SECONDS);
+        bulk.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("urgent", "standard-1", "standard-2", "bulk", "bulk-2"), order);
+    }
+
+    @Test
+    void testResolvePriority() {
+        assertEquals(PlanningPriority.URGENT, executor.resolvePriority(PlanningPriority.URGENT, dispatches(500)));
+        assertEquals(PlanningPriority.STANDARD, executor.resolvePriority(null, dispatches(10)));
+        assertEquals(PlanningPriority.BULK, executor.resolvePriority(null, dispatches(11)));
+        assertEquals(PlanningPriority.STANDARD, executor.resolvePriority(null, null));
+        assertEquals(PlanningPriority.URGENT, PlanningPriority.fromName(" urgent "));
+        assertNull(PlanningPriority.fromName(null));
+        assertThrows(IllegalArgumentException.class, () -> PlanningPriority.fromName("asap"));
+    }
+
+    @Test
+    void testDispatchDueSoonMakesBatchUrgent() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 6, 9, 45);
+        List<MedDispatchRec> batch = dispatches(20);
+
+        assertEquals(PlanningPriority.BULK, executor.resolvePriority(null, batch, now));
+
+        batch.get(7).setTime("10:10");
+        assertEquals(PlanningPriority.URGENT, executor.resolvePriority(null, batch, now));
+        assertEquals(PlanningPriority.BULK, executor.resolvePriority(PlanningPriority.BULK, batch, now));
+
+        // overdue and unparseable slots are not urgent
+        batch.get(7).setTime("09:30");
+        batch.get(8).setDate("06/01/2025");
+        assertEquals(PlanningPriority.BULK, executor.resolvePriority(null, batch, now));
+    }
+
+    private static List<MedDispatchRec> dispatches(int count) {
+        List<MedDispatchRec> dispatches = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            dispatches.add(new MedDispatchRec(i, "2025-01-06", "14:00", null, null));
+        }
+        return dispatches;
+    }
+
+    private static <T> T onVirtualThread(Callable<T> call) throws Exception {
+        try (ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+            return virtual.submit(call).get(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static Throwable failureOnVirtualThread(Callable<?> call) {
+        ExecutionException e = assertThrows(ExecutionException.class, () -> onVirtualThread(call));
+        return e.getCause();
+    }
+
+    private CountDownLatch occupyPlannerThread() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        return release;
+    }
+
+    @Test
+    void testCallBoundedFromVirtualThreadRunsOnPlannerPool() throws Exception {
+        String thread = onVirtualThread(() -> executor.callBounded(
+                () -> Thread.currentThread().getName(), PlanningPriority.STANDARD));
+
+        assertTrue(thread.startsWith("planner-"), thread);
+    }
+
+    @Test
+    void testCallBoundedUnwrapsFailures() {
+        Throwable runtime = failureOnVirtualThread(() -> executor.callBounded(() -> {
+            throw new IllegalArgumentException("bad dispatch");
+        }, PlanningPriority.STANDARD));
+        assertInstanceOf(IllegalArgumentException.class, runtime);
+        assertEquals("bad dispatch", runtime.getMessage());
+
+        Throwable checked = failureOnVirtualThread(() -> executor.callBounded(() -> {
+            throw new IOException("ILP down");
+        }, PlanningPriority.STANDARD));
+        assertInstanceOf(IllegalStateException.class, checked);
+        assertInstanceOf(IOException.class, checked.getCause());
+    }
+
+    @Test
+    void testCallBoundedRejectsWhenQueueIsFull() throws Exception {
+        CountDownLatch release = occupyPlannerThread();
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {}, PlanningPriority.BULK);
+        }
+
+        Throwable rejected = failureOnVirtualThread(() -> executor.callBounded(() -> "plan", PlanningPriority.URGENT));
+
+        assertInstanceOf(RejectedExecutionException.class, rejected);
+        release.countDown();
+    }
+
+    @Test
+    void testUrgentSynchronousCallJumpsQueuedBulkWork() throws Exception {
+        CountDownLatch release = occupyPlannerThread();
+        List<String> order = new CopyOnWriteArrayList<>();
+        executor.submit(() -> order.add("bulk-1"), PlanningPriority.BULK);
+        Future<?> bulk = executor.submit(() -> order.add("bulk-2"), PlanningPriority.BULK);
+
+        Thread caller = Thread.ofPlatform().start(() -> executor.callBounded(
+                () -> order.add("urgent-sync"), PlanningPriority.URGENT));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("planning.queue.depth").gauge().value() < 3) {
+            assertTrue(System.nanoTime() < deadline, "synchronous call was never queued");
+            Thread.sleep(1);
+        }
+
+        release.countDown();
+        caller.join(5000);
+        bulk.get(5, TimeUnit.SECONDS);
+
+        assertEquals(List.of("urgent-sync", "bulk-1", "bulk-2"), order);
+    }
+
+    @Test
+    void testIdenticalCallsShareOneSlotAndOneComputation() throws Exception {
+        SimpleMeterRegistry singleRegistry = new SimpleMeterRegistry();
+        PlanningExecutor single = new PlanningExecutor(singleRegistry, 1, 1, 10, 30);
+        try {
+            CountDownLatch started = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            AtomicInteger computations = new AtomicInteger();
+            Callable<String> plan = () -> {
+                computations.incrementAndGet();
+                started.countDown();
+                release.await(5, TimeUnit.SECONDS);
+                return "plan";
+            };
+
+            int callers = 8;
+            try (ExecutorService virtual = Executors.newVirtualThreadPerTaskExecutor()) {
+                Future<String> leader = virtual.submit(
+                        () -> single.callCoalesced("k", plan, PlanningPriority.STANDARD));
+                assertTrue(started.await(5, TimeUnit.SECONDS));
+
+                List<Future<String>> followers = new ArrayList<>();
+                for (int i = 1; i < callers; i++) {
+                    followers.add(virtual.submit(() -> single.callCoalesced("k", plan, PlanningPriority.STANDARD)));
+                }
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (singleRegistry.get("cache.gets").tags("cache", "planner.in-flight", "result", "hit")
+                        .functionCounter().count() < callers - 1) {
+                    assertTrue(System.nanoTime() < deadline, "identical calls did not join the leader");
+                    Thread.sleep(1);
+                }
+                // the followers wait off the pool, so the only queue slot is still free
+                assertEquals(0.0, singleRegistry.get("planning.queue.depth").gauge().value());
+                Future<?> other = single.submit(() -> {}, PlanningPriority.URGENT);
+                release.countDown();
+
+                assertEquals("plan", leader.get(5, TimeUnit.SECONDS));
+                for (Future<String> follower : followers) {
+                    assertEquals("plan", follower.get(5, TimeUnit.SECONDS));
+                }
+                other.get(5, TimeUnit.SECONDS);
+            }
+            assertEquals(1, computations.get());
+        } finally {
+            single.destroy();
+        }
+    }
+}
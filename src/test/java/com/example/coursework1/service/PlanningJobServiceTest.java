@@ -0,0 +1,84 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.CalcDeliveryResult;
+import com.example.coursework1.dto.PlanningJobStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PlanningJobServiceTest {
+
+    private final DeliveryPlannerService planner = mock(DeliveryPlannerService.class);
+    private final PlanningExecutor executor = new PlanningExecutor(new SimpleMeterRegistry(), 1, 1, 50, 30);
+    private final PlanningJobService service = new PlanningJobService(planner, executor, 60_000, 5_000);
+
+    @AfterEach
+    void shutdown() {
+        executor.destroy();
+    }
+
+    @Test
+    void testJobCompletesAndCanBeLongPolled() throws Exception {
+        CalcDeliveryResult result = new CalcDeliveryResult(10.0, 5, List.of());
+        when(planner.calcDeliveryPath(any())).thenReturn(result);
+
+        PlanningJobStatus submitted = service.submit(List.of());
+        PlanningJobStatus done = service.awaitStatus(submitted.getJobId(), 5_000).get(5, TimeUnit.SECONDS);
+
+        assertEquals(PlanningJobStatus.State.SUCCEEDED, done.getState());
+        assertSame(result, done.getResult());
+    }
+
+    @Test
+    void testQueueLimitRejectsAndCancelStopsRunningJob() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(planner.calcDeliveryPath(any())).thenAnswer(invocation -> {
+            started.countDown();
+            Thread.sleep(60_000);
+            return null;
+        });
+
+        PlanningJobStatus running = service.submit(List.of());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        PlanningJobStatus queued = service.submit(List.of());
+        assertEquals(PlanningJobStatus.State.QUEUED, queued.getState());
+
+        assertThrows(RejectedExecutionException.class, () -> service.submit(List.of()));
+
+        assertEquals(PlanningJobStatus.State.CANCELLED, service.cancel(running.getJobId()).getState());
+        assertEquals(PlanningJobStatus.State.CANCELLED, service.cancel(queued.getJobId()).getState());
+        assertNull(service.status("unknown"));
+    }
+
+    @Test
+    void testInterruptedPlannerEndsJobAsCancelled() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        when(planner.calcDeliveryPath(any())).thenAnswer(invocation -> {
+            started.countDown();
+            try {
+                Thread.sleep(60_000);
+            } catch (InterruptedException e) {
+                throw new CancellationException("Planning cancelled");
+            }
+            return null;
+        });
+
+        PlanningJobStatus running = service.submit(List.of());
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.destroy();
+
+        PlanningJobStatus done = service.awaitStatus(running.getJobId(), 5_000).get(5, TimeUnit.SECONDS);
+        assertEquals(PlanningJobStatus.State.CANCELLED, done.getState());
+    }
+}
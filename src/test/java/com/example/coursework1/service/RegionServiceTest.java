@@ -2,10 +2,12 @@ package com.example.coursework1.service;
 
 import com.example.coursework1.dto.Region;
 import com.example.coursework1.dto.RegionRequest;
+import com.example.coursework1.geometry.CompiledPolygon;
 import com.example.coursework1.model.Position;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Arrays;
 import java.util.List;
 
 class RegionServiceTest {
@@ -73,4 +75,23 @@ class RegionServiceTest {
 
         assertThrows(IllegalArgumentException.class, () -> service.isInRegion(request));
     }
+
+    //Test tryCompile accepts exactly what compile accepts
+    @Test
+    void testTryCompileMatchesCompile() {
+        CompiledPolygon polygon = service.tryCompile(square());
+        assertNotNull(polygon);
+        assertEquals(service.compile(new Region("Square", square())).vertexCount(), polygon.vertexCount());
+        assertTrue(polygon.contains(0.5, 0.5));
+    }
+
+    //Test invalid regions compile to null without throwing
+    @Test
+    void testTryCompileRejectsInvalidRegions() {
+        assertNull(service.tryCompile(null));
+        assertNull(service.tryCompile(square().subList(0, 3)));
+        assertNull(service.tryCompile(square().subList(0, 4)));
+        assertNull(service.tryCompile(Arrays.asList(
+                new Position(0.0, 0.0), null, new Position(1.0, 1.0), new Position(0.0, 0.0))));
+    }
 }
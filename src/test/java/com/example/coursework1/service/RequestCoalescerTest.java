@@ -0,0 +1,104 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.MedDispatchRec;
+import com.example.coursework1.dto.Requirements;
+import com.example.coursework1.model.Position;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RequestCoalescerTest {
+
+    private final RequestCoalescer<String, String> coalescer = new RequestCoalescer<>();
+
+    @Test
+    void testConcurrentIdenticalRequestsShareOneComputation() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger computations = new AtomicInteger();
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("k", () -> {
+            computations.incrementAndGet();
+            started.countDown();
+            await(release);
+            return "plan";
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> coalescer.execute("k", () -> {
+            computations.incrementAndGet();
+            return "other";
+        }));
+        waitForFollower(follower);
+        release.countDown();
+
+        assertEquals("plan", leader.get(5, TimeUnit.SECONDS));
+        assertEquals("plan", follower.get(5, TimeUnit.SECONDS));
+        assertEquals(1, computations.get());
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void testFollowerRecomputesWhenLeaderIsCancelled() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> coalescer.execute("k", () -> {
+            started.countDown();
+            await(release);
+            throw new CancellationException("cancelled");
+        }));
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<String> follower = CompletableFuture.supplyAsync(() -> coalescer.execute("k", () -> "retried"));
+        waitForFollower(follower);
+        release.countDown();
+
+        assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+        assertEquals("retried", follower.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testFailuresArePropagatedToCaller() {
+        assertThrows(IllegalArgumentException.class, () -> coalescer.execute("k", () -> {
+            throw new IllegalArgumentException("bad");
+        }));
+        assertEquals(0, coalescer.inFlightCount());
+    }
+
+    @Test
+    void testRequestKeyIgnoresSignedZeroButKeepsOrder() {
+        MedDispatchRec a = new MedDispatchRec(1, "2025-01-01", "10:00",
+                new Requirements(1.0, false, false, null), new Position(-3.19, 55.94));
+        MedDispatchRec b = new MedDispatchRec(2, "2025-01-01", "10:00",
+                new Requirements(0.0, true, false, 5.0), new Position(-3.18, 55.95));
+        MedDispatchRec bNegativeZero = new MedDispatchRec(2, "2025-01-01", "10:00",
+                new Requirements(-0.0, true, false, 5.0), new Position(-3.18, 55.95));
+
+        assertEquals(DeliveryPlannerService.requestKey(List.of(a, b)),
+                DeliveryPlannerService.requestKey(List.of(a, bNegativeZero)));
+        assertNotEquals(DeliveryPlannerService.requestKey(List.of(a, b)),
+                DeliveryPlannerService.requestKey(List.of(b, a)));
+    }
+
+    private static void waitForFollower(CompletableFuture<String> follower) throws InterruptedException {
+        // the follower is parked on the leader's future; give it a moment to attach
+        Thread.sleep(100);
+        assertFalse(follower.isDone());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.example.coursework1.service;
+
+import com.example.coursework1.dto.AreaIntersection;
+import com.example.coursework1.model.Position;
+import com.example.coursework1.model.RestrictedArea;
+import com.example.coursework1.repository.RestrictedAreaRepository;
+import com.example.coursework1.repository.Snapshot;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RestrictedAreaServiceTest {
+
+    private static final double EPS = 1e-9;
+
+    private final RestrictedAreaRepository repository = mock(RestrictedAreaRepository.class);
+    private RestrictedAreaService service;
+
+    private static RestrictedArea square(String name, double x0, double y0, double x1, double y1) {
+        return new RestrictedArea(name, null, null, List.of(
+                new Position(x0, y0), new Position(x0, y1), new Position(x1, y1),
+                new Position(x1, y0), new Position(x0, y0)));
+    }
+
+    @BeforeEach
+    void setUp() {
+        List<RestrictedArea> areas = List.of(
+                square("west", 0.001, 0.0, 0.002, 0.001),
+                square("east", 0.003, 0.0, 0.004, 0.001),
+                square("overlap", 0.0035, 0.0, 0.005, 0.001));
+        when(repository.restrictedAreaSnapshot()).thenReturn(new Snapshot<>(areas, 1L, 0L));
+        service = new RestrictedAreaService(repository, new RegionService(), 0);
+    }
+
+    @Test
+    void testIntersectionsReportEveryAreaWithEntryAndExit() {
+        List<AreaIntersection> hits = service.findIntersections(List.of(
+                new Position(0.0, 0.0005), new Position(0.006, 0.0005)));
+
+        assertEquals(List.of("west", "east", "overlap"), hits.stream().map(AreaIntersection::getAreaName).toList());
+        assertEquals(1.0 / 6, hits.get(0).getEntry(), EPS);
+        assertEquals(2.0 / 6, hits.get(0).getExit(), EPS);
+        assertEquals(3.5 / 6, hits.get(2).getEntry(), EPS);
+        assertEquals(0.005, hits.get(2).getExitPoint().getLng(), EPS);
+    }
+
+    @Test
+    void testIntersectionsAreReportedPerSegment() {
+        List<AreaIntersection> hits = service.findIntersections(List.of(
+                new Position(0.0015, 0.0005), new Position(0.0025, 0.0005), new Position(0.0025, 0.002)));
+
+        assertEquals(1, hits.size());
+        assertEquals(0, hits.get(0).getSegment());
+        assertEquals(0.0, hits.get(0).getEntry(), EPS);
+        assertEquals(0.5, hits.get(0).getExit(), EPS);
+    }
+
+    @Test
+    void testAreaNameForPathIsFirstAreaMet() {
+        assertEquals("west", service.getRestrictedAreaNameForPath(
+                new Position(0.0, 0.0005), new Position(0.006, 0.0005)));
+        assertEquals("east", service.getRestrictedAreaNameForPath(
+                new Position(0.0032, 0.0005), new Position(0.0032, 0.0005)));
+        assertNull(service.getRestrictedAreaNameForPath(
+                new Position(0.0, 0.002), new Position(0.006, 0.002)));
+    }
+
+    @Test
+    void testTouchingEdgeCountsAsCrossing() {
+        assertTrue(service.pathCrossesRestrictedArea(new Position(0.0, 0.001), new Position(0.0015, 0.001)));
+        assertFalse(service.pathCrossesRestrictedArea(new Position(0.0, 0.0011), new Position(0.0015, 0.0011)));
+    }
+
+    @Test
+    void testLongPathFindsViolationsAcrossChunks() {
+        List<Position> path = new ArrayList<>();
+        for (int i = 0; i <= 1000; i++) {
+            path.add(new Position(-0.01 + i * 0.00002, i % 2 == 0 ? 0.0005 : 0.0006));
+        }
+
+        List<AreaIntersection> hits = service.findIntersections(path);
+        for (int s = 0; s < 1000; s++) {
+            List<AreaIntersection> single = service.findIntersections(path.subList(s, s + 2));
+            int segment = s;
+            assertEquals(single.size(), hits.stream().filter(h -> h.getSegment() == segment).count());
+        }
+        assertFalse(hits.isEmpty());
+        assertTrue(hits.stream().anyMatch(h -> h.getAreaName().equals("west")));
+    }
+
+    @Test
+    void testUnclosedAreaBlocksOnlyItsEdges() {
+        RestrictedArea unclosed = new RestrictedArea("unclosed", null, null, List.of(
+                new Position(0.007, 0.0), new Position(0.007, 0.001),
+                new Position(0.008, 0.001), new Position(0.008, 0.0)));
+        when(repository.restrictedAreaSnapshot()).thenReturn(new Snapshot<>(List.of(unclosed), 2L, 0L));
+
+        Position inside = new Position(0.0072, 0.0005);
+        assertFalse(service.isInRestrictedArea(inside));
+        assertFalse(service.pathCrossesRestrictedArea(inside, new Position(0.0078, 0.0005)));
+        assertTrue(service.pathCrossesRestrictedArea(new Position(0.0065, 0.0005), inside));
+
+        List<AreaIntersection> hits = service.findIntersections(List.of(
+                new Position(0.0065, 0.0005), inside, new Position(0.0078, 0.0005), new Position(0.0085, 0.0005)));
+        assertEquals(List.of(0, 2), hits.stream().map(AreaIntersection::getSegment).toList());
+        assertEquals("unclosed", hits.get(0).getAreaName());
+        assertEquals(0.5 / 0.7, hits.get(0).getEntry(), EPS);
+        assertEquals(hits.get(0).getEntry(), hits.get(0).getExit(), EPS);
+        assertEquals(0.007, hits.get(0).getEntryPoint().getLng(), EPS);
+        assertEquals(0.008, hits.get(1).getExitPoint().getLng(), EPS);
+    }
+
+    @Test
+    void testAreasAreCompiledOncePerSnapshot() {
+        RegionService regions = spy(new RegionService());
+        RestrictedAreaService counted = new RestrictedAreaService(repository, regions, 0);
+
+        for (int i = 0; i < 50; i++) {
+            counted.isInRestrictedArea(new Position(0.0015, 0.0005));
+            counted.pathCrossesRestrictedArea(new Position(0.0, 0.0005), new Position(0.006, 0.0005));
+        }
+        verify(regions, times(3)).tryCompile(any());
+
+        when(repository.restrictedAreaSnapshot()).thenReturn(new Snapshot<>(List.of(
+                square("west", 0.001, 0.0, 0.002, 0.001)), 2L, 0L));
+        assertTrue(counted.isInRestrictedArea(new Position(0.0015, 0.0005)));
+        verify(regions, times(4)).tryCompile(any());
+    }
+}